@@ -65,6 +65,7 @@ export type TrainAction = Action;
 
 export interface PathStats {
   percentComplete: number;
+  degraded: boolean;
 }
 
 export interface Path {
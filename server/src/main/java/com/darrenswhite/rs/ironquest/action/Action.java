@@ -1,6 +1,7 @@
 package com.darrenswhite.rs.ironquest.action;
 
 import com.darrenswhite.rs.ironquest.dto.ActionDTO;
+import com.darrenswhite.rs.ironquest.dto.PlayerDTO;
 import com.darrenswhite.rs.ironquest.player.Player;
 
 /**
@@ -14,9 +15,9 @@ public abstract class Action {
   protected final Player player;
   protected final boolean future;
 
-  Action(ActionType type, Player player, boolean future) {
+  Action(ActionType type, Player player, boolean future, boolean snapshot) {
     this.type = type;
-    this.player = player.copy();
+    this.player = snapshot ? player.snapshot() : null;
     this.future = future;
   }
 
@@ -25,9 +26,20 @@ public abstract class Action {
    *
    * @param player the player
    * @return the copied action
+   * @see Action#copyForPlayer(Player, boolean)
    */
   public abstract Action copyForPlayer(Player player);
 
+  /**
+   * Returns a copy of this action for the specified {@link Player}.
+   *
+   * @param player the player
+   * @param snapshot <tt>true</tt> if the copied action should hold a snapshot of the player;
+   * <tt>false</tt> otherwise
+   * @return the copied action
+   */
+  public abstract Action copyForPlayer(Player player, boolean snapshot);
+
   /**
    * Returns the human-readable message for this {@link Action}.
    *
@@ -67,14 +79,23 @@ public abstract class Action {
   }
 
   /**
-   * Returns the {@link Player}.
+   * Returns a read-only snapshot of the {@link Player} when this {@link Action} was created.
    *
-   * @return the player
+   * @return the player or <tt>null</tt> if this action was created without a snapshot
    */
   public final Player getPlayer() {
     return player;
   }
 
+  /**
+   * Returns a DTO for the {@link Player} snapshot.
+   *
+   * @return the DTO or <tt>null</tt> if this action was created without a snapshot
+   */
+  protected final PlayerDTO createPlayerDTO() {
+    return player != null ? player.createDTO() : null;
+  }
+
   /**
    * Returns if this {@link Action} is to be processed in the future.
    *
@@ -21,13 +21,35 @@ public class LampAction extends Action {
   private final Quest quest;
   private final LampReward lampReward;
   private final Set<Skill> skills;
+  private final Double xp;
 
   public LampAction(Player player, boolean future, Quest quest, LampReward lampReward,
       Set<Skill> skills) {
-    super(ActionType.LAMP, player, future);
+    this(player, future, quest, lampReward, skills, true);
+  }
+
+  /**
+   * Create a new {@link LampAction}.
+   *
+   * Without a snapshot of the player, the xp for a non-future action is calculated from the player
+   * when the action is created.
+   *
+   * @param player the player
+   * @param future <tt>true</tt> if the lamp can only be used in the future; <tt>false</tt>
+   * otherwise
+   * @param quest the quest
+   * @param lampReward the lamp reward
+   * @param skills the skills to use the lamp on
+   * @param snapshot <tt>true</tt> if the action should hold a snapshot of the player;
+   * <tt>false</tt> otherwise
+   */
+  public LampAction(Player player, boolean future, Quest quest, LampReward lampReward,
+      Set<Skill> skills, boolean snapshot) {
+    super(ActionType.LAMP, player, future, snapshot);
     this.quest = quest;
     this.lampReward = lampReward;
     this.skills = skills;
+    this.xp = snapshot || future ? null : lampReward.getXpForSkills(player, skills);
   }
 
   /**
@@ -74,7 +96,7 @@ public class LampAction extends Action {
   @Override
   public String getMessage() {
     StringBuilder message = new StringBuilder();
-    String xp = Skill.formatXp(lampReward.getXpForSkills(getPlayer(), skills));
+    String xp = Skill.formatXp(getXp());
 
     message.append(quest.getDisplayName());
     message.append(": Use ");
@@ -99,11 +121,11 @@ public class LampAction extends Action {
   /**
    * {@inheritDoc}
    *
-   * @see LampReward#meetsRequirements(Player)
+   * @see Player#meetsLampRequirements(LampReward)
    */
   @Override
   public boolean meetsRequirements(Player player) {
-    return lampReward.meetsRequirements(player);
+    return player.meetsLampRequirements(lampReward);
   }
 
   /**
@@ -125,7 +147,7 @@ public class LampAction extends Action {
    */
   @Override
   public LampActionDTO createDTO() {
-    return new LampActionDTO.Builder().withPlayer(getPlayer().createDTO()).withFuture(isFuture())
+    return new LampActionDTO.Builder().withPlayer(createPlayerDTO()).withFuture(isFuture())
         .withMessage(getMessage()).withQuest(getQuest().createDTO()).build();
   }
 
@@ -134,7 +156,24 @@ public class LampAction extends Action {
    */
   @Override
   public LampAction copyForPlayer(Player player) {
-    return new LampAction(player, isFuture(), getQuest(), getLampReward(), getSkills());
+    return copyForPlayer(player, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LampAction copyForPlayer(Player player, boolean snapshot) {
+    return new LampAction(player, isFuture(), getQuest(), getLampReward(), getSkills(), snapshot);
+  }
+
+  /**
+   * Returns the xp gained for each skill, calculated from the player snapshot if there is one.
+   *
+   * @return the xp for each skill
+   */
+  private double getXp() {
+    return xp != null ? xp : lampReward.getXpForSkills(getPlayer(), skills);
   }
 
   /**
@@ -20,7 +20,11 @@ public class QuestAction extends Action {
   private final Quest quest;
 
   public QuestAction(Player player, Quest quest) {
-    super(ActionType.QUEST, player, false);
+    this(player, quest, true);
+  }
+
+  public QuestAction(Player player, Quest quest, boolean snapshot) {
+    super(ActionType.QUEST, player, false, snapshot);
     this.quest = quest;
   }
 
@@ -45,10 +49,12 @@ public class QuestAction extends Action {
 
   /**
    * {@inheritDoc}
+   *
+   * @see Player#meetsAllRequirements(Quest)
    */
   @Override
   public boolean meetsRequirements(Player player) {
-    return quest.meetsAllRequirements(player);
+    return player.meetsAllRequirements(quest);
   }
 
   /**
@@ -69,7 +75,7 @@ public class QuestAction extends Action {
    */
   @Override
   public QuestActionDTO createDTO() {
-    return new QuestActionDTO.Builder().withPlayer(getPlayer().createDTO()).withFuture(isFuture())
+    return new QuestActionDTO.Builder().withPlayer(createPlayerDTO()).withFuture(isFuture())
         .withMessage(getMessage()).withQuest(getQuest().createDTO()).build();
   }
 
@@ -78,7 +84,15 @@ public class QuestAction extends Action {
    */
   @Override
   public QuestAction copyForPlayer(Player player) {
-    return new QuestAction(player, getQuest());
+    return copyForPlayer(player, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public QuestAction copyForPlayer(Player player, boolean snapshot) {
+    return new QuestAction(player, getQuest(), snapshot);
   }
 
   /**
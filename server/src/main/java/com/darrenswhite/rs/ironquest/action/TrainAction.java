@@ -18,7 +18,12 @@ public class TrainAction extends Action {
   private final double endXp;
 
   public TrainAction(Player player, Skill skill, double startXp, double endXp) {
-    super(ActionType.TRAIN, player, false);
+    this(player, skill, startXp, endXp, true);
+  }
+
+  public TrainAction(Player player, Skill skill, double startXp, double endXp,
+      boolean snapshot) {
+    super(ActionType.TRAIN, player, false, snapshot);
     this.skill = skill;
     this.startXp = startXp;
     this.endXp = endXp;
@@ -101,7 +106,7 @@ public class TrainAction extends Action {
    */
   @Override
   public TrainActionDTO createDTO() {
-    return new TrainActionDTO.Builder().withPlayer(getPlayer().createDTO()).withFuture(isFuture())
+    return new TrainActionDTO.Builder().withPlayer(createPlayerDTO()).withFuture(isFuture())
         .withMessage(getMessage()).build();
   }
 
@@ -110,7 +115,15 @@ public class TrainAction extends Action {
    */
   @Override
   public TrainAction copyForPlayer(Player player) {
-    return new TrainAction(player, getSkill(), getStartXp(), getEndXp());
+    return copyForPlayer(player, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TrainAction copyForPlayer(Player player, boolean snapshot) {
+    return new TrainAction(player, getSkill(), getStartXp(), getEndXp(), snapshot);
   }
 
   /**
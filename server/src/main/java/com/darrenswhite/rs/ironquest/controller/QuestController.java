@@ -3,15 +3,27 @@ package com.darrenswhite.rs.ironquest.controller;
 import com.darrenswhite.rs.ironquest.dto.PathDTO;
 import com.darrenswhite.rs.ironquest.dto.PathFinderParametersDTO;
 import com.darrenswhite.rs.ironquest.path.BestQuestNotFoundException;
+import com.darrenswhite.rs.ironquest.path.PathCancelledException;
+import com.darrenswhite.rs.ironquest.path.Path;
 import com.darrenswhite.rs.ironquest.path.PathFinder;
+import com.darrenswhite.rs.ironquest.path.PathFinderOptions;
+import com.darrenswhite.rs.ironquest.path.ScoringReport;
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.player.PlayerService;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.time.Duration;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 /**
  * {@link RestController} for quests path finder API.
@@ -22,6 +34,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/quests")
 public class QuestController {
 
+  static final Duration TIMEOUT_MARGIN = Duration.ofSeconds(30);
+  static final int MAX_BEAM_WIDTH = 16;
+  static final int MAX_ALTERNATIVES = 10;
+  static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(10);
+
   private final PathFinder pathFinder;
   private final PlayerService playerService;
 
@@ -43,18 +60,150 @@ public class QuestController {
   }
 
   /**
-   * Finds the optimal path.
+   * Finds the optimal path asynchronously.
+   *
+   * The path finder is cancelled if the request times out or the client disconnects. A {@link
+   * BestQuestNotFoundException} is thrown by the task if the "best" {@link Quest} can not be
+   * found.
    *
    * @param pathFinderParametersDTO the parameters
-   * @return the optimal path
-   * @throws BestQuestNotFoundException if the "best" {@link Quest} can not be found
+   * @return the task finding the optimal path
+   * @see QuestController#createTask(PathFinderOptions, int, Callable)
    */
   @GetMapping("/path")
-  public PathDTO getPath(PathFinderParametersDTO pathFinderParametersDTO)
-      throws BestQuestNotFoundException {
+  public WebAsyncTask<PathDTO> getPath(PathFinderParametersDTO pathFinderParametersDTO) {
+    Player player = createPlayer(pathFinderParametersDTO);
+    PathFinderOptions options = createPathFinderOptions(pathFinderParametersDTO);
+
+    return createTask(options, 1, () -> pathFinder.find(player, options).createDTO());
+  }
+
+  /**
+   * Finds the optimal path and alternative paths which branch from it where quests are nearly
+   * tied, asynchronously.
+   *
+   * At most {@link #MAX_ALTERNATIVES} paths are found. The timeout allows for the optimal path, the
+   * path replayed to find the branches, and each alternative path.
+   *
+   * @param pathFinderParametersDTO the parameters
+   * @return the task finding the optimal path followed by the alternative paths
+   * @see QuestController#createTask(PathFinderOptions, int, Callable)
+   */
+  @GetMapping("/paths")
+  public WebAsyncTask<List<PathDTO>> getPaths(PathFinderParametersDTO pathFinderParametersDTO) {
+    Player player = createPlayer(pathFinderParametersDTO);
+    PathFinderOptions options = createPathFinderOptions(pathFinderParametersDTO);
+
+    int count = Math.min(pathFinderParametersDTO.getAlternatives(), MAX_ALTERNATIVES);
+
+    return createTask(options, count + 1, () -> pathFinder.findAlternatives(player, options, count)
+        .stream().map(Path::createDTO).collect(Collectors.toList()));
+  }
+
+  /**
+   * Compares the optimal path found with approximate scores to the optimal path found with exact
+   * scores, asynchronously.
+   *
+   * @param pathFinderParametersDTO the parameters
+   * @return the task creating the scoring report
+   * @see QuestController#createTask(PathFinderOptions, int, Callable)
+   */
+  @GetMapping("/path/scoring-report")
+  public WebAsyncTask<ScoringReport> getScoringReport(
+      PathFinderParametersDTO pathFinderParametersDTO) {
     Player player = createPlayer(pathFinderParametersDTO);
+    PathFinderOptions options = createPathFinderOptions(pathFinderParametersDTO);
+
+    return createTask(options, 2, () -> pathFinder.createScoringReport(player, options));
+  }
+
+  /**
+   * Handle a {@link PathCancelledException} thrown by a task, responding with the same status as
+   * a request which timed out.
+   */
+  @ExceptionHandler(PathCancelledException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public void handlePathCancelled() {
+  }
 
-    return pathFinder.find(player).createDTO();
+  /**
+   * Create a {@link WebAsyncTask} which cancels the {@link PathFinder} when the request completes.
+   *
+   * The request completes when the task finishes, the timeout is reached, or the connection to the
+   * client fails, so abandoned requests do not keep running. The path finder then throws a {@link
+   * PathCancelledException}.
+   *
+   * @param options the path finder options, with the token used to cancel the path finder
+   * @param finds the number of paths found one after another by the task
+   * @param callable the task
+   * @param <T> the type of the result
+   * @return the async task
+   * @see QuestController#getTimeout(PathFinderOptions, int)
+   */
+  private <T> WebAsyncTask<T> createTask(PathFinderOptions options, int finds,
+      Callable<T> callable) {
+    Long timeout = getTimeout(options, finds);
+    WebAsyncTask<T> task =
+        timeout != null ? new WebAsyncTask<>(timeout, callable) : new WebAsyncTask<>(callable);
+
+    task.onCompletion(options.getCancellationToken()::cancel);
+
+    return task;
+  }
+
+  /**
+   * Returns the timeout in milliseconds for a task, allowing each path to reach the deadline, or
+   * the time budget if there is no deadline, plus the {@link #TIMEOUT_MARGIN} to finish the path
+   * after it.
+   *
+   * @param options the path finder options
+   * @param finds the number of paths found one after another by the task
+   * @return the timeout, or <tt>null</tt> to use the default async request timeout if there is no
+   * deadline or time budget
+   */
+  private Long getTimeout(PathFinderOptions options, int finds) {
+    Duration limit = options.getDeadline() != null ? options.getDeadline()
+        : options.getTimeBudget();
+
+    return limit != null ? limit.multipliedBy(finds).plus(TIMEOUT_MARGIN).toMillis() : null;
+  }
+
+  /**
+   * Create {@link PathFinderOptions} from the given parameters.
+   *
+   * The beam width is limited to {@link #MAX_BEAM_WIDTH}, and a beam search without a time budget
+   * is given the {@link #DEFAULT_TIME_BUDGET}.
+   *
+   * @param pathFinderParametersDTO the parameters
+   * @return the path finder options
+   */
+  private PathFinderOptions createPathFinderOptions(
+      PathFinderParametersDTO pathFinderParametersDTO) {
+    int beamWidth = Math.min(pathFinderParametersDTO.getBeamWidth(), MAX_BEAM_WIDTH);
+    Duration timeBudget = toDuration(pathFinderParametersDTO.getTimeBudget());
+
+    if (beamWidth > 1 && timeBudget == null) {
+      timeBudget = DEFAULT_TIME_BUDGET;
+    }
+
+    return new PathFinderOptions.Builder().withOrderOnly(pathFinderParametersDTO.isOrderOnly())
+        .withParallel(pathFinderParametersDTO.isParallel()).withBeamWidth(beamWidth)
+        .withTimeBudget(timeBudget)
+        .withDeadline(toDuration(pathFinderParametersDTO.getDeadline()))
+        .withOptimiseLamps(pathFinderParametersDTO.isOptimiseLamps())
+        .withTargets(pathFinderParametersDTO.getTargets())
+        .withSuffixCache(pathFinderParametersDTO.isSuffixCache())
+        .withApproximateScores(pathFinderParametersDTO.isApproximateScores()).build();
+  }
+
+  /**
+   * Convert a positive number of milliseconds to a {@link Duration}.
+   *
+   * @param millis the number of milliseconds
+   * @return the duration, or <tt>null</tt> if the number of milliseconds is not positive
+   */
+  private Duration toDuration(long millis) {
+    return millis > 0 ? Duration.ofMillis(millis) : null;
   }
 
   /**
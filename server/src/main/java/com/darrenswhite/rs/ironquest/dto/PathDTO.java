@@ -13,10 +13,12 @@ public class PathDTO {
 
   private final List<ActionDTO> actions;
   private final PathStatsDTO stats;
+  private final PlayerDTO player;
 
   PathDTO(Builder builder) {
     this.actions = builder.actions;
     this.stats = builder.stats;
+    this.player = builder.player;
   }
 
   public List<ActionDTO> getActions() {
@@ -27,6 +29,10 @@ public class PathDTO {
     return stats;
   }
 
+  public PlayerDTO getPlayer() {
+    return player;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -39,7 +45,8 @@ public class PathDTO {
       return false;
     }
     PathDTO pathDTO = (PathDTO) o;
-    return Objects.equals(actions, pathDTO.actions) && Objects.equals(stats, pathDTO.stats);
+    return Objects.equals(actions, pathDTO.actions) && Objects.equals(stats, pathDTO.stats)
+        && Objects.equals(player, pathDTO.player);
   }
 
   /**
@@ -47,13 +54,14 @@ public class PathDTO {
    */
   @Override
   public final int hashCode() {
-    return Objects.hash(actions, stats);
+    return Objects.hash(actions, stats, player);
   }
 
   public static class Builder {
 
     private List<ActionDTO> actions;
     private PathStatsDTO stats;
+    private PlayerDTO player;
 
     public Builder withActions(List<ActionDTO> actions) {
       this.actions = actions;
@@ -65,6 +73,11 @@ public class PathDTO {
       return this;
     }
 
+    public Builder withPlayer(PlayerDTO player) {
+      this.player = player;
+      return this;
+    }
+
     public PathDTO build() {
       return new PathDTO(this);
     }
@@ -55,6 +55,67 @@ public class PathFinderParametersDTO {
    */
   private Map<Integer, QuestPriority> questPriorities = new LinkedHashMap<>();
 
+  /**
+   * Toggle order only paths. Set to <tt>true</tt> to omit the player from each action, so that only
+   * the final player is returned; <tt>false</tt> otherwise.
+   */
+  private boolean orderOnly;
+
+  /**
+   * Toggle parallel quest scoring. Set to <tt>true</tt> to score all available quests in parallel
+   * and break ties by quest id; <tt>false</tt> otherwise.
+   */
+  private boolean parallel;
+
+  /**
+   * The number of partial paths kept at each step of the beam search. Set to <tt>1</tt> to choose
+   * each quest greedily. Widths above <tt>16</tt> are reduced to <tt>16</tt>.
+   */
+  private int beamWidth = 1;
+
+  /**
+   * The maximum time in milliseconds spent on the beam search. Set to <tt>0</tt> for the default
+   * of <tt>10000</tt> when the beam width is greater than <tt>1</tt>.
+   */
+  private long timeBudget;
+
+  /**
+   * The time in milliseconds after which the remaining quests are chosen with a cheaper heuristic.
+   * This is a soft limit, as the path is still completed after it. Set to <tt>0</tt> for no
+   * deadline.
+   */
+  private long deadline;
+
+  /**
+   * Toggle lamp optimisation. Set to <tt>true</tt> to choose the lamp skills which minimise the
+   * total xp trained over the whole path; <tt>false</tt> otherwise.
+   */
+  private boolean optimiseLamps;
+
+  /**
+   * Find the path to these quests by id. Leave empty to complete all quests.
+   */
+  private Set<Integer> targets = new LinkedHashSet<>();
+
+  /**
+   * Toggle following cached paths. Set to <tt>true</tt> to complete the remaining quests of a path
+   * previously found from an equivalent state.
+   */
+  private boolean suffixCache;
+
+  /**
+   * The maximum number of paths found, including the optimal path, when finding alternative paths.
+   * Counts above <tt>10</tt> are reduced to <tt>10</tt>.
+   */
+  private int alternatives = 3;
+
+  /**
+   * Toggle approximate scores. Set to <tt>true</tt> to score quests with the levels required by
+   * each quest and the closure of its quest requirements, fixed when finding the path starts and
+   * including completed quest requirements; <tt>false</tt> otherwise.
+   */
+  private boolean approximateScores;
+
   public String getName() {
     return name;
   }
@@ -110,4 +171,84 @@ public class PathFinderParametersDTO {
   public void setQuestPriorities(Map<Integer, QuestPriority> questPriorities) {
     this.questPriorities = questPriorities;
   }
+
+  public boolean isOrderOnly() {
+    return orderOnly;
+  }
+
+  public void setOrderOnly(boolean orderOnly) {
+    this.orderOnly = orderOnly;
+  }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  public int getBeamWidth() {
+    return beamWidth;
+  }
+
+  public void setBeamWidth(int beamWidth) {
+    this.beamWidth = beamWidth;
+  }
+
+  public long getTimeBudget() {
+    return timeBudget;
+  }
+
+  public void setTimeBudget(long timeBudget) {
+    this.timeBudget = timeBudget;
+  }
+
+  public long getDeadline() {
+    return deadline;
+  }
+
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
+  public boolean isOptimiseLamps() {
+    return optimiseLamps;
+  }
+
+  public void setOptimiseLamps(boolean optimiseLamps) {
+    this.optimiseLamps = optimiseLamps;
+  }
+
+  public Set<Integer> getTargets() {
+    return targets;
+  }
+
+  public void setTargets(Set<Integer> targets) {
+    this.targets = targets;
+  }
+
+  public boolean isSuffixCache() {
+    return suffixCache;
+  }
+
+  public void setSuffixCache(boolean suffixCache) {
+    this.suffixCache = suffixCache;
+  }
+
+  public int getAlternatives() {
+    return alternatives;
+  }
+
+  public void setAlternatives(int alternatives) {
+    this.alternatives = alternatives;
+  }
+
+  public boolean isApproximateScores() {
+    return approximateScores;
+  }
+
+  public void setApproximateScores(boolean approximateScores) {
+    this.approximateScores = approximateScores;
+  }
 }
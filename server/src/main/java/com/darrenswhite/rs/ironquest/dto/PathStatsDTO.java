@@ -11,15 +11,21 @@ import java.util.Objects;
 public class PathStatsDTO {
 
   private final int percentComplete;
+  private final boolean degraded;
 
   PathStatsDTO(Builder builder) {
     this.percentComplete = builder.percentComplete;
+    this.degraded = builder.degraded;
   }
 
   public double getPercentComplete() {
     return percentComplete;
   }
 
+  public boolean isDegraded() {
+    return degraded;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -32,7 +38,7 @@ public class PathStatsDTO {
       return false;
     }
     PathStatsDTO that = (PathStatsDTO) o;
-    return percentComplete == that.percentComplete;
+    return percentComplete == that.percentComplete && degraded == that.degraded;
   }
 
   /**
@@ -40,18 +46,24 @@ public class PathStatsDTO {
    */
   @Override
   public final int hashCode() {
-    return Objects.hash(percentComplete);
+    return Objects.hash(percentComplete, degraded);
   }
 
   public static class Builder {
 
     private int percentComplete;
+    private boolean degraded;
 
     public Builder withPercentComplete(int percentComplete) {
       this.percentComplete = percentComplete;
       return this;
     }
 
+    public Builder withDegraded(boolean degraded) {
+      this.degraded = degraded;
+      return this;
+    }
+
     public PathStatsDTO build() {
       return new PathStatsDTO(this);
     }
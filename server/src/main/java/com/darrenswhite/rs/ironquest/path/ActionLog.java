@@ -0,0 +1,290 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.QuestAction;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Collectors;
+
+/**
+ * A log of the {@link Action}s for a {@link Path}.
+ *
+ * Actions are logged without a snapshot of the {@link Player}. Each processed action is a step
+ * which only records its own changes, i.e. the quest completed, the xp added or the lamp skills
+ * chosen. The player for any step is rebuilt by replaying the steps since the nearest checkpoint,
+ * which is taken every <tt>checkpointInterval</tt> steps.
+ *
+ * @author Darren S. White
+ */
+public class ActionLog {
+
+  static final int DEFAULT_CHECKPOINT_INTERVAL = 16;
+
+  private final List<Entry> entries = new ArrayList<>();
+  private final List<Action> steps = new ArrayList<>();
+  private final List<Player> checkpoints = new ArrayList<>();
+  private final List<Long> stateKeys = new ArrayList<>();
+  private final boolean snapshots;
+  private final int checkpointInterval;
+  private int removed;
+
+  /**
+   * Create a new {@link ActionLog} starting from the specified {@link Player}.
+   *
+   * @param player the player before any steps
+   * @param snapshots <tt>true</tt> if the actions should be materialised with a snapshot of the
+   * player; <tt>false</tt> otherwise
+   */
+  ActionLog(Player player, boolean snapshots) {
+    this(player, snapshots, DEFAULT_CHECKPOINT_INTERVAL);
+  }
+
+  /**
+   * Create a new {@link ActionLog} starting from the specified {@link Player}.
+   *
+   * @param player the player before any steps
+   * @param snapshots <tt>true</tt> if the actions should be materialised with a snapshot of the
+   * player; <tt>false</tt> otherwise
+   * @param checkpointInterval the number of steps between checkpoints
+   */
+  ActionLog(Player player, boolean snapshots, int checkpointInterval) {
+    this.snapshots = snapshots;
+    this.checkpointInterval = checkpointInterval;
+
+    if (snapshots) {
+      checkpoints.add(player.snapshot());
+    }
+  }
+
+  /**
+   * Add an {@link Entry} to the end of this log.
+   *
+   * @param entry the entry
+   */
+  void add(Entry entry) {
+    entries.add(entry);
+  }
+
+  /**
+   * Remove an {@link Entry} from this log.
+   *
+   * @param entry the entry
+   */
+  void remove(Entry entry) {
+    if (!entry.removed) {
+      entry.removed = true;
+      removed++;
+    }
+  }
+
+  /**
+   * Returns the number of steps processed.
+   *
+   * @return number of steps
+   */
+  int getStepCount() {
+    return steps.size();
+  }
+
+  /**
+   * Returns the processed {@link Action}s in the order they were processed.
+   *
+   * @return the steps
+   */
+  List<Action> getSteps() {
+    return Collections.unmodifiableList(steps);
+  }
+
+  /**
+   * Returns the {@link Quest}s completed by the processed steps in order.
+   *
+   * @return the quests
+   */
+  List<Quest> getQuests() {
+    return steps.stream().filter(QuestAction.class::isInstance).map(QuestAction.class::cast)
+        .map(QuestAction::getQuest).collect(Collectors.toList());
+  }
+
+  /**
+   * Record the key of the state from which the next {@link Quest} was chosen.
+   *
+   * @param stateKey the state key
+   */
+  void addStateKey(long stateKey) {
+    stateKeys.add(stateKey);
+  }
+
+  /**
+   * Returns the keys of the states from which each {@link Quest} was chosen, in order.
+   *
+   * There may be fewer keys than quests, if the remaining quests were not chosen as the best quest.
+   *
+   * @return the state keys
+   */
+  List<Long> getStateKeys() {
+    return Collections.unmodifiableList(stateKeys);
+  }
+
+  /**
+   * Create an {@link Entry} for an {@link Action} which has not been processed.
+   *
+   * @param action the action
+   * @param step the step of the player when the action was created
+   * @return the entry
+   */
+  Entry createEntry(Action action, int step) {
+    return new Entry(action, step);
+  }
+
+  /**
+   * Process the {@link Action} for the {@link Player} and record it as the next step.
+   *
+   * @param action the action
+   * @param player the player
+   * @return the entry for the processed action
+   */
+  Entry process(Action action, Player player) {
+    action.process(player);
+
+    Action step = snapshots ? action : action.copyForPlayer(player, false);
+
+    steps.add(step);
+
+    if (snapshots && steps.size() % checkpointInterval == 0) {
+      checkpoints.add(player.snapshot());
+    }
+
+    return new Entry(step, steps.size());
+  }
+
+  /**
+   * Returns the number of logged {@link Action}s.
+   *
+   * @return number of actions
+   */
+  public int size() {
+    return entries.size() - removed;
+  }
+
+  /**
+   * Returns a read-only snapshot of the {@link Player} after the specified number of steps.
+   *
+   * @param step the number of steps
+   * @return the player
+   * @throws UnsupportedOperationException if this log was created without snapshots
+   */
+  public Player getPlayer(int step) {
+    if (!snapshots) {
+      throw new UnsupportedOperationException("Action log was created without snapshots");
+    }
+
+    Player checkpoint = checkpoints.get(step / checkpointInterval);
+
+    if (step % checkpointInterval == 0) {
+      return checkpoint;
+    }
+
+    Player player = checkpoint.copy();
+
+    replay(player, step - step % checkpointInterval, step);
+
+    return player.snapshot();
+  }
+
+  /**
+   * Returns a view of the logged {@link Action}s, in path order.
+   *
+   * Each action is materialised with a snapshot of the {@link Player} the first time it is
+   * accessed. Entries logged after the view is created are not included.
+   *
+   * @return the actions
+   */
+  public List<Action> getActions() {
+    return new ActionList(entries.stream().filter(entry -> !entry.removed).toArray(Entry[]::new));
+  }
+
+  private void replay(Player player, int fromStep, int toStep) {
+    for (int i = fromStep; i < toStep; i++) {
+      steps.get(i).process(player);
+    }
+  }
+
+  /**
+   * An {@link Action} in the log with the number of steps processed before its player snapshot.
+   */
+  static class Entry {
+
+    private final Action action;
+    private final int step;
+    private boolean removed;
+
+    private Entry(Action action, int step) {
+      this.action = action;
+      this.step = step;
+    }
+
+    Action getAction() {
+      return action;
+    }
+
+    int getStep() {
+      return step;
+    }
+  }
+
+  /**
+   * A {@link List} which materialises {@link Action}s on access.
+   *
+   * Sequential access replays each step once by continuing from the last materialised player.
+   */
+  private class ActionList extends AbstractList<Action> implements RandomAccess {
+
+    private final Entry[] entries;
+    private final Action[] actions;
+    private Player cursor;
+    private int cursorStep;
+
+    ActionList(Entry[] entries) {
+      this.entries = entries;
+      this.actions = new Action[entries.length];
+    }
+
+    @Override
+    public Action get(int index) {
+      if (actions[index] == null) {
+        actions[index] = materialise(entries[index]);
+      }
+
+      return actions[index];
+    }
+
+    @Override
+    public int size() {
+      return entries.length;
+    }
+
+    private Action materialise(Entry entry) {
+      if (!snapshots) {
+        return entry.getAction();
+      }
+
+      int step = entry.getStep();
+      int checkpointStep = step - step % checkpointInterval;
+
+      if (cursor == null || cursorStep > step || cursorStep < checkpointStep) {
+        cursor = checkpoints.get(step / checkpointInterval).copy();
+        cursorStep = checkpointStep;
+      }
+
+      replay(cursor, cursorStep, step);
+      cursorStep = step;
+
+      return entry.getAction().copyForPlayer(cursor, true);
+    }
+  }
+}
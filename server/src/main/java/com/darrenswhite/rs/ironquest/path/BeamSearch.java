@@ -0,0 +1,200 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.LampAction;
+import com.darrenswhite.rs.ironquest.action.TrainAction;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.QuestPriority;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A beam search for the order to complete {@link Quest}s in.
+ *
+ * At each step, every partial path in the beam is extended by each of its best quests, and the
+ * <tt>width</tt> partial paths with the least total training xp are kept. Partial paths with the
+ * same training xp are ordered by how closely they follow the best quest chosen at each step. Only
+ * quests with the same {@link QuestPriority} as the best quest are considered, so quest priorities
+ * are kept.
+ *
+ * The partial paths in the beam are extended in parallel. Each extension completes the quest for a
+ * copy of the {@link Player}, which shares all unchanged state with the previous step.
+ *
+ * @author Darren S. White
+ */
+class BeamSearch {
+
+  private static final Comparator<Node> NODE_ORDER = Comparator
+      .comparingDouble((Node node) -> node.trainXp).thenComparingInt(node -> node.rank);
+
+  private final int width;
+  private final Duration timeBudget;
+
+  /**
+   * Create a new {@link BeamSearch}.
+   *
+   * @param width the number of partial paths kept at each step
+   * @param timeBudget the maximum time to search for, or <tt>null</tt> if there is no limit
+   */
+  BeamSearch(int width, Duration timeBudget) {
+    this.width = width;
+    this.timeBudget = timeBudget;
+  }
+
+  /**
+   * Search for the order to complete the incomplete {@link Quest}s of the {@link Player}.
+   *
+   * The player is not modified. If the time budget is exceeded, then the quests of the best
+   * partial path are returned.
+   *
+   * @param player the player
+   * @return the quests in the order to be completed
+   * @see BeamSearch#search(Player, QuestTargets)
+   */
+  List<Quest> search(Player player) {
+    return search(player, new QuestTargets(player, Collections.emptySet()));
+  }
+
+  /**
+   * Search for the order to complete the {@link Quest}s required to reach the {@link
+   * QuestTargets}.
+   *
+   * @param player the player
+   * @param targets the target quests
+   * @return the quests in the order to be completed
+   */
+  List<Quest> search(Player player, QuestTargets targets) {
+    long start = System.nanoTime();
+    List<Node> beam = Collections.singletonList(new Node(player.copy()));
+
+    while (timeBudget == null || System.nanoTime() - start < timeBudget.toNanos()) {
+      List<Node> candidates = beam.parallelStream().map(node -> expand(node, targets))
+          .flatMap(Collection::stream).sorted(NODE_ORDER).collect(Collectors.toList());
+
+      if (candidates.isEmpty()) {
+        break;
+      }
+
+      beam.forEach(node -> node.player = null);
+      beam = new ArrayList<>(candidates.subList(0, Math.min(width, candidates.size())));
+    }
+
+    return beam.get(0).getQuests();
+  }
+
+  /**
+   * Create a partial path for each of the best {@link Quest}s available after a partial path.
+   *
+   * @param node the partial path
+   * @param targets the target quests
+   * @return the new partial paths
+   */
+  private List<Node> expand(Node node, QuestTargets targets) {
+    Player player = node.player;
+    List<Quest> quests = player.getBestQuests(targets.getAvailableQuests(player), width);
+    List<Node> children = new ArrayList<>();
+    QuestPriority priority = quests.isEmpty() ? null : player.getQuestPriority(quests.get(0));
+
+    for (Quest quest : quests) {
+      if (player.getQuestPriority(quest) != priority) {
+        break;
+      }
+
+      children.add(new Node(node, quest, children.size()));
+    }
+
+    return children;
+  }
+
+  /**
+   * A partial path, the {@link Player} after completing it and the future actions which can not
+   * yet be processed.
+   */
+  private static class Node {
+
+    private final Node parent;
+    private final Quest quest;
+    private final List<Action> futureActions;
+    private final double trainXp;
+    private final int rank;
+    private Player player;
+
+    Node(Player player) {
+      this.parent = null;
+      this.quest = null;
+      this.futureActions = Collections.emptyList();
+      this.trainXp = 0;
+      this.rank = 0;
+      this.player = player;
+    }
+
+    Node(Node parent, Quest quest, int rank) {
+      List<Action> futureActions = new LinkedList<>(parent.futureActions);
+      Player player = parent.player.copy();
+      double trainXp = parent.trainXp;
+
+      for (Action action : player.completeQuest(quest, false)) {
+        if (action.isFuture()) {
+          futureActions.add(action);
+        } else {
+          trainXp += process(action, player);
+        }
+      }
+
+      Iterator<Action> iterator = futureActions.iterator();
+
+      while (iterator.hasNext()) {
+        Action action = iterator.next();
+
+        if (action.meetsRequirements(player)) {
+          if (action instanceof LampAction) {
+            LampAction lampAction = (LampAction) action;
+
+            action = player.createLampAction(lampAction.getQuest(), lampAction.getLampReward(),
+                false);
+          }
+
+          trainXp += process(action, player);
+          iterator.remove();
+        }
+      }
+
+      this.parent = parent;
+      this.quest = quest;
+      this.futureActions = futureActions;
+      this.trainXp = trainXp;
+      this.rank = parent.rank + rank;
+      this.player = player;
+    }
+
+    /**
+     * Process an action, returning the xp trained.
+     */
+    private static double process(Action action, Player player) {
+      action.process(player);
+
+      return action instanceof TrainAction ? ((TrainAction) action).getDiffXp() : 0;
+    }
+
+    /**
+     * Returns the quests completed by this partial path in order.
+     */
+    List<Quest> getQuests() {
+      LinkedList<Quest> quests = new LinkedList<>();
+
+      for (Node node = this; node.parent != null; node = node.parent) {
+        quests.addFirst(node.quest);
+      }
+
+      return quests;
+    }
+  }
+}
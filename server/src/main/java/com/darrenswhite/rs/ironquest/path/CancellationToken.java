@@ -0,0 +1,42 @@
+package com.darrenswhite.rs.ironquest.path;
+
+/**
+ * A token used to cancel finding a {@link Path}, e.g. when the client is no longer waiting for it.
+ *
+ * The {@link PathFinder} checks the token between steps and while scoring quests, and throws a
+ * {@link PathCancelledException} once it is cancelled. A token can be cancelled from any thread
+ * and can not be reset.
+ *
+ * @author Darren S. White
+ */
+public class CancellationToken {
+
+  private volatile boolean cancelled;
+
+  /**
+   * Cancel finding the paths using this token.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Returns if this token has been cancelled.
+   *
+   * @return <tt>true</tt> if cancelled; <tt>false</tt> otherwise
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Throw a {@link PathCancelledException} if this token has been cancelled.
+   *
+   * @throws PathCancelledException if cancelled
+   */
+  void throwIfCancelled() {
+    if (isCancelled()) {
+      throw new PathCancelledException("Finding path was cancelled");
+    }
+  }
+}
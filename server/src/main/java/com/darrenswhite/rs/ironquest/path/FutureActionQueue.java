@@ -0,0 +1,272 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.ActionType;
+import com.darrenswhite.rs.ironquest.action.LampAction;
+import com.darrenswhite.rs.ironquest.action.QuestAction;
+import com.darrenswhite.rs.ironquest.action.TrainAction;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import com.darrenswhite.rs.ironquest.util.Fingerprints;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A queue of future {@link Action}s waiting for their requirements to be met.
+ *
+ * Future {@link LampAction}s are keyed by the {@link Skill} level thresholds of their {@link
+ * LampReward} requirements. When the {@link Player} gains levels only the lamps with a threshold
+ * between the previous and new level are tested again. Other future actions are tested on every
+ * pass.
+ *
+ * Each pass returns actions in the order they were added, as if every future action was tested in
+ * turn. The levels of the player are assumed never to decrease.
+ *
+ * A fingerprint of the queued actions is kept as the sum of a key for each action, so it does not
+ * depend on the order the actions were added in. Actions are keyed by their content, so equal
+ * actions created for different paths have the same key.
+ *
+ * @author Darren S. White
+ */
+class FutureActionQueue {
+
+  /**
+   * The level of crafting, divination and smithing required to use a lamp on invention.
+   */
+  private static final int INVENTION_REQUIREMENT_LEVEL = 80;
+
+  private final Map<Skill, TreeMap<Integer, List<Pending>>> thresholds = new EnumMap<>(
+      Skill.class);
+  private final Map<Skill, Integer> levels = new EnumMap<>(Skill.class);
+  private final TreeSet<Pending> candidates = new TreeSet<>(
+      Comparator.comparingInt(Pending::getSequence));
+  private final Map<Quest, Integer> lampQuests = new HashMap<>();
+  private int sequence;
+  private int cursor = -1;
+  private long fingerprint;
+
+  /**
+   * Add a future {@link Action} to the queue.
+   *
+   * The action is tested on the next pass, and afterwards only when one of its thresholds is met.
+   *
+   * @param entry the log entry for the action
+   * @param player the player
+   */
+  void add(ActionLog.Entry entry, Player player) {
+    Pending pending = new Pending(entry, sequence++);
+    Action action = entry.getAction();
+
+    if (action instanceof LampAction) {
+      pending.keyed = true;
+      lampQuests.merge(((LampAction) action).getQuest(), 1, Integer::sum);
+
+      for (Map.Entry<Set<Skill>, Integer> requirement : ((LampAction) action).getLampReward()
+          .getRequirements().entrySet()) {
+        for (Skill skill : requirement.getKey()) {
+          addThreshold(pending, skill, requirement.getValue(), player);
+
+          if (skill == Skill.INVENTION) {
+            addThreshold(pending, Skill.CRAFTING, INVENTION_REQUIREMENT_LEVEL, player);
+            addThreshold(pending, Skill.DIVINATION, INVENTION_REQUIREMENT_LEVEL, player);
+            addThreshold(pending, Skill.SMITHING, INVENTION_REQUIREMENT_LEVEL, player);
+          }
+        }
+      }
+    }
+
+    candidates.add(pending);
+    fingerprint += key(action);
+  }
+
+  /**
+   * Returns the fingerprint of the queued actions.
+   *
+   * The skills already used for lamps from each quest with a queued {@link LampAction} are
+   * included, as exclusive lamps may not use them again.
+   *
+   * @param player the player
+   * @return the fingerprint, or <tt>0</tt> if the queue is empty
+   * @see Player#getPreviousLampSkills(Quest)
+   */
+  long getFingerprint(Player player) {
+    long lampSkills = 0;
+
+    for (Quest quest : lampQuests.keySet()) {
+      long previous = 0;
+
+      for (Set<Skill> skills : player.getPreviousLampSkills(quest)) {
+        previous += Fingerprints.mix(getMask(skills));
+      }
+
+      lampSkills += Fingerprints.mix(quest.getId() ^ Fingerprints.mix(previous));
+    }
+
+    return fingerprint + lampSkills;
+  }
+
+  /**
+   * Start a new pass over the queue.
+   */
+  void rewind() {
+    cursor = -1;
+  }
+
+  /**
+   * Remove and return the next future {@link Action} in this pass whose requirements are met.
+   *
+   * @param player the player
+   * @return the log entry for the action or <tt>null</tt> if the pass is complete
+   */
+  ActionLog.Entry poll(Player player) {
+    updateLevels(player);
+
+    Pending pending;
+
+    while ((pending = candidates.higher(new Pending(null, cursor))) != null) {
+      cursor = pending.getSequence();
+
+      if (pending.entry.getAction().meetsRequirements(player)) {
+        candidates.remove(pending);
+        pending.removed = true;
+        fingerprint -= key(pending.entry.getAction());
+
+        if (pending.keyed) {
+          lampQuests.computeIfPresent(((LampAction) pending.entry.getAction()).getQuest(),
+              (quest, count) -> count > 1 ? count - 1 : null);
+        }
+
+        return pending.entry;
+      } else if (pending.keyed) {
+        candidates.remove(pending);
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the fingerprint key for a future {@link Action} from its kind and content: the quest
+   * and reward of a {@link LampAction}, the quest of a {@link QuestAction}, or the skill and xp of
+   * a {@link TrainAction}. Other actions are not included in the fingerprint.
+   */
+  private static long key(Action action) {
+    if (action instanceof LampAction) {
+      LampAction lampAction = (LampAction) action;
+
+      return Fingerprints.mix(ActionType.LAMP.ordinal() ^ Fingerprints
+          .mix(lampAction.getQuest().getId() ^ Fingerprints.mix(key(lampAction.getLampReward()))));
+    } else if (action instanceof QuestAction) {
+      return Fingerprints.mix(ActionType.QUEST.ordinal() ^ Fingerprints
+          .mix(((QuestAction) action).getQuest().getId()));
+    } else if (action instanceof TrainAction) {
+      TrainAction trainAction = (TrainAction) action;
+
+      return Fingerprints.mix(ActionType.TRAIN.ordinal() ^ Fingerprints
+          .mix(trainAction.getSkill().ordinal() ^ Fingerprints
+              .mix(Double.doubleToLongBits(trainAction.getStartXp()) ^ Fingerprints
+                  .mix(Double.doubleToLongBits(trainAction.getEndXp())))));
+    }
+
+    return 0;
+  }
+
+  /**
+   * Returns the fingerprint key for a {@link LampReward} from its values.
+   */
+  private static long key(LampReward lampReward) {
+    long requirements = 0;
+
+    for (Map.Entry<Set<Skill>, Integer> requirement : lampReward.getRequirements().entrySet()) {
+      requirements += Fingerprints
+          .mix(getMask(requirement.getKey()) ^ (long) requirement.getValue() << 48);
+    }
+
+    long flags = (long) lampReward.getType().ordinal() << 2 | (lampReward.isExclusive() ? 2 : 0)
+        | (lampReward.isSingleChoice() ? 1 : 0);
+
+    return Fingerprints.mix(Double.doubleToLongBits(lampReward.getXp()) ^ Fingerprints
+        .mix(Double.doubleToLongBits(lampReward.getMultiplier()) ^ Fingerprints
+            .mix(flags ^ Fingerprints.mix(requirements))));
+  }
+
+  /**
+   * Returns a bit mask of the ordinals of the given {@link Skill}s.
+   */
+  private static long getMask(Set<Skill> skills) {
+    long mask = 0;
+
+    for (Skill skill : skills) {
+      mask |= 1L << skill.ordinal();
+    }
+
+    return mask;
+  }
+
+  /**
+   * Add a threshold for a pending action if the level is not already met.
+   */
+  private void addThreshold(Pending pending, Skill skill, int level, Player player) {
+    if (level > player.getLevel(skill)) {
+      levels.computeIfAbsent(skill, player::getLevel);
+      thresholds.computeIfAbsent(skill, s -> new TreeMap<>())
+          .computeIfAbsent(level, l -> new ArrayList<>()).add(pending);
+    }
+  }
+
+  /**
+   * Add each pending action with a threshold met since the last update as a candidate.
+   */
+  private void updateLevels(Player player) {
+    for (Map.Entry<Skill, Integer> entry : levels.entrySet()) {
+      int previousLevel = entry.getValue();
+      int level = player.getLevel(entry.getKey());
+
+      if (level > previousLevel) {
+        NavigableMap<Integer, List<Pending>> met = thresholds.get(entry.getKey())
+            .subMap(previousLevel, false, level, true);
+
+        for (List<Pending> pendingActions : met.values()) {
+          for (Pending pending : pendingActions) {
+            if (!pending.removed) {
+              candidates.add(pending);
+            }
+          }
+        }
+
+        met.clear();
+        entry.setValue(level);
+      }
+    }
+  }
+
+  /**
+   * A future {@link Action} in the queue with the order it was added.
+   */
+  private static class Pending {
+
+    private final ActionLog.Entry entry;
+    private final int sequence;
+    private boolean keyed;
+    private boolean removed;
+
+    Pending(ActionLog.Entry entry, int sequence) {
+      this.entry = entry;
+      this.sequence = sequence;
+    }
+
+    int getSequence() {
+      return sequence;
+    }
+  }
+}
@@ -0,0 +1,493 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.LampAction;
+import com.darrenswhite.rs.ironquest.action.QuestAction;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.CombatRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import com.darrenswhite.rs.ironquest.quest.reward.LampType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Chooses the {@link Skill}s to use each {@link LampReward} on in a {@link Path}, so that the
+ * total xp trained is as small as possible.
+ *
+ * The path is modelled as the events which change the xp of the {@link Player}, in the order they
+ * were processed: the skill requirements and xp rewards of each quest, and each lamp used. The xp
+ * trained for a skill is the xp needed to meet each requirement which is not already provided by
+ * the rewards and lamps before it.
+ *
+ * Lamps are moved to the choice which reduces the total xp trained the most until no move reduces
+ * it. Moving a lamp only changes the xp of the skills in its old and new choices, so only those
+ * skills are replayed from the lamp onwards. A choice is skipped without being replayed if the xp
+ * trained for its new skills after the lamp is less than the best reduction found.
+ *
+ * A move must keep the level requirements of the lamp and all later lamps, exclusive lamps may not
+ * reuse a choice from the same quest, and the combat skills may not drop below their levels at
+ * each combat requirement. Lamps used on one of the player's preferred lamp skills are not moved.
+ *
+ * @author Darren S. White
+ */
+class LampOptimiser {
+
+  private static final Skill[] SKILLS = Skill.values();
+  private static final long ALL_SKILLS = getMask(EnumSet.allOf(Skill.class));
+  private static final long COMBAT_SKILLS = getMask(EnumSet
+      .of(Skill.ATTACK, Skill.CONSTITUTION, Skill.DEFENCE, Skill.MAGIC, Skill.PRAYER, Skill.RANGED,
+          Skill.STRENGTH, Skill.SUMMONING));
+  private static final long INVENTION_SKILLS = getMask(
+      EnumSet.of(Skill.CRAFTING, Skill.DIVINATION, Skill.SMITHING));
+  private static final int INVENTION_LEVEL = 80;
+  private static final int MAX_PASSES = 16;
+  private static final double EPSILON = 1e-6;
+
+  private final List<Event> events = new ArrayList<>();
+  private final List<Lamp> lamps = new ArrayList<>();
+  private final double[][] xps;
+  private final double[][] trainXps;
+
+  /**
+   * Create a new {@link LampOptimiser} for the steps of a {@link Path}.
+   *
+   * @param player the player before the first step
+   * @param steps the processed actions of the path in order
+   */
+  LampOptimiser(Player player, List<Action> steps) {
+    Map<Quest, List<Lamp>> questLamps = new HashMap<>();
+
+    for (Action action : steps) {
+      if (action instanceof QuestAction) {
+        addQuestEvents(player, ((QuestAction) action).getQuest());
+      } else if (action instanceof LampAction) {
+        LampAction lampAction = (LampAction) action;
+        Lamp lamp = new Lamp(player, lampAction, events.size(),
+            questLamps.computeIfAbsent(lampAction.getQuest(), quest -> new ArrayList<>()));
+
+        lamps.add(lamp);
+        events.add(new Event(EventType.LAMP, 0, 0, lamp));
+      }
+    }
+
+    xps = new double[events.size() + 1][SKILLS.length];
+    trainXps = new double[events.size() + 1][SKILLS.length];
+
+    for (Skill skill : SKILLS) {
+      xps[0][skill.ordinal()] = player.getXp(skill);
+    }
+
+    simulate(0);
+
+    for (int i = 0; i < events.size(); i++) {
+      Event event = events.get(i);
+
+      if (event.type == EventType.COMBAT) {
+        for (int s = 0; s < SKILLS.length; s++) {
+          event.levels[s] = getLevel(s, xps[i][s]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the skills used for each lamp in the steps of a {@link Path}.
+   *
+   * Lamps are keyed by instance, so identical lamps rewarded by the same quest keep their own
+   * skills.
+   *
+   * @param steps the processed actions of the path
+   * @return the skills for each lamp reward of each quest
+   */
+  static Map<Quest, Map<LampReward, Set<Skill>>> getLampSkills(List<Action> steps) {
+    Map<Quest, Map<LampReward, Set<Skill>>> lampSkills = new HashMap<>();
+
+    for (Action action : steps) {
+      if (action instanceof LampAction) {
+        LampAction lampAction = (LampAction) action;
+
+        lampSkills.computeIfAbsent(lampAction.getQuest(), quest -> new IdentityHashMap<>())
+            .put(lampAction.getLampReward(), lampAction.getSkills());
+      }
+    }
+
+    return lampSkills;
+  }
+
+  /**
+   * Returns the total xp trained with the current choice of skills for each lamp.
+   *
+   * @return the total xp trained
+   */
+  double getTrainXp() {
+    double trainXp = 0;
+
+    for (double skillTrainXp : trainXps[events.size()]) {
+      trainXp += skillTrainXp;
+    }
+
+    return trainXp;
+  }
+
+  /**
+   * Move lamps to better choices until the total xp trained can not be reduced.
+   *
+   * @return the skills for each lamp reward of each quest, keyed by lamp instance
+   */
+  Map<Quest, Map<LampReward, Set<Skill>>> optimise() {
+    return optimise(() -> false);
+  }
+
+  /**
+   * Move lamps to better choices until the total xp trained can not be reduced, or until stopped.
+   *
+   * The check is made before each lamp is moved. Each move keeps the requirements of the path, so
+   * the choices made before stopping are kept.
+   *
+   * @param stopped the check used to stop moving lamps early
+   * @return the skills for each lamp reward of each quest, keyed by lamp instance
+   */
+  Map<Quest, Map<LampReward, Set<Skill>>> optimise(BooleanSupplier stopped) {
+    for (int pass = 0; pass < MAX_PASSES; pass++) {
+      if (!improve(stopped)) {
+        break;
+      }
+    }
+
+    Map<Quest, Map<LampReward, Set<Skill>>> lampSkills = new HashMap<>();
+
+    for (Lamp lamp : lamps) {
+      lampSkills.computeIfAbsent(lamp.quest, quest -> new IdentityHashMap<>())
+          .put(lamp.lampReward, lamp.choices.get(lamp.choice));
+    }
+
+    return lampSkills;
+  }
+
+  /**
+   * Move each lamp in turn to the choice which reduces the total xp trained the most.
+   *
+   * @param stopped the check used to stop moving lamps early
+   * @return <tt>true</tt> if any lamp was moved and not stopped; <tt>false</tt> otherwise
+   */
+  private boolean improve(BooleanSupplier stopped) {
+    boolean improved = false;
+
+    for (Lamp lamp : lamps) {
+      if (stopped.getAsBoolean()) {
+        return false;
+      }
+
+      double trainXp = getTrainXp();
+      double bestGain = EPSILON;
+      int bestChoice = -1;
+
+      for (int choice = 0; !lamp.fixed && choice < lamp.masks.length; choice++) {
+        if (choice == lamp.choice || getMaxGain(lamp, choice) <= bestGain || !isAvailable(lamp,
+            choice)) {
+          continue;
+        }
+
+        double gain = trainXp - evaluate(lamp, choice);
+
+        if (gain > bestGain) {
+          bestGain = gain;
+          bestChoice = choice;
+        }
+      }
+
+      if (bestChoice >= 0) {
+        lamp.choice = bestChoice;
+        simulate(lamp.event);
+        improved = true;
+      }
+    }
+
+    return improved;
+  }
+
+  /**
+   * Returns the most that the xp trained could be reduced by moving a lamp to a choice, which is
+   * the xp trained after the lamp for the skills only in the new choice.
+   */
+  private double getMaxGain(Lamp lamp, int choice) {
+    long skills = lamp.masks[choice] & ~lamp.masks[lamp.choice];
+    double[] before = trainXps[lamp.event];
+    double[] after = trainXps[events.size()];
+    double gain = 0;
+
+    for (int s = 0; s < SKILLS.length; s++) {
+      if (contains(skills, s)) {
+        gain += after[s] - before[s];
+      }
+    }
+
+    return gain;
+  }
+
+  /**
+   * Test if an exclusive choice has not been used by another lamp for the same quest.
+   */
+  private boolean isAvailable(Lamp lamp, int choice) {
+    for (Lamp other : lamp.siblings) {
+      boolean exclusive =
+          other.event < lamp.event ? lamp.lampReward.isExclusive() : other.lampReward.isExclusive();
+
+      if (other != lamp && exclusive && other.masks[other.choice] == lamp.masks[choice]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the total xp trained if a lamp is moved to a choice, or {@link Double#NaN} if the move
+   * breaks a requirement.
+   */
+  private double evaluate(Lamp lamp, int choice) {
+    long skills = lamp.masks[choice] | lamp.masks[lamp.choice];
+    double[] xp = xps[lamp.event].clone();
+    double[] trainXp = trainXps[lamp.event].clone();
+    double total = getTrainXp();
+
+    for (int i = lamp.event; i < events.size(); i++) {
+      if (!apply(i, skills, xp, trainXp, lamp, choice)) {
+        return Double.NaN;
+      }
+    }
+
+    for (int s = 0; s < SKILLS.length; s++) {
+      if (contains(skills, s)) {
+        total += trainXp[s] - trainXps[events.size()][s];
+      }
+    }
+
+    return total;
+  }
+
+  /**
+   * Replay all events from the specified event with the current choices.
+   */
+  private void simulate(int from) {
+    double[] xp = xps[from].clone();
+    double[] trainXp = trainXps[from].clone();
+
+    for (int i = from; i < events.size(); i++) {
+      apply(i, ALL_SKILLS, xp, trainXp, null, 0);
+
+      System.arraycopy(xp, 0, xps[i + 1], 0, xp.length);
+      System.arraycopy(trainXp, 0, trainXps[i + 1], 0, trainXp.length);
+    }
+  }
+
+  /**
+   * Apply an event to the xp of the specified skills, using the given choice for the moved lamp.
+   * The xp of other skills is unchanged by the move, so it is read from the current replay.
+   *
+   * @return <tt>false</tt> if a requirement is no longer met; <tt>true</tt> otherwise
+   */
+  private boolean apply(int index, long skills, double[] xp, double[] trainXp, Lamp moved,
+      int movedChoice) {
+    Event event = events.get(index);
+    int s = event.skill;
+
+    switch (event.type) {
+      case REQUIREMENT:
+        if (contains(skills, s) && xp[s] < event.xp) {
+          trainXp[s] += event.xp - xp[s];
+          xp[s] = event.xp;
+        }
+        return true;
+      case REWARD:
+        if (contains(skills, s)) {
+          xp[s] += event.xp;
+        }
+        return true;
+      case COMBAT:
+        for (int i = 0; i < SKILLS.length; i++) {
+          if (contains(skills & COMBAT_SKILLS, i) && getLevel(i, xp[i]) < event.levels[i]) {
+            return false;
+          }
+        }
+        return true;
+      default:
+        Lamp lamp = event.lamp;
+        int choice = lamp == moved ? movedChoice : lamp.choice;
+        long lampSkills = lamp.masks[choice];
+        long dependencies = contains(lampSkills, Skill.INVENTION.ordinal()) ? lampSkills
+            | INVENTION_SKILLS : lampSkills;
+
+        if ((dependencies & skills) == 0) {
+          return true;
+        }
+
+        double[] current = xps[index];
+        int level = 0;
+
+        for (int i = 0; i < SKILLS.length; i++) {
+          if (contains(dependencies, i)) {
+            int skillLevel = getLevel(i, contains(skills, i) ? xp[i] : current[i]);
+
+            if (contains(lampSkills, i)) {
+              level = skillLevel;
+            }
+
+            if (contains(lampSkills, i) ? skillLevel < lamp.levels[choice]
+                : skillLevel < INVENTION_LEVEL) {
+              return false;
+            }
+          }
+        }
+
+        double lampXp = lamp.lampReward.getXpForLevel(level);
+
+        for (int i = 0; i < SKILLS.length; i++) {
+          if (contains(lampSkills & skills, i)) {
+            xp[i] += lampXp;
+          }
+        }
+        return true;
+    }
+  }
+
+  private void addQuestEvents(Player player, Quest quest) {
+    CombatRequirement combat = quest.getRequirements().getCombat();
+
+    for (SkillRequirement requirement : quest.getRequirements().getSkills()) {
+      if (requirement.appliesTo(player)) {
+        Skill skill = requirement.getSkill();
+
+        events.add(new Event(EventType.REQUIREMENT, skill.ordinal(),
+            skill.getXpAtLevel(requirement.getLevel()), null));
+      }
+    }
+
+    if (combat != null && combat.appliesTo(player)) {
+      events.add(new Event(EventType.COMBAT, 0, 0, null));
+    }
+
+    for (Entry<Skill, Double> reward : quest.getRewards().getXp().entrySet()) {
+      events.add(new Event(EventType.REWARD, reward.getKey().ordinal(), reward.getValue(), null));
+    }
+  }
+
+  private static int getLevel(int skill, double xp) {
+    return SKILLS[skill].getLevelAt(Math.min(xp, Skill.MAX_XP));
+  }
+
+  private static boolean contains(long skills, int skill) {
+    return (skills & (1L << skill)) != 0;
+  }
+
+  private static long getMask(Set<Skill> skills) {
+    long mask = 0;
+
+    for (Skill skill : skills) {
+      mask |= 1L << skill.ordinal();
+    }
+
+    return mask;
+  }
+
+  private enum EventType {
+    REQUIREMENT, REWARD, COMBAT, LAMP
+  }
+
+  /**
+   * An event which changes, or depends on, the xp of the player.
+   */
+  private static class Event {
+
+    private final EventType type;
+    private final int skill;
+    private final double xp;
+    private final Lamp lamp;
+    private final int[] levels;
+
+    Event(EventType type, int skill, double xp, Lamp lamp) {
+      this.type = type;
+      this.skill = skill;
+      this.xp = xp;
+      this.lamp = lamp;
+      this.levels = type == EventType.COMBAT ? new int[SKILLS.length] : null;
+    }
+  }
+
+  /**
+   * A lamp used in the path, with its choices ordered by their skills.
+   */
+  private static class Lamp {
+
+    private final Quest quest;
+    private final LampReward lampReward;
+    private final int event;
+    private final List<Lamp> siblings;
+    private final List<Set<Skill>> choices = new ArrayList<>();
+    private final long[] masks;
+    private final int[] levels;
+    private final boolean fixed;
+    private int choice;
+
+    Lamp(Player player, LampAction lampAction, int event, List<Lamp> siblings) {
+      TreeMap<Long, Integer> choiceLevels = new TreeMap<>();
+      Map<Long, Set<Skill>> choiceSkills = new HashMap<>();
+      LampReward lampReward = lampAction.getLampReward();
+      long current = getMask(lampAction.getSkills());
+
+      for (Entry<Set<Skill>, Integer> requirement : lampReward.getRequirements().entrySet()) {
+        long mask = getMask(requirement.getKey());
+
+        if (lampReward.isSingleChoice()) {
+          for (Skill skill : requirement.getKey()) {
+            choiceLevels.merge(1L << skill.ordinal(), requirement.getValue(), Math::max);
+            choiceSkills.put(1L << skill.ordinal(), Collections.singleton(skill));
+          }
+        } else if (lampReward.getType() == LampType.XP || Long.bitCount(mask) == 1) {
+          choiceLevels.put(mask, requirement.getValue());
+          choiceSkills.put(mask, requirement.getKey());
+        }
+      }
+
+      if (!choiceSkills.containsKey(current)) {
+        choiceLevels.clear();
+        choiceLevels.put(current, 0);
+        choiceSkills.put(current, lampAction.getSkills());
+      }
+
+      this.quest = lampAction.getQuest();
+      this.lampReward = lampReward;
+      this.event = event;
+      this.siblings = siblings;
+      this.masks = new long[choiceLevels.size()];
+      this.levels = new int[choiceLevels.size()];
+
+      for (Entry<Long, Integer> choiceLevel : choiceLevels.entrySet()) {
+        if (choiceLevel.getKey() == current) {
+          this.choice = choices.size();
+        }
+
+        masks[choices.size()] = choiceLevel.getKey();
+        levels[choices.size()] = choiceLevel.getValue();
+        choices.add(choiceSkills.get(choiceLevel.getKey()));
+      }
+
+      this.fixed = choices.size() == 1 || lampAction.getSkills().stream()
+          .anyMatch(player.getLampSkills()::contains);
+
+      siblings.add(this);
+    }
+  }
+}
@@ -1,8 +1,12 @@
 package com.darrenswhite.rs.ironquest.path;
 
 import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.QuestAction;
 import com.darrenswhite.rs.ironquest.dto.ActionDTO;
 import com.darrenswhite.rs.ironquest.dto.PathDTO;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -11,16 +15,35 @@ import java.util.stream.Collectors;
 /**
  * Class encapsulating a {@link List} of {@link Action}s and {@link PathStats}.
  *
+ * A path found by the {@link PathFinder} is backed by an {@link ActionLog}, so each action is only
+ * materialised with a snapshot of the {@link Player} when it is accessed.
+ *
  * @author Darren S. White
  */
 public class Path {
 
+  private final ActionLog log;
   private final List<Action> actions;
   private final PathStats stats;
+  private final Player player;
 
   public Path(List<Action> actions, PathStats stats) {
+    this(actions, stats, null);
+  }
+
+  public Path(ActionLog log, PathStats stats, Player player) {
+    this(log, log.getActions(), stats, player);
+  }
+
+  public Path(List<Action> actions, PathStats stats, Player player) {
+    this(null, actions, stats, player);
+  }
+
+  private Path(ActionLog log, List<Action> actions, PathStats stats, Player player) {
+    this.log = log;
     this.actions = actions;
     this.stats = stats;
+    this.player = player;
   }
 
   /**
@@ -32,6 +55,36 @@ public class Path {
     return actions;
   }
 
+  /**
+   * Returns the {@link Quest}s completed by this path in order.
+   *
+   * Quests are read from the {@link ActionLog} if there is one, so no actions are materialised.
+   *
+   * @return the quests
+   */
+  public List<Quest> getQuests() {
+    if (log != null) {
+      return log.getQuests();
+    }
+
+    return actions.stream().filter(QuestAction.class::isInstance).map(QuestAction.class::cast)
+        .map(QuestAction::getQuest).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the keys of the states from which each {@link Quest} of this path was chosen.
+   *
+   * @return the state keys, or an empty list if unknown
+   * @see ActionLog#getStateKeys()
+   */
+  List<Long> getStateKeys() {
+    if (log != null) {
+      return log.getStateKeys();
+    }
+
+    return Collections.emptyList();
+  }
+
   /**
    * Returns the {@link PathStats}.
    *
@@ -41,6 +94,15 @@ public class Path {
     return stats;
   }
 
+  /**
+   * Returns the {@link Player} after completing all {@link Action}s.
+   *
+   * @return the final player or <tt>null</tt> if unknown
+   */
+  public Player getPlayer() {
+    return player;
+  }
+
   /**
    * Returns a DTO for this {@link Path}.
    *
@@ -50,7 +112,8 @@ public class Path {
     List<ActionDTO> actionDTOs = getActions().stream().map(Action::createDTO)
         .collect(Collectors.toCollection(LinkedList::new));
 
-    return new PathDTO.Builder().withActions(actionDTOs).withStats(getStats().createDTO()).build();
+    return new PathDTO.Builder().withActions(actionDTOs).withStats(getStats().createDTO())
+        .withPlayer(player != null ? player.createDTO() : null).build();
   }
 
   /**
@@ -65,7 +128,8 @@ public class Path {
       return false;
     }
     Path path = (Path) o;
-    return Objects.equals(actions, path.actions) && Objects.equals(stats, path.stats);
+    return Objects.equals(actions, path.actions) && Objects.equals(stats, path.stats) && Objects
+        .equals(player, path.player);
   }
 
   /**
@@ -73,6 +137,6 @@ public class Path {
    */
   @Override
   public final int hashCode() {
-    return Objects.hash(actions, stats);
+    return Objects.hash(actions, stats, player);
   }
 }
@@ -0,0 +1,14 @@
+package com.darrenswhite.rs.ironquest.path;
+
+/**
+ * Exception thrown when {@link PathFinder} stops finding a {@link Path} because its {@link
+ * CancellationToken} was cancelled.
+ *
+ * @author Darren S. White
+ */
+public class PathCancelledException extends RuntimeException {
+
+  public PathCancelledException(String message) {
+    super(message);
+  }
+}
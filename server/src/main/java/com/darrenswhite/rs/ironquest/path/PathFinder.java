@@ -2,13 +2,30 @@ package com.darrenswhite.rs.ironquest.path;
 
 import com.darrenswhite.rs.ironquest.action.Action;
 import com.darrenswhite.rs.ironquest.action.LampAction;
+import com.darrenswhite.rs.ironquest.action.TrainAction;
 import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import com.darrenswhite.rs.ironquest.util.Fingerprints;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
@@ -20,6 +37,37 @@ import org.springframework.stereotype.Service;
 public class PathFinder {
 
   private static final Logger LOG = LogManager.getLogger(PathFinder.class);
+  private static final int DEFAULT_SUFFIX_CACHE_CAPACITY = 100000;
+  private static final Skill[] SKILLS = Skill.values();
+
+  private final PathSuffixCache suffixCache;
+
+  public PathFinder() {
+    this(DEFAULT_SUFFIX_CACHE_CAPACITY);
+  }
+
+  /**
+   * Create a new {@link PathFinder} with a cache of remaining quests of the given capacity.
+   *
+   * Each cached entry takes about 160 bytes for the full quest list, including its share of the
+   * cached paths, so the default of 100000 entries takes about 16MB.
+   *
+   * @param suffixCacheCapacity the maximum number of entries in the cache of remaining quests
+   * @see PathFinderOptions#isSuffixCache()
+   */
+  @Autowired
+  public PathFinder(@Value("${path.suffix-cache-capacity}") int suffixCacheCapacity) {
+    this(new PathSuffixCache(suffixCacheCapacity));
+  }
+
+  /**
+   * Create a new {@link PathFinder} sharing the given cache of remaining quests between paths.
+   *
+   * @param suffixCache the cache of remaining quests
+   */
+  PathFinder(PathSuffixCache suffixCache) {
+    this.suffixCache = suffixCache;
+  }
 
   /**
    * Find the optimal {@link Path} for the specified {@link Player}.
@@ -35,39 +83,670 @@ public class PathFinder {
    * @param player the player to find the path for
    * @return the optimal path
    * @throws BestQuestNotFoundException if the best quest can not be found
+   * @throws PathCancelledException if the cancellation token of the default options is cancelled
+   * @see PathFinder#find(Player, PathFinderOptions)
    */
   public Path find(Player player) throws BestQuestNotFoundException {
-    List<Action> actions = new LinkedList<>();
-    PathStats stats = createStats(player);
+    return find(player, new PathFinderOptions.Builder().build());
+  }
+
+  /**
+   * Find the optimal {@link Path} for the specified {@link Player} using the given {@link
+   * PathFinderOptions}.
+   *
+   * @param player the player to find the path for
+   * @param options the options
+   * @return the optimal path
+   * @throws BestQuestNotFoundException if the best quest can not be found
+   * @throws PathCancelledException if the cancellation token of the options is cancelled
+   * @see PathFinder#find(Player)
+   */
+  public Path find(Player player, PathFinderOptions options) throws BestQuestNotFoundException {
+    return find(player, options, null);
+  }
+
+  /**
+   * Find the optimal {@link Path} for the specified {@link Player}, resuming a previous path found
+   * for the same player with the same {@link PathFinderOptions}.
+   *
+   * The quests completed by the player at the start of the previous path are skipped, and the
+   * remaining quests are completed in the same order while the player is in the same state, with
+   * the same skill xp, target quests and options, as the previous path was before each quest. The
+   * path is re-planned from the first quest reached from a different state, e.g. when the player
+   * has trained skills or completed quests out of order. The actions for each quest are found for
+   * the new state of the player.
+   *
+   * The previous path is not reused if the player has different quests, requirements, lamp skills
+   * or quest priorities, or if it was not found with {@link PathFinderOptions#isResumable()}.
+   *
+   * The quests are chosen for a copy of the player using the scoring and cancellation settings of
+   * the options, so these are not stored on the player. The quests chosen are then completed for
+   * the player.
+   *
+   * @param player the player to find the path for
+   * @param options the options
+   * @param previous the previous path, or <tt>null</tt> to find a new path
+   * @return the optimal path
+   * @throws BestQuestNotFoundException if the best quest can not be found
+   * @throws PathCancelledException if the cancellation token of the options is cancelled
+   * @see PathFinder#find(Player, PathFinderOptions)
+   */
+  public Path find(Player player, PathFinderOptions options, Path previous)
+      throws BestQuestNotFoundException {
+    int percentComplete = getPercentComplete(player);
+    long start = System.nanoTime();
 
     LOG.debug("Finding optimal quest path for player: {}", player.getName());
 
     completePlaceholderQuests(player);
 
-    while (!player.getIncompleteQuests().isEmpty()) {
-      Quest bestQuest = player.getBestQuest(player.getIncompleteQuests());
+    Player scoring = createScoringPlayer(player, options);
+    QuestTargets targets = new QuestTargets(scoring, options.getTargets());
+    int step = previous != null ? getResumeStep(scoring, previous, targets, options) : -1;
+    Iterator<Quest> plan;
+    List<Long> planKeys = null;
+
+    if (step >= 0) {
+      List<Long> stateKeys = previous.getStateKeys();
+
+      LOG.debug("Resuming previous path with {} quests for player: {}",
+          stateKeys.size() - step, player.getName());
+
+      plan = previous.getQuests().subList(step, stateKeys.size()).iterator();
+      planKeys = stateKeys.subList(step, stateKeys.size());
+    } else {
+      plan = getPlan(scoring, targets, options, start);
+    }
+
+    return find(player, scoring, targets, plan, planKeys, options, percentComplete, start);
+  }
+
+  /**
+   * Find up to <tt>count</tt> distinct {@link Path}s for the specified {@link Player} using the
+   * given {@link PathFinderOptions}.
+   *
+   * The first path is the optimal path. Each alternative path branches from the optimal path at a
+   * step where another quest is nearly tied with the quest completed, completing that quest
+   * instead and then choosing the best quest as usual. The steps with the closest ties are
+   * branched from first. The alternative paths are found in parallel, each for a copy of the
+   * player, and are ordered by the least total xp trained.
+   *
+   * Quests are always scored in parallel, so ties between quests with the same score are broken by
+   * the lowest quest id, both when choosing the best quest and when ordering the alternatives.
+   *
+   * The player is not modified.
+   *
+   * @param player the player to find the paths for
+   * @param options the options
+   * @param count the maximum number of paths
+   * @return the optimal path followed by the alternative paths
+   * @throws BestQuestNotFoundException if the best quest can not be found for the optimal path
+   * @throws IllegalArgumentException if the count is less than <tt>1</tt>
+   * @throws PathCancelledException if the cancellation token of the options is cancelled
+   * @see Player#getAlternativeQuests(Collection, Quest)
+   */
+  public List<Path> findAlternatives(Player player, PathFinderOptions options, int count)
+      throws BestQuestNotFoundException {
+    if (count < 1) {
+      throw new IllegalArgumentException("Count must be at least 1: " + count);
+    }
+
+    int percentComplete = getPercentComplete(player);
+    long start = System.nanoTime();
+    PathFinderOptions scoring = new PathFinderOptions.Builder(options).withParallel(true).build();
+    Player initial = createScoringPlayer(player, options);
+
+    LOG.debug("Finding {} quest paths for player: {}", count, player.getName());
+
+    completePlaceholderQuests(initial);
+
+    QuestTargets targets = new QuestTargets(initial, options.getTargets());
+    Path best = find(initial.copy(), initial, targets, getPlan(initial, targets, scoring, start),
+        null, scoring, percentComplete, start);
+    Map<List<Quest>, Path> paths = new LinkedHashMap<>();
+
+    paths.put(best.getQuests(), best);
+
+    if (count > 1) {
+      List<List<Quest>> plans = getBranches(initial.copy(), best.getQuests(), targets, scoring,
+          count - 1);
+      List<Player> players = plans.stream().map(plan -> initial.copy())
+          .collect(Collectors.toList());
+
+      IntStream.range(0, plans.size()).parallel().mapToObj(
+          i -> findAlternative(players.get(i), targets, plans.get(i), scoring, percentComplete,
+              start)).filter(Objects::nonNull)
+          .sorted(Comparator.comparingDouble(path -> getTrainXp(path.getActions())))
+          .forEachOrdered(path -> paths.putIfAbsent(path.getQuests(), path));
+    }
+
+    return new ArrayList<>(paths.values());
+  }
+
+  /**
+   * Compare the optimal {@link Path} found with approximate scores to the optimal path found with
+   * exact scores for the specified {@link Player}, using the given {@link PathFinderOptions}
+   * otherwise.
+   *
+   * The player is not modified.
+   *
+   * @param player the player to find the paths for
+   * @param options the options
+   * @return the report comparing the paths
+   * @throws BestQuestNotFoundException if the best quest can not be found for either path
+   * @throws PathCancelledException if the cancellation token of the options is cancelled
+   * @see PathFinderOptions#isApproximateScores()
+   */
+  public ScoringReport createScoringReport(Player player, PathFinderOptions options)
+      throws BestQuestNotFoundException {
+    long start = System.nanoTime();
+    Path exact = find(player.copy(),
+        new PathFinderOptions.Builder(options).withApproximateScores(false).build());
+    long exactNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+
+    Path approximate = find(player.copy(),
+        new PathFinderOptions.Builder(options).withApproximateScores(true).build());
+    long approximateNanos = System.nanoTime() - start;
+
+    return new ScoringReport.Builder().withExactQuests(exact.getQuests())
+        .withApproximateQuests(approximate.getQuests())
+        .withExactTrainXp(getTrainXp(exact.getActions()))
+        .withApproximateTrainXp(getTrainXp(approximate.getActions()))
+        .withExactMillis(exactNanos / 1000000).withApproximateMillis(approximateNanos / 1000000)
+        .build();
+  }
+
+  /**
+   * Returns the planned quest order to start from, found by the beam search if enabled.
+   *
+   * @param player the player
+   * @param targets the target quests
+   * @param options the options
+   * @param start the {@link System#nanoTime()} when finding the path started
+   * @return the planned quest order
+   */
+  private Iterator<Quest> getPlan(Player player, QuestTargets targets, PathFinderOptions options,
+      long start) {
+    if (options.getBeamWidth() > 1) {
+      List<Quest> plan = new BeamSearch(options.getBeamWidth(), getTimeBudget(options, start))
+          .search(player, targets);
+
+      options.getCancellationToken().throwIfCancelled();
+
+      return plan.iterator();
+    }
+
+    return Collections.emptyIterator();
+  }
+
+  /**
+   * Find the {@link Path} for the {@link Player} following the planned quest order, optimising the
+   * skills used for lamps if enabled.
+   *
+   * The quests are chosen for a copy of the scoring player, and the chosen quests and lamp skills
+   * are then completed for the player. The state keys of the path are those found while choosing
+   * the quests.
+   *
+   * @param player the player to find the path for
+   * @param scoring the player used to choose the quests, in the same state as the player, which is
+   * not modified
+   * @param targets the target quests
+   * @param plan the planned quest order
+   * @param planKeys the keys of the states the planned quests must be chosen from, or
+   * <tt>null</tt> if the states are not checked
+   * @param options the options
+   * @param percentComplete the initial percentage of quests completed
+   * @param start the {@link System#nanoTime()} when finding the path started
+   * @return the path
+   * @throws BestQuestNotFoundException if the best quest can not be found
+   */
+  private Path find(Player player, Player scoring, QuestTargets targets, Iterator<Quest> plan,
+      List<Long> planKeys, PathFinderOptions options, int percentComplete, long start)
+      throws BestQuestNotFoundException {
+    ActionLog draft = new ActionLog(scoring, false);
+    boolean degraded = completeQuests(scoring.copy(), draft, plan, planKeys, targets,
+        Collections.emptyMap(), options, start);
+    List<Quest> quests = draft.getQuests();
+    Map<Quest, Map<LampReward, Set<Skill>>> lampSkills =
+        !options.isOptimiseLamps() || degraded || isDeadlineExceeded(options, start) ? LampOptimiser
+            .getLampSkills(draft.getSteps())
+            : optimiseLamps(scoring, draft.getSteps(), quests, targets, options, start);
+    ActionLog log = new ActionLog(player, !options.isOrderOnly());
+
+    degraded |= completeQuests(player, log, quests.iterator(), null, targets, lampSkills,
+        new PathFinderOptions.Builder(options).withSuffixCache(false).withResumable(false).build(),
+        start);
+    draft.getStateKeys().forEach(log::addStateKey);
+
+    return new Path(log, new PathStats(percentComplete, degraded), player.snapshot());
+  }
+
+  /**
+   * Find an alternative {@link Path} for the {@link Player} following the planned quest order.
+   *
+   * @param player the player to find the path for
+   * @param targets the target quests
+   * @param plan the planned quest order
+   * @param options the options
+   * @param percentComplete the initial percentage of quests completed
+   * @param start the {@link System#nanoTime()} when finding the path started
+   * @return the path, or <tt>null</tt> if the best quest can not be found
+   */
+  private Path findAlternative(Player player, QuestTargets targets, List<Quest> plan,
+      PathFinderOptions options, int percentComplete, long start) {
+    try {
+      return find(player.copy(), player, targets, plan.iterator(), null, options, percentComplete,
+          start);
+    } catch (BestQuestNotFoundException e) {
+      LOG.debug("Unable to find alternative path for player: {}", player.getName());
+
+      return null;
+    }
+  }
+
+  /**
+   * Returns the planned quest orders which branch from a path at the steps where another quest is
+   * nearly tied with the quest completed, closest ties first and then by the lowest quest id.
+   *
+   * The quests of the path are completed again for the {@link Player} to score the alternative
+   * quests at each step.
+   *
+   * @param player the player before the path
+   * @param quests the quests completed by the path in order
+   * @param targets the target quests
+   * @param options the options
+   * @param count the maximum number of branches
+   * @return the planned quest orders, each ending with an alternative quest
+   */
+  private List<List<Quest>> getBranches(Player player, List<Quest> quests, QuestTargets targets,
+      PathFinderOptions options, int count) {
+    ActionLog log = new ActionLog(player, false);
+    FutureActionQueue futureActions = new FutureActionQueue();
+    List<Branch> branches = new ArrayList<>();
+
+    for (int step = 0; step < quests.size(); step++) {
+      Quest quest = quests.get(step);
+      int branchStep = step;
+      Map<Quest, Double> alternatives = player
+          .getAlternativeQuests(targets.getAvailableQuests(player), quest);
+
+      options.getCancellationToken().throwIfCancelled();
+      alternatives.forEach((alternative, difference) -> branches
+          .add(new Branch(branchStep, alternative, difference)));
+
+      completeQuest(player, quest, log, futureActions, Collections.emptyMap());
+      processFutureActions(player, log, futureActions, Collections.emptyMap());
+    }
+
+    return branches.stream().sorted(Comparator.comparingDouble((Branch branch) -> branch.difference)
+        .thenComparingInt(branch -> branch.quest.getId()).thenComparingInt(branch -> branch.step))
+        .limit(count).map(branch -> {
+          List<Quest> plan = new ArrayList<>(quests.subList(0, branch.step));
+
+          plan.add(branch.quest);
+
+          return plan;
+        }).collect(Collectors.toList());
+  }
+
+  /**
+   * Complete the quests required by the {@link QuestTargets} for the {@link Player}, following the
+   * planned quest order while it can be completed and then choosing the best quest at each step.
+   * If there are plan keys, the planned quest order is only followed while the state before each
+   * quest has the matching key.
+   *
+   * If enabled, the remaining quests of a path previously found from an equivalent state are
+   * followed instead of choosing the best quest, and the remaining quests from each state where
+   * the best quest was chosen are cached afterwards. Paths with chosen lamp skills or which
+   * exceed the deadline are not cached.
+   *
+   * @param player the player
+   * @param log the action log
+   * @param plan the planned quest order
+   * @param planKeys the keys of the states the planned quests must be chosen from, or
+   * <tt>null</tt> if the states are not checked
+   * @param targets the target quests
+   * @param lampSkills the skills to use for each lamp reward of each quest, if available
+   * @param options the options
+   * @param start the {@link System#nanoTime()} when finding the path started
+   * @return <tt>true</tt> if the deadline was exceeded; <tt>false</tt> otherwise
+   * @throws BestQuestNotFoundException if the best quest can not be found
+   * @throws PathCancelledException if the cancellation token of the options is cancelled
+   * @see PathFinder#getPathKey(Player, QuestTargets, PathFinderOptions)
+   */
+  private boolean completeQuests(Player player, ActionLog log, Iterator<Quest> plan,
+      List<Long> planKeys, QuestTargets targets,
+      Map<Quest, Map<LampReward, Set<Skill>>> lampSkills, PathFinderOptions options, long start)
+      throws BestQuestNotFoundException {
+    FutureActionQueue futureActions = new FutureActionQueue();
+    boolean degraded = false;
+    boolean cached = options.isSuffixCache() && lampSkills.isEmpty();
+    List<Quest> quests = new ArrayList<>();
+    Map<Integer, Long> stateKeys = new LinkedHashMap<>();
+    int planned = 0;
+
+    while (!targets.isCompleted(player)) {
+      Quest bestQuest = null;
+      boolean checked = planKeys != null && plan.hasNext();
+      long pathKey = checked || options.isResumable() ? getPathKey(player, targets, options) : 0;
+
+      options.getCancellationToken().throwIfCancelled();
+
+      if (checked && (planned >= planKeys.size() || planKeys.get(planned) != pathKey)) {
+        LOG.debug("Leaving previous path at a different state for player: {}", player.getName());
+
+        plan = Collections.emptyIterator();
+      }
+
+      if (cached && !plan.hasNext()) {
+        long stateKey = getStateKey(player, futureActions, targets, options);
+        List<Quest> suffix = suffixCache.get(stateKey);
+
+        if (suffix != null) {
+          LOG.debug("Following cached path with {} quests for player: {}", suffix.size(),
+              player.getName());
+
+          plan = suffix.iterator();
+          planKeys = null;
+        } else {
+          stateKeys.put(quests.size(), stateKey);
+        }
+      }
+
+      if (plan.hasNext()) {
+        bestQuest = getPlannedQuest(player, plan.next());
+        planned++;
+
+        if (bestQuest == null) {
+          LOG.debug("Abandoning planned quest order for player: {}", player.getName());
+
+          plan = Collections.emptyIterator();
+        }
+      }
+
+      if (bestQuest == null && !degraded && isDeadlineExceeded(options, start)) {
+        LOG.debug("Deadline exceeded, finding nearest quests for player: {}", player.getName());
+
+        degraded = true;
+      }
+
+      if (bestQuest == null) {
+        Collection<Quest> availableQuests = targets.getAvailableQuests(player);
+
+        bestQuest = degraded ? player.getNearestQuest(availableQuests)
+            : player.getBestQuest(availableQuests, options.isParallel());
+
+        options.getCancellationToken().throwIfCancelled();
+      }
 
       if (bestQuest == null) {
         throw new BestQuestNotFoundException(
             "Unable to find best quest for player: " + player.getName());
       }
 
-      actions.addAll(completeQuest(player, bestQuest));
-      processFutureActions(player, actions);
+      if (options.isResumable() && !degraded) {
+        log.addStateKey(pathKey);
+      }
+
+      completeQuest(player, bestQuest, log, futureActions, lampSkills);
+      processFutureActions(player, log, futureActions, lampSkills);
+      quests.add(bestQuest);
+    }
+
+    processFutureActions(player, log, futureActions, lampSkills);
+
+    if (cached && !degraded) {
+      List<Quest> path = Collections.unmodifiableList(quests);
+
+      stateKeys.forEach((step, stateKey) -> suffixCache
+          .put(stateKey, path.subList(step, path.size())));
+    }
+
+    return degraded;
+  }
+
+  /**
+   * Returns the key of the state reached while finding a path, combining the fingerprints of the
+   * {@link Player} and its skill xp, the waiting future actions, the target quests and the options
+   * which affect the best quest.
+   *
+   * The skill xp is included as it decides when later rewards raise a level, so states with the
+   * same levels but different xp may lead to different paths.
+   *
+   * @param player the player
+   * @param futureActions the future action queue
+   * @param targets the target quests
+   * @param options the options
+   * @return the state key
+   * @see Player#getFingerprint()
+   */
+  private long getStateKey(Player player, FutureActionQueue futureActions, QuestTargets targets,
+      PathFinderOptions options) {
+    long stateKey = player.getFingerprint() ^ Fingerprints.mix(getXpFingerprint(player)
+        ^ Fingerprints.mix(futureActions.getFingerprint(player) ^ targets.getFingerprint()));
+
+    return options.isParallel() ? Fingerprints.mix(stateKey) : stateKey;
+  }
+
+  /**
+   * Returns the key of the state from which a quest is chosen for a path, combining the
+   * fingerprint of the {@link Player} with its skill xp, the target quests and the options which
+   * affect the quest chosen.
+   *
+   * The same quest is chosen from states with the same key, so the key is recorded for each quest
+   * of a path and checked when the path is resumed.
+   *
+   * @param player the player
+   * @param targets the target quests
+   * @param options the options
+   * @return the path key
+   * @see ActionLog#getStateKeys()
+   */
+  private long getPathKey(Player player, QuestTargets targets, PathFinderOptions options) {
+    long optionsKey = (long) options.getBeamWidth() << 2 | (options.isOptimiseLamps() ? 2 : 0) | (
+        options.isParallel() ? 1 : 0);
+
+    return player.getFingerprint() ^ Fingerprints
+        .mix(getXpFingerprint(player) ^ Fingerprints.mix(targets.getFingerprint() ^ optionsKey));
+  }
+
+  /**
+   * Returns a fingerprint of the xp of each {@link Skill} of the {@link Player}.
+   *
+   * @param player the player
+   * @return the xp fingerprint
+   */
+  private long getXpFingerprint(Player player) {
+    long fingerprint = 0;
+
+    for (Skill skill : SKILLS) {
+      fingerprint = Fingerprints.mix(fingerprint ^ Double.doubleToLongBits(player.getXp(skill)));
+    }
+
+    return fingerprint;
+  }
+
+  /**
+   * Optimise the skills used for the lamps of a path, keeping the skills used in the path if the
+   * optimised skills do not reduce the total xp trained when the quests are completed again.
+   *
+   * The optimiser stops moving lamps once the path is cancelled or the deadline is exceeded.
+   *
+   * @param player the player before the path
+   * @param steps the processed actions of the path
+   * @param quests the quests completed by the path in order
+   * @param targets the target quests
+   * @param options the options
+   * @param start the {@link System#nanoTime()} when finding the path started
+   * @return the skills to use for each lamp reward of each quest
+   * @see LampOptimiser
+   */
+  private Map<Quest, Map<LampReward, Set<Skill>>> optimiseLamps(Player player, List<Action> steps,
+      List<Quest> quests, QuestTargets targets, PathFinderOptions options, long start) {
+    Map<Quest, Map<LampReward, Set<Skill>>> lampSkills = new LampOptimiser(player, steps)
+        .optimise(() -> options.getCancellationToken().isCancelled() || isDeadlineExceeded(options,
+            start));
+    ActionLog trial = new ActionLog(player, false);
+
+    try {
+      completeQuests(player.copy(), trial, quests.iterator(), null, targets, lampSkills, options,
+          start);
+    } catch (BestQuestNotFoundException e) {
+      LOG.debug("Unable to complete quests with optimised lamps for player: {}", player.getName());
+
+      return LampOptimiser.getLampSkills(steps);
+    }
+
+    if (getTrainXp(trial.getSteps()) > getTrainXp(steps)) {
+      LOG.debug("Optimised lamps did not reduce xp trained for player: {}", player.getName());
+
+      return LampOptimiser.getLampSkills(steps);
+    }
+
+    return lampSkills;
+  }
+
+  /**
+   * Returns the total xp trained by the processed actions of a path.
+   *
+   * @param steps the processed actions
+   * @return the total xp trained
+   */
+  private double getTrainXp(List<Action> steps) {
+    return steps.stream().filter(TrainAction.class::isInstance).map(TrainAction.class::cast)
+        .mapToDouble(TrainAction::getDiffXp).sum();
+  }
+
+  /**
+   * Returns the step of a previous {@link Path} to resume from, skipping the longest prefix of
+   * quests which the {@link Player} has completed.
+   *
+   * The path is only resumed if the player has the same configuration, and the player is in the
+   * same state, with the same target quests and options, as the previous path was before the
+   * quest at that step.
+   *
+   * @param player the player
+   * @param previous the previous path
+   * @param targets the target quests
+   * @param options the options
+   * @return the step, or <tt>-1</tt> if the previous path can not be resumed
+   * @see PathFinder#getPathKey(Player, QuestTargets, PathFinderOptions)
+   */
+  private int getResumeStep(Player player, Path previous, QuestTargets targets,
+      PathFinderOptions options) {
+    Player previousPlayer = previous.getPlayer();
+
+    if (previousPlayer == null || !hasSameConfiguration(player, previousPlayer)) {
+      return -1;
+    }
+
+    List<Quest> quests = previous.getQuests();
+    List<Long> stateKeys = previous.getStateKeys();
+    int completed = 0;
+
+    while (completed < quests.size() && player.isQuestCompleted(quests.get(completed))) {
+      completed++;
+    }
+
+    if (completed >= stateKeys.size()
+        || stateKeys.get(completed) != getPathKey(player, targets, options)) {
+      return -1;
     }
 
-    processFutureActions(player, actions);
+    return completed;
+  }
 
-    return new Path(actions, stats);
+  /**
+   * Test if two {@link Player}s have the same quests, requirements, lamp skills and quest
+   * priorities, so that paths found for one can be resumed by the other.
+   *
+   * @param player the player
+   * @param other the other player
+   * @return <tt>true</tt> if the players have the same configuration; <tt>false</tt> otherwise
+   */
+  private boolean hasSameConfiguration(Player player, Player other) {
+    return player.isIronman() == other.isIronman() && player.isRecommended() == other
+        .isRecommended() && new ArrayList<>(player.getLampSkills())
+        .equals(new ArrayList<>(other.getLampSkills())) && player
+        .getQuests().equals(other.getQuests()) && player.getQuests().stream()
+        .allMatch(quest -> player.getQuestPriority(quest) == other.getQuestPriority(quest));
   }
 
   /**
-   * Create {@link PathStats} for the specified {@link Player}.
+   * Create a copy of a {@link Player} which scores quests as set by the {@link PathFinderOptions}
+   * and stops scoring once the path is cancelled.
    *
    * @param player the player
-   * @return the path stats
+   * @param options the options
+   * @return the copy of the player
+   */
+  private Player createScoringPlayer(Player player, PathFinderOptions options) {
+    Player scoring = player.copy();
+
+    scoring.setApproximateScores(options.isApproximateScores());
+    scoring.setCancelled(options.getCancellationToken()::isCancelled);
+
+    return scoring;
+  }
+
+  /**
+   * Test if the deadline has been exceeded.
+   *
+   * @param options the options
+   * @param start the {@link System#nanoTime()} when finding the path started
+   * @return <tt>true</tt> if the deadline has been exceeded; <tt>false</tt> otherwise
    */
-  private PathStats createStats(Player player) {
+  private boolean isDeadlineExceeded(PathFinderOptions options, long start) {
+    Duration deadline = options.getDeadline();
+
+    return deadline != null && System.nanoTime() - start >= deadline.toNanos();
+  }
+
+  /**
+   * Returns the time budget for the beam search, limited by the time remaining until the deadline.
+   *
+   * @param options the options
+   * @param start the {@link System#nanoTime()} when finding the path started
+   * @return the time budget, or <tt>null</tt> if there is no limit
+   */
+  private Duration getTimeBudget(PathFinderOptions options, long start) {
+    Duration timeBudget = options.getTimeBudget();
+    Duration deadline = options.getDeadline();
+
+    if (deadline == null) {
+      return timeBudget;
+    }
+
+    Duration remaining = deadline.minusNanos(System.nanoTime() - start);
+
+    return timeBudget != null && timeBudget.compareTo(remaining) < 0 ? timeBudget : remaining;
+  }
+
+  /**
+   * Returns the next planned {@link Quest} if it can be completed by the {@link Player}.
+   *
+   * @param player the player
+   * @param quest the planned quest
+   * @return the planned quest, or <tt>null</tt> if it can not be completed
+   */
+  private Quest getPlannedQuest(Player player, Quest quest) {
+    if (player.isQuestCompleted(quest)) {
+      return null;
+    }
+
+    return player.getBestQuest(Collections.singleton(quest));
+  }
+
+  /**
+   * Returns the initial percentage of quests completed by the specified {@link Player}.
+   *
+   * @param player the player
+   * @return percentage of quests complete
+   * @see PathStats#getPercentComplete()
+   */
+  private int getPercentComplete(Player player) {
     double completed =
         (double) player.getCompletedQuests().size() / (double) player.getQuests().size();
 
@@ -75,66 +754,80 @@ public class PathFinder {
       completed = 0;
     }
 
-    int percentComplete = (int) Math.floor(completed * 100);
-
-    return new PathStats(percentComplete);
+    return (int) Math.floor(completed * 100);
   }
 
   /**
-   * Complete the quest and process all non-future actions.
+   * Complete the quest and process all non-future actions. All actions are added to the {@link
+   * ActionLog} and future actions are also added to the {@link FutureActionQueue}.
    *
-   * @return the processed quest actions
+   * @param player the player
+   * @param bestQuest the quest to complete
+   * @param log the action log
+   * @param futureActions the future action queue
+   * @param lampSkills the skills to use for each lamp reward of each quest, if available
    */
-  private List<Action> completeQuest(Player player, Quest bestQuest) {
-    List<Action> processedActions = new LinkedList<>();
-    List<Action> questActions = player.completeQuest(bestQuest);
+  private void completeQuest(Player player, Quest bestQuest, ActionLog log,
+      FutureActionQueue futureActions, Map<Quest, Map<LampReward, Set<Skill>>> lampSkills) {
+    int step = log.getStepCount();
+    List<Action> questActions = player.completeQuest(bestQuest, false,
+        lampSkills.getOrDefault(bestQuest, Collections.emptyMap()));
 
     for (Action newAction : questActions) {
       if (newAction.isFuture()) {
         LOG.debug("Adding future action: {}", newAction);
 
-        processedActions.add(newAction);
+        ActionLog.Entry entry = log.createEntry(newAction, step);
+
+        log.add(entry);
+        futureActions.add(entry, player);
       } else {
         LOG.debug("Processing action: {}", newAction);
 
-        newAction.process(player);
-        processedActions.add(newAction.copyForPlayer(player));
+        log.add(log.process(newAction, player));
       }
     }
-
-    return processedActions;
   }
 
   /**
    * Process all future actions if the requirements are met. Any actions which are processed are
-   * removed from the <tt>actions</tt> list, copied for the player and added to the end of the
-   * list.
+   * removed from the {@link ActionLog} and added to the end of the log.
+   *
+   * Future actions are tested in the order they were added, but only when the {@link
+   * FutureActionQueue} finds that their requirements may have been met.
    *
    * @param player the player
-   * @param actions the actions
+   * @param log the action log
+   * @param futureActions the future action queue
+   * @param lampSkills the skills to use for each lamp reward of each quest, if available
    */
-  private void processFutureActions(Player player, List<Action> actions) {
-    List<Action> processedActions = new LinkedList<>();
+  private void processFutureActions(Player player, ActionLog log,
+      FutureActionQueue futureActions, Map<Quest, Map<LampReward, Set<Skill>>> lampSkills) {
+    List<ActionLog.Entry> processedEntries = new LinkedList<>();
+    ActionLog.Entry entry;
 
-    for (Iterator<Action> iterator = actions.iterator(); iterator.hasNext(); ) {
-      Action action = iterator.next();
+    futureActions.rewind();
 
-      if (action.isFuture() && action.meetsRequirements(player)) {
-        if (action instanceof LampAction) {
-          LampAction lampAction = (LampAction) action;
+    while ((entry = futureActions.poll(player)) != null) {
+      Action action = entry.getAction();
 
-          action = player.createLampAction(lampAction.getQuest(), lampAction.getLampReward());
-        }
+      if (action instanceof LampAction) {
+        LampAction lampAction = (LampAction) action;
 
-        LOG.debug("Processing future action: {}", action);
+        Quest quest = lampAction.getQuest();
 
-        action.process(player);
-        processedActions.add(action.copyForPlayer(player));
-        iterator.remove();
+        action = player.createLampAction(quest, lampAction.getLampReward(),
+            lampSkills.getOrDefault(quest, Collections.emptyMap()).get(lampAction.getLampReward()),
+            false);
       }
+
+      LOG.debug("Processing future action: {}", action);
+
+      processedEntries.add(log.process(action, player));
+      log.remove(entry);
     }
 
-    actions.addAll(processedActions);
+    processedEntries.forEach(log::add);
   }
 
   /**
@@ -149,7 +842,7 @@ public class PathFinder {
       if (quest.isPlaceholder()) {
         LOG.debug("Processing placeholder quest: {}", quest.getDisplayName());
 
-        List<Action> newActions = player.completeQuest(quest);
+        List<Action> newActions = player.completeQuest(quest, false);
 
         for (Action newAction : newActions) {
           newAction.process(player);
@@ -157,4 +850,20 @@ public class PathFinder {
       }
     }
   }
+
+  /**
+   * An alternative {@link Quest} which could be completed at a step of a path.
+   */
+  private static class Branch {
+
+    private final int step;
+    private final Quest quest;
+    private final double difference;
+
+    Branch(int step, Quest quest, double difference) {
+      this.step = step;
+      this.quest = quest;
+      this.difference = difference;
+    }
+  }
 }
@@ -0,0 +1,301 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.player.Player;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Options used by the {@link PathFinder} to find a {@link Path}.
+ *
+ * @author Darren S. White
+ */
+public class PathFinderOptions {
+
+  private final boolean orderOnly;
+  private final boolean parallel;
+  private final int beamWidth;
+  private final Duration timeBudget;
+  private final Duration deadline;
+  private final boolean optimiseLamps;
+  private final Set<Integer> targets;
+  private final boolean suffixCache;
+  private final boolean approximateScores;
+  private final boolean resumable;
+  private final CancellationToken cancellationToken;
+
+  PathFinderOptions(Builder builder) {
+    this.orderOnly = builder.orderOnly;
+    this.parallel = builder.parallel;
+    this.beamWidth = builder.beamWidth;
+    this.timeBudget = builder.timeBudget;
+    this.deadline = builder.deadline;
+    this.optimiseLamps = builder.optimiseLamps;
+    this.targets = builder.targets;
+    this.suffixCache = builder.suffixCache;
+    this.approximateScores = builder.approximateScores;
+    this.resumable = builder.resumable;
+    this.cancellationToken = builder.cancellationToken;
+  }
+
+  /**
+   * Returns if only the order of {@link Action}s should be found.
+   *
+   * When enabled, actions are created without a snapshot of the player and only the final player
+   * is returned with the {@link Path}.
+   *
+   * @return <tt>true</tt> if only the order of actions is found; <tt>false</tt> otherwise
+   */
+  public boolean isOrderOnly() {
+    return orderOnly;
+  }
+
+  /**
+   * Returns if the best quest should be chosen by scoring all available quests in parallel.
+   *
+   * When enabled, ties between quests with the same score are broken by the lowest quest id, so
+   * the path may differ from the sequential path.
+   *
+   * @return <tt>true</tt> if quests are scored in parallel; <tt>false</tt> otherwise
+   * @see Player#getBestQuest(Collection, boolean)
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * Returns the number of partial paths kept at each step of the beam search.
+   *
+   * A width of <tt>1</tt> disables the beam search, so each quest is chosen greedily.
+   *
+   * @return the beam width
+   * @see BeamSearch
+   */
+  public int getBeamWidth() {
+    return beamWidth;
+  }
+
+  /**
+   * Returns the maximum time spent on the beam search, or <tt>null</tt> if there is no limit.
+   *
+   * When the time budget is exceeded, the best partial path found so far is completed greedily.
+   *
+   * @return the time budget
+   */
+  public Duration getTimeBudget() {
+    return timeBudget;
+  }
+
+  /**
+   * Returns the time after which the remaining quests are chosen with a cheaper heuristic, or
+   * <tt>null</tt> if there is no deadline.
+   *
+   * The deadline also limits the time budget of the beam search. It is a soft limit: the path is
+   * always completed, and each remaining step still checks every available quest, so finding the
+   * path may take longer than the deadline.
+   *
+   * @return the deadline from the start of finding the path
+   * @see Player#getNearestQuest(Collection)
+   * @see PathStats#isDegraded()
+   */
+  public Duration getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Returns if the skills used for the lamps should be chosen to minimise the total xp trained
+   * over the whole path.
+   *
+   * When enabled, the path is found first and the same quests are completed again with the
+   * optimised lamp skills, which are only kept if the total xp trained is not increased. The lamps
+   * are not optimised once the deadline is exceeded.
+   *
+   * @return <tt>true</tt> if the lamp skills are optimised; <tt>false</tt> otherwise
+   * @see LampOptimiser
+   */
+  public boolean isOptimiseLamps() {
+    return optimiseLamps;
+  }
+
+  /**
+   * Returns the ids of the quests to find the path to, or an empty set to complete all quests.
+   *
+   * When there are targets, only the targets and their quest requirements are completed, along
+   * with any other quests needed to meet their quest point or combat requirements.
+   *
+   * @return the target quest ids
+   * @see QuestTargets
+   */
+  public Set<Integer> getTargets() {
+    return targets;
+  }
+
+  /**
+   * Returns if the remaining quests may be taken from a path previously found from an equivalent
+   * state.
+   *
+   * When enabled, each state reached while choosing the best quest is looked up in a cache shared
+   * by all paths found by the same {@link PathFinder}. On a match, the cached quests are completed
+   * in order while they can be completed. States are matched by a 64-bit key of their skill xp,
+   * quests, quest statuses and priorities, parameters, waiting future actions and the skills
+   * already used for the lamps of those actions. Equal states always match, so the path is usually
+   * the same as the path found without the cache, but it may differ if two different states have
+   * the same key.
+   *
+   * @return <tt>true</tt> if cached paths are used; <tt>false</tt> otherwise
+   * @see Player#getFingerprint()
+   */
+  public boolean isSuffixCache() {
+    return suffixCache;
+  }
+
+  /**
+   * Returns if quests should be scored with approximate remaining skill requirements.
+   *
+   * When enabled, the highest level of each skill required by a quest and the closure of its quest
+   * requirements is fixed once, when finding the path starts, instead of merging the requirements
+   * of the incomplete quest requirements each time the score of a quest changes. The levels of
+   * quest requirements which are already completed are still counted, so the path may differ from
+   * the path found with the exact scores.
+   *
+   * @return <tt>true</tt> if the scores are approximate; <tt>false</tt> otherwise
+   * @see Player#setApproximateScores(boolean)
+   * @see PathFinder#createScoringReport(Player, PathFinderOptions)
+   */
+  public boolean isApproximateScores() {
+    return approximateScores;
+  }
+
+  /**
+   * Returns if the path should record the states it is found from, so that it can be resumed.
+   *
+   * The state before each quest is only computed when enabled, or while resuming a previous path.
+   *
+   * @return <tt>true</tt> if the path can be resumed; <tt>false</tt> otherwise
+   * @see PathFinder#find(Player, PathFinderOptions, Path)
+   */
+  public boolean isResumable() {
+    return resumable;
+  }
+
+  /**
+   * Returns the token used to cancel finding the path.
+   *
+   * When cancelled, the {@link PathFinder} stops at the next step or while scoring quests and
+   * throws a {@link PathCancelledException}.
+   *
+   * @return the cancellation token
+   */
+  public CancellationToken getCancellationToken() {
+    return cancellationToken;
+  }
+
+  public static class Builder {
+
+    private boolean orderOnly = false;
+    private boolean parallel = false;
+    private int beamWidth = 1;
+    private Duration timeBudget;
+    private Duration deadline;
+    private boolean optimiseLamps = false;
+    private Set<Integer> targets = Collections.emptySet();
+    private boolean suffixCache = false;
+    private boolean approximateScores = false;
+    private boolean resumable = false;
+    private CancellationToken cancellationToken = new CancellationToken();
+
+    public Builder() {
+    }
+
+    /**
+     * Create a new {@link Builder} with the same values as the given {@link PathFinderOptions}.
+     *
+     * @param options the options to copy
+     */
+    public Builder(PathFinderOptions options) {
+      this.orderOnly = options.orderOnly;
+      this.parallel = options.parallel;
+      this.beamWidth = options.beamWidth;
+      this.timeBudget = options.timeBudget;
+      this.deadline = options.deadline;
+      this.optimiseLamps = options.optimiseLamps;
+      this.targets = options.targets;
+      this.suffixCache = options.suffixCache;
+      this.approximateScores = options.approximateScores;
+      this.resumable = options.resumable;
+      this.cancellationToken = options.cancellationToken;
+    }
+
+    public Builder withOrderOnly(boolean orderOnly) {
+      this.orderOnly = orderOnly;
+      return this;
+    }
+
+    public Builder withParallel(boolean parallel) {
+      this.parallel = parallel;
+      return this;
+    }
+
+    /**
+     * Set the beam width.
+     *
+     * @param beamWidth the number of partial paths kept at each step
+     * @return this builder
+     * @throws IllegalArgumentException if the beam width is less than <tt>1</tt>
+     */
+    public Builder withBeamWidth(int beamWidth) {
+      if (beamWidth < 1) {
+        throw new IllegalArgumentException("Beam width must be at least 1: " + beamWidth);
+      }
+
+      this.beamWidth = beamWidth;
+      return this;
+    }
+
+    public Builder withTimeBudget(Duration timeBudget) {
+      this.timeBudget = timeBudget;
+      return this;
+    }
+
+    public Builder withDeadline(Duration deadline) {
+      this.deadline = deadline;
+      return this;
+    }
+
+    public Builder withOptimiseLamps(boolean optimiseLamps) {
+      this.optimiseLamps = optimiseLamps;
+      return this;
+    }
+
+    public Builder withTargets(Set<Integer> targets) {
+      this.targets = targets;
+      return this;
+    }
+
+    public Builder withSuffixCache(boolean suffixCache) {
+      this.suffixCache = suffixCache;
+      return this;
+    }
+
+    public Builder withApproximateScores(boolean approximateScores) {
+      this.approximateScores = approximateScores;
+      return this;
+    }
+
+    public Builder withResumable(boolean resumable) {
+      this.resumable = resumable;
+      return this;
+    }
+
+    public Builder withCancellationToken(CancellationToken cancellationToken) {
+      this.cancellationToken = cancellationToken;
+      return this;
+    }
+
+    public PathFinderOptions build() {
+      return new PathFinderOptions(this);
+    }
+  }
+}
@@ -11,9 +11,15 @@ import java.util.Objects;
 public class PathStats {
 
   private final int percentComplete;
+  private final boolean degraded;
 
   public PathStats(int percentComplete) {
+    this(percentComplete, false);
+  }
+
+  public PathStats(int percentComplete, boolean degraded) {
     this.percentComplete = percentComplete;
+    this.degraded = degraded;
   }
 
   /**
@@ -26,13 +32,24 @@ public class PathStats {
     return percentComplete;
   }
 
+  /**
+   * Returns if the path was completed with a cheaper heuristic after the deadline was exceeded.
+   *
+   * @return <tt>true</tt> if the path is degraded; <tt>false</tt> otherwise
+   * @see PathFinderOptions#getDeadline()
+   */
+  public boolean isDegraded() {
+    return degraded;
+  }
+
   /**
    * Returns a DTO for this {@link PathStats}.
    *
    * @return the DTO
    */
   public PathStatsDTO createDTO() {
-    return new PathStatsDTO.Builder().withPercentComplete(percentComplete).build();
+    return new PathStatsDTO.Builder().withPercentComplete(percentComplete).withDegraded(degraded)
+        .build();
   }
 
   /**
@@ -47,11 +64,11 @@ public class PathStats {
       return false;
     }
     PathStats pathStats = (PathStats) o;
-    return percentComplete == pathStats.percentComplete;
+    return percentComplete == pathStats.percentComplete && degraded == pathStats.degraded;
   }
 
   @Override
   public final int hashCode() {
-    return Objects.hash(percentComplete);
+    return Objects.hash(percentComplete, degraded);
   }
 }
@@ -0,0 +1,74 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A bounded cache of the remaining {@link Quest}s of {@link Path}s, keyed by the fingerprint of the
+ * state before the quests were completed.
+ *
+ * The cache is shared between threads. When it is full, the oldest entries are evicted first.
+ *
+ * @author Darren S. White
+ */
+class PathSuffixCache {
+
+  private final int capacity;
+  private final Map<Long, List<Quest>> suffixes = new ConcurrentHashMap<>();
+  private final Queue<Long> keys = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Create a new {@link PathSuffixCache}.
+   *
+   * @param capacity the maximum number of entries
+   */
+  PathSuffixCache(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Returns the remaining quests of a path from the state with the specified fingerprint.
+   *
+   * @param key the state fingerprint
+   * @return the remaining quests in order, or <tt>null</tt> if there are none cached
+   */
+  List<Quest> get(long key) {
+    return suffixes.get(key);
+  }
+
+  /**
+   * Cache the remaining quests of a path from the state with the specified fingerprint, unless
+   * they are already cached.
+   *
+   * @param key the state fingerprint
+   * @param quests the remaining quests in order, which must not be modified
+   */
+  void put(long key, List<Quest> quests) {
+    if (suffixes.putIfAbsent(key, quests) == null) {
+      keys.add(key);
+
+      while (suffixes.size() > capacity) {
+        Long oldest = keys.poll();
+
+        if (oldest == null) {
+          break;
+        }
+
+        suffixes.remove(oldest);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of cached entries.
+   *
+   * @return the number of entries
+   */
+  int size() {
+    return suffixes.size();
+  }
+}
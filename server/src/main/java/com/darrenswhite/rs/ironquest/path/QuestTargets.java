@@ -0,0 +1,116 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.QuestNotFoundException;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.util.Fingerprints;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link Quest}s which a {@link Path} must complete to reach its target quests.
+ *
+ * The required quests are the targets and all of their quest requirements. Only the required
+ * quests are chosen from, unless none of them can be completed yet, e.g. when more quest points or
+ * combat levels are needed, in which case any available quest can be chosen. Without any targets,
+ * all quests are required.
+ *
+ * @author Darren S. White
+ */
+class QuestTargets {
+
+  private final Set<Quest> quests;
+  private final long fingerprint;
+
+  /**
+   * Create new {@link QuestTargets} for the {@link Player}.
+   *
+   * @param player the player
+   * @param targetIds the ids of the target quests, or an empty set to complete all quests
+   * @throws QuestNotFoundException if a target quest does not belong to the player
+   */
+  QuestTargets(Player player, Set<Integer> targetIds) {
+    if (targetIds.isEmpty()) {
+      this.quests = null;
+      this.fingerprint = 0;
+    } else {
+      Set<Quest> quests = new HashSet<>();
+
+      for (int targetId : targetIds) {
+        Quest target = player.getQuests().stream().filter(quest -> quest.getId() == targetId)
+            .findAny()
+            .orElseThrow(() -> new QuestNotFoundException("Quest not found: " + targetId));
+
+        quests.add(target);
+        quests.addAll(player.getRequiredQuests(target));
+      }
+
+      this.quests = quests;
+      this.fingerprint = quests.stream().mapToLong(quest -> Fingerprints.mix(quest.getId()))
+          .reduce(0, (first, second) -> first ^ second);
+    }
+  }
+
+  /**
+   * Returns a fingerprint of the required {@link Quest}s.
+   *
+   * @return the fingerprint, or <tt>0</tt> if all quests are required
+   */
+  long getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Returns the required {@link Quest}s, or <tt>null</tt> if all quests are required.
+   *
+   * @return the required quests
+   */
+  Set<Quest> getQuests() {
+    return quests != null ? Collections.unmodifiableSet(quests) : null;
+  }
+
+  /**
+   * Test if the {@link Player} has completed all required {@link Quest}s.
+   *
+   * @param player the player
+   * @return <tt>true</tt> if all required quests are completed; <tt>false</tt> otherwise
+   */
+  boolean isCompleted(Player player) {
+    if (quests == null) {
+      return player.getIncompleteQuests().isEmpty();
+    }
+
+    return quests.stream().allMatch(player::isQuestCompleted);
+  }
+
+  /**
+   * Returns the required {@link Quest}s which are available to the {@link Player}, or all available
+   * quests if none of the required quests can be completed yet.
+   *
+   * @param player the player
+   * @return the quests to choose from
+   */
+  Collection<Quest> getAvailableQuests(Player player) {
+    Set<Quest> availableQuests = player.getAvailableQuests();
+
+    if (quests == null) {
+      return availableQuests;
+    } else if (isCompleted(player)) {
+      return Collections.emptySet();
+    }
+
+    Set<Quest> requiredQuests = availableQuests.stream().filter(quests::contains)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+    if (requiredQuests.stream()
+        .anyMatch(quest -> player.getBestQuest(Collections.singleton(quest)) != null)) {
+      return requiredQuests;
+    }
+
+    return availableQuests;
+  }
+}
@@ -0,0 +1,186 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A comparison of the optimal {@link Path} found with approximate scores to the optimal path found
+ * with exact scores.
+ *
+ * @author Darren S. White
+ * @see PathFinder#createScoringReport(com.darrenswhite.rs.ironquest.player.Player,
+ * PathFinderOptions)
+ */
+public class ScoringReport {
+
+  private final int quests;
+  private final int matchingQuests;
+  private final int firstDifference;
+  private final double exactTrainXp;
+  private final double approximateTrainXp;
+  private final long exactMillis;
+  private final long approximateMillis;
+
+  ScoringReport(Builder builder) {
+    int size = Math.min(builder.exactQuests.size(), builder.approximateQuests.size());
+    int matchingQuests = 0;
+    int firstDifference = -1;
+
+    for (int i = 0; i < size; i++) {
+      if (builder.exactQuests.get(i).equals(builder.approximateQuests.get(i))) {
+        matchingQuests++;
+      } else if (firstDifference < 0) {
+        firstDifference = i;
+      }
+    }
+
+    if (firstDifference < 0 && builder.exactQuests.size() != builder.approximateQuests.size()) {
+      firstDifference = size;
+    }
+
+    this.quests = builder.exactQuests.size();
+    this.matchingQuests = matchingQuests;
+    this.firstDifference = firstDifference;
+    this.exactTrainXp = builder.exactTrainXp;
+    this.approximateTrainXp = builder.approximateTrainXp;
+    this.exactMillis = builder.exactMillis;
+    this.approximateMillis = builder.approximateMillis;
+  }
+
+  /**
+   * Returns the number of {@link Quest}s completed by the exact path.
+   *
+   * @return the number of quests
+   */
+  public int getQuests() {
+    return quests;
+  }
+
+  /**
+   * Returns the number of {@link Quest}s completed at the same position by both paths.
+   *
+   * @return the number of matching quests
+   */
+  public int getMatchingQuests() {
+    return matchingQuests;
+  }
+
+  /**
+   * Returns the position of the first {@link Quest} which differs between the paths.
+   *
+   * @return the position of the first difference, or <tt>-1</tt> if the paths are the same
+   */
+  public int getFirstDifference() {
+    return firstDifference;
+  }
+
+  /**
+   * Returns the total xp trained by the exact path.
+   *
+   * @return the total xp trained
+   */
+  public double getExactTrainXp() {
+    return exactTrainXp;
+  }
+
+  /**
+   * Returns the total xp trained by the approximate path.
+   *
+   * @return the total xp trained
+   */
+  public double getApproximateTrainXp() {
+    return approximateTrainXp;
+  }
+
+  /**
+   * Returns the time taken to find the exact path in milliseconds.
+   *
+   * @return the time taken
+   */
+  public long getExactMillis() {
+    return exactMillis;
+  }
+
+  /**
+   * Returns the time taken to find the approximate path in milliseconds.
+   *
+   * @return the time taken
+   */
+  public long getApproximateMillis() {
+    return approximateMillis;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ScoringReport)) {
+      return false;
+    }
+    ScoringReport that = (ScoringReport) o;
+    return quests == that.quests && matchingQuests == that.matchingQuests
+        && firstDifference == that.firstDifference
+        && Double.compare(that.exactTrainXp, exactTrainXp) == 0
+        && Double.compare(that.approximateTrainXp, approximateTrainXp) == 0
+        && exactMillis == that.exactMillis && approximateMillis == that.approximateMillis;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final int hashCode() {
+    return Objects.hash(quests, matchingQuests, firstDifference, exactTrainXp, approximateTrainXp,
+        exactMillis, approximateMillis);
+  }
+
+  public static class Builder {
+
+    private List<Quest> exactQuests = Collections.emptyList();
+    private List<Quest> approximateQuests = Collections.emptyList();
+    private double exactTrainXp;
+    private double approximateTrainXp;
+    private long exactMillis;
+    private long approximateMillis;
+
+    public Builder withExactQuests(List<Quest> exactQuests) {
+      this.exactQuests = exactQuests;
+      return this;
+    }
+
+    public Builder withApproximateQuests(List<Quest> approximateQuests) {
+      this.approximateQuests = approximateQuests;
+      return this;
+    }
+
+    public Builder withExactTrainXp(double exactTrainXp) {
+      this.exactTrainXp = exactTrainXp;
+      return this;
+    }
+
+    public Builder withApproximateTrainXp(double approximateTrainXp) {
+      this.approximateTrainXp = approximateTrainXp;
+      return this;
+    }
+
+    public Builder withExactMillis(long exactMillis) {
+      this.exactMillis = exactMillis;
+      return this;
+    }
+
+    public Builder withApproximateMillis(long approximateMillis) {
+      this.approximateMillis = approximateMillis;
+      return this;
+    }
+
+    public ScoringReport build() {
+      return new ScoringReport(this);
+    }
+  }
+}
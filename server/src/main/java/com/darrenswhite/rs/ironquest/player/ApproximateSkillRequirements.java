@@ -0,0 +1,113 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.Collection;
+
+/**
+ * Precomputed skill levels used to approximate the total remaining {@link SkillRequirement}s of
+ * each {@link Quest}.
+ *
+ * For each quest, the highest level of each {@link Skill} required by the quest or by any quest in
+ * the closure of its {@link QuestRequirement}s is found once. The total remaining skill
+ * requirements are approximated by the sum of those levels which the {@link Player} does not have.
+ * Unlike {@link Quest#getTotalRemainingSkillRequirements(Player, boolean)}, the requirements of
+ * completed quest requirements are still included, so the approximation is only higher when a
+ * completed quest requires levels the player does not have.
+ *
+ * Only requirements which apply to the player are followed. The levels are not modified, so they
+ * are shared between copies of the player.
+ *
+ * @author Darren S. White
+ */
+class ApproximateSkillRequirements {
+
+  private static final Skill[] SKILLS = Skill.values();
+
+  private final QuestCatalog catalog;
+  private final int[][] levels;
+
+  /**
+   * Create new {@link ApproximateSkillRequirements} for the {@link Quest}s of a {@link Player}.
+   *
+   * @param catalog the catalog containing all quests
+   * @param quests the quests of the player
+   * @param player the player
+   */
+  ApproximateSkillRequirements(QuestCatalog catalog, Collection<Quest> quests, Player player) {
+    this.catalog = catalog;
+    this.levels = new int[catalog.size()][];
+
+    for (Quest quest : quests) {
+      getLevels(quest, player);
+    }
+  }
+
+  /**
+   * Returns the approximate total remaining levels required to complete a {@link Quest}.
+   *
+   * @param quest the quest
+   * @param player the player
+   * @return the total remaining levels
+   */
+  int getTotalRemainingSkillRequirements(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+
+    if (index < 0 || levels[index] == null) {
+      return quest.getTotalRemainingSkillRequirements(player, true);
+    }
+
+    int[] questLevels = levels[index];
+    int total = 0;
+
+    for (Skill skill : SKILLS) {
+      int level = questLevels[skill.ordinal()];
+
+      if (level > player.getLevel(skill)) {
+        total += level;
+      }
+    }
+
+    return total;
+  }
+
+  /**
+   * Returns the highest level of each {@link Skill} required by a {@link Quest} and the closure of
+   * its quest requirements, calculating them if needed.
+   */
+  private int[] getLevels(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+
+    if (index >= 0 && levels[index] != null) {
+      return levels[index];
+    }
+
+    int[] questLevels = new int[SKILLS.length];
+
+    for (SkillRequirement skillRequirement : quest.getRequirements().getSkills()) {
+      if (skillRequirement.appliesTo(player)) {
+        int ordinal = skillRequirement.getSkill().ordinal();
+
+        questLevels[ordinal] = Math.max(questLevels[ordinal], skillRequirement.getLevel());
+      }
+    }
+
+    for (QuestRequirement questRequirement : quest.getRequirements().getQuests()) {
+      if (questRequirement.appliesTo(player)) {
+        int[] requiredLevels = getLevels(questRequirement.getQuest(), player);
+
+        for (int ordinal = 0; ordinal < questLevels.length; ordinal++) {
+          questLevels[ordinal] = Math.max(questLevels[ordinal], requiredLevels[ordinal]);
+        }
+      }
+    }
+
+    if (index >= 0) {
+      levels[index] = questLevels;
+    }
+
+    return questLevels;
+  }
+}
@@ -0,0 +1,98 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.CombatRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import java.util.Collection;
+
+/**
+ * The {@link CombatRequirement}s and {@link QuestPointsRequirement}s of {@link Quest}s compiled
+ * into thresholds for a {@link Player}.
+ *
+ * Thresholds are indexed by {@link QuestCatalog} index, and requirements which do not apply to the
+ * player are compiled to a threshold of <tt>0</tt>, so testing a quest is a comparison against the
+ * combat level or quest points of the player. The thresholds are immutable and shared between
+ * copies of a player.
+ *
+ * @author Darren S. White
+ */
+class CompiledRequirements {
+
+  private final QuestCatalog catalog;
+  private final boolean[] compiled;
+  private final int[] combatLevels;
+  private final int[] questPoints;
+
+  /**
+   * Create new {@link CompiledRequirements} for the {@link Quest}s of a {@link Player}.
+   *
+   * @param catalog the catalog containing all quests
+   * @param quests the quests to compile
+   * @param player the player
+   */
+  CompiledRequirements(QuestCatalog catalog, Collection<Quest> quests, Player player) {
+    this.catalog = catalog;
+    this.compiled = new boolean[catalog.size()];
+    this.combatLevels = new int[catalog.size()];
+    this.questPoints = new int[catalog.size()];
+
+    for (Quest quest : quests) {
+      int index = catalog.indexOf(quest);
+      QuestRequirements requirements = quest.getRequirements();
+      CombatRequirement combat = requirements.getCombat();
+      QuestPointsRequirement points = requirements.getQuestPoints();
+
+      compiled[index] = true;
+
+      if (combat != null && combat.appliesTo(player)) {
+        combatLevels[index] = combat.getLevel();
+      }
+
+      if (points != null && points.appliesTo(player)) {
+        questPoints[index] = points.getAmount();
+      }
+    }
+  }
+
+  /**
+   * Test if the {@link Player} meets the {@link CombatRequirement} for a {@link Quest}.
+   *
+   * Quests which are not compiled are tested directly.
+   *
+   * @param quest the quest
+   * @param player the player
+   * @return <tt>true</tt> if the player meets the combat requirement; <tt>false</tt> otherwise
+   * @see Quest#meetsCombatRequirement(Player)
+   */
+  boolean meetsCombatRequirement(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+
+    if (index < 0 || !compiled[index]) {
+      return quest.meetsCombatRequirement(player);
+    }
+
+    return combatLevels[index] == 0 || player.getCombatLevel() >= combatLevels[index];
+  }
+
+  /**
+   * Test if the {@link Player} meets the {@link QuestPointsRequirement} for a {@link Quest}.
+   *
+   * Quests which are not compiled are tested directly.
+   *
+   * @param quest the quest
+   * @param player the player
+   * @return <tt>true</tt> if the player meets the quest point requirement; <tt>false</tt> otherwise
+   * @see Quest#meetsQuestPointRequirement(Player)
+   */
+  boolean meetsQuestPointRequirement(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+
+    if (index < 0 || !compiled[index]) {
+      return quest.meetsQuestPointRequirement(player);
+    }
+
+    return questPoints[index] == 0 || player.getQuestPoints() >= questPoints[index];
+  }
+}
@@ -6,14 +6,21 @@ import com.darrenswhite.rs.ironquest.action.QuestAction;
 import com.darrenswhite.rs.ironquest.action.TrainAction;
 import com.darrenswhite.rs.ironquest.dto.PlayerDTO;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
 import com.darrenswhite.rs.ironquest.quest.RuneMetricsQuest;
+import com.darrenswhite.rs.ironquest.quest.requirement.CombatRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.Requirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
 import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -21,7 +28,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,19 +43,48 @@ public class Player {
   private static final Logger LOG = LogManager.getLogger(Player.class);
 
   private final String name;
-  private final Map<Skill, Double> skillXps;
-  private final Map<Integer, QuestEntry> quests;
+  private final PlayerState state;
   private final Set<Skill> lampSkills;
   private final boolean ironman;
   private final boolean recommended;
+  private final SkillThresholdIndex skillThresholds;
+  private final CompiledRequirements compiledRequirements;
+  private final QuestScoreCache scores;
+  private final SkillRequirementMaxima requirementMaxima;
+  private final RemainingSkillRequirements remainingRequirements;
+  private ApproximateSkillRequirements approximateRequirements;
+  private BooleanSupplier cancelled = () -> false;
+  private RequirementMemo requirementMemo;
 
   Player(Builder builder) {
+    QuestCatalog catalog = builder.catalog != null && builder.catalog.containsAll(builder.quests)
+        ? builder.catalog : new QuestCatalog(builder.quests);
+
     this.name = builder.name;
-    this.skillXps = builder.skillXps;
-    this.quests = createQuestEntries(builder.quests);
     this.lampSkills = builder.lampSkills;
     this.ironman = builder.ironman;
     this.recommended = builder.recommended;
+    this.state = new PlayerState(catalog, builder.quests, builder.skillXps, this);
+    this.skillThresholds = new SkillThresholdIndex(catalog, builder.quests, this);
+    this.compiledRequirements = new CompiledRequirements(catalog, builder.quests, this);
+    this.scores = new QuestScoreCache(catalog, builder.quests);
+    this.requirementMaxima = new SkillRequirementMaxima(catalog, builder.quests, this);
+    this.remainingRequirements = new RemainingSkillRequirements(catalog, builder.quests, this);
+  }
+
+  private Player(Player player, PlayerState state, Set<Skill> lampSkills) {
+    this.name = player.name;
+    this.lampSkills = lampSkills;
+    this.ironman = player.ironman;
+    this.recommended = player.recommended;
+    this.state = state;
+    this.skillThresholds = player.skillThresholds.copy();
+    this.compiledRequirements = player.compiledRequirements;
+    this.scores = player.scores.copy();
+    this.requirementMaxima = player.requirementMaxima.copy();
+    this.remainingRequirements = player.remainingRequirements;
+    this.approximateRequirements = player.approximateRequirements;
+    this.cancelled = player.cancelled;
   }
 
   /**
@@ -66,7 +102,7 @@ public class Player {
    * @return map of skill xp
    */
   public Map<Skill, Double> getSkillXps() {
-    return skillXps;
+    return state.getXps();
   }
 
   /**
@@ -75,7 +111,7 @@ public class Player {
    * @return set of quests
    */
   public Set<Quest> getQuests() {
-    return quests.values().stream().map(QuestEntry::getQuest).collect(Collectors.toSet());
+    return state.getQuests();
   }
 
   /**
@@ -118,8 +154,8 @@ public class Player {
     }
     Player player = (Player) o;
     return ironman == player.ironman && recommended == player.recommended && Objects
-        .equals(name, player.name) && Objects.equals(skillXps, player.skillXps) && Objects
-        .equals(quests, player.quests) && Objects.equals(lampSkills, player.lampSkills);
+        .equals(name, player.name) && Objects.equals(state, player.state) && Objects
+        .equals(lampSkills, player.lampSkills);
   }
 
   /**
@@ -127,7 +163,85 @@ public class Player {
    */
   @Override
   public final int hashCode() {
-    return Objects.hash(name, skillXps, quests, lampSkills, ironman, recommended);
+    return Objects.hash(name, state, lampSkills, ironman, recommended);
+  }
+
+  /**
+   * Returns if quests are scored with approximate remaining skill requirements.
+   *
+   * @return <tt>true</tt> if the scores are approximate; <tt>false</tt> otherwise
+   * @see Player#setApproximateScores(boolean)
+   */
+  public boolean isApproximateScores() {
+    return approximateRequirements != null;
+  }
+
+  /**
+   * Set if quests are scored with approximate remaining skill requirements.
+   *
+   * The highest levels required by each quest and the closure of its quest requirements are
+   * fixed when approximate scores are enabled, and a quest is scored by the sum of those levels
+   * which this player does not have. This avoids merging the requirements of the remaining quest
+   * requirements whenever the score of a quest changes, but the levels of completed quest
+   * requirements are still counted, so the best quest may differ from the exact scores. Copies of
+   * this player use the same levels.
+   *
+   * @param approximateScores <tt>true</tt> to use approximate scores; <tt>false</tt> to use exact
+   * scores
+   * @see ApproximateSkillRequirements
+   */
+  public void setApproximateScores(boolean approximateScores) {
+    if (approximateScores != isApproximateScores()) {
+      approximateRequirements = approximateScores ? new ApproximateSkillRequirements(
+          state.getCatalog(), getQuests(), this) : null;
+      scores.reset();
+    }
+  }
+
+  /**
+   * Set the check used to stop scoring {@link Quest}s early.
+   *
+   * Once the check returns <tt>true</tt>, the remaining quests are skipped when choosing the best
+   * or nearest quest, so the quest returned should not be used. Copies of this player use the same
+   * check.
+   *
+   * @param cancelled the check which returns <tt>true</tt> to stop scoring quests
+   */
+  public void setCancelled(BooleanSupplier cancelled) {
+    this.cancelled = cancelled;
+  }
+
+  /**
+   * Returns a 64-bit fingerprint of the state of this {@link Player}.
+   *
+   * The fingerprint covers the skill levels, the status and priority of each quest, and whether
+   * ironman and recommended requirements and approximate scores are used, along with the preferred
+   * lamp skills in order. Skill xp within a level and the player name are not covered. The
+   * fingerprint is updated as the state changes, so it is found in constant time, and players in
+   * the same state have the same fingerprint regardless of the order the state was reached in.
+   * Different states may still share a fingerprint, although this is very unlikely.
+   *
+   * @return the fingerprint
+   */
+  public long getFingerprint() {
+    long fingerprint = state.getFingerprint();
+    int position = 0;
+
+    if (ironman) {
+      fingerprint ^= PlayerState.key(PlayerState.IRONMAN_KEY, 0, 0);
+    }
+    if (recommended) {
+      fingerprint ^= PlayerState.key(PlayerState.RECOMMENDED_KEY, 0, 0);
+    }
+    if (isApproximateScores()) {
+      fingerprint ^= PlayerState.key(PlayerState.APPROXIMATE_SCORES_KEY, 0, 0);
+    }
+
+    for (Skill skill : lampSkills) {
+      fingerprint ^= PlayerState.key(PlayerState.LAMP_SKILL_KEY, skill.ordinal(), position++);
+    }
+
+    return fingerprint;
   }
 
   /**
@@ -147,19 +261,21 @@ public class Player {
    * @return the new player instance
    */
   public Player copy() {
-    Set<Quest> copiedQuests = quests.values().stream().map(QuestEntry::copy)
-        .map(QuestEntry::getQuest).collect(Collectors.toSet());
-
-    Player copy = new Builder().withName(name).withSkillXps(new EnumMap<>(skillXps))
-        .withQuests(copiedQuests).withLampSkills(new LinkedHashSet<>(lampSkills))
-        .withIronman(ironman).withRecommended(recommended).build();
-
-    for (Map.Entry<Integer, QuestEntry> entry : quests.entrySet()) {
-      copy.quests.get(entry.getKey()).setPriority(entry.getValue().getPriority());
-      copy.quests.get(entry.getKey()).setStatus(entry.getValue().getStatus());
-    }
+    return new Player(this, state.copy(), new LinkedHashSet<>(lampSkills));
+  }
 
-    return copy;
+  /**
+   * Returns a read-only snapshot of this {@link Player}.
+   *
+   * The snapshot shares all unchanged state with this player, so taking a snapshot is cheap and
+   * consecutive snapshots only hold the state which changed between them. Later changes to this
+   * player are not visible in the snapshot.
+   *
+   * @return the snapshot
+   * @throws UnsupportedOperationException if the snapshot is modified
+   */
+  public Player snapshot() {
+    return new Player(this, state.snapshot(), lampSkills);
   }
 
   /**
@@ -168,8 +284,7 @@ public class Player {
    * @return map of skill levels
    */
   public Map<Skill, Integer> getLevels() {
-    return skillXps.entrySet().stream()
-        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getKey().getLevelAt(e.getValue())));
+    return state.getLevels();
   }
 
   /**
@@ -178,7 +293,7 @@ public class Player {
    * @return number of quest points
    */
   public int getQuestPoints() {
-    return getCompletedQuests().stream().mapToInt(q -> q.getRewards().getQuestPoints()).sum();
+    return state.getQuestPoints();
   }
 
   /**
@@ -187,8 +302,7 @@ public class Player {
    * @return set of complete quests
    */
   public Set<Quest> getCompletedQuests() {
-    return quests.values().stream().filter(e -> e.getStatus() == QuestStatus.COMPLETED)
-        .map(QuestEntry::getQuest).collect(Collectors.toSet());
+    return state.getCompletedQuests();
   }
 
   /**
@@ -197,8 +311,20 @@ public class Player {
    * @return set of incomplete quests
    */
   public Set<Quest> getIncompleteQuests() {
-    return quests.values().stream().filter(e -> e.getStatus() != QuestStatus.COMPLETED)
-        .map(QuestEntry::getQuest).collect(Collectors.toSet());
+    return state.getIncompleteQuests();
+  }
+
+  /**
+   * Get all quests which are not completed and have all quest requirements completed.
+   *
+   * The iteration order is the same as {@link Player#getIncompleteQuests()}, so that quests with
+   * equal priority are chosen in the same order by {@link Player#getBestQuest(Collection)}.
+   *
+   * @return set of available quests
+   */
+  public Set<Quest> getAvailableQuests() {
+    return getIncompleteQuests().stream().filter(this::isQuestUnlocked)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
   }
 
   /**
@@ -207,30 +333,19 @@ public class Player {
    * @return total level
    */
   public int getTotalLevel() {
-    return getLevels().values().stream().mapToInt(Integer::intValue).sum();
+    return state.getTotalLevel();
   }
 
   /**
-   * Calculates and returns the combat level.
+   * Returns the combat level.
+   *
+   * The combat level is only recalculated when the level of a combat skill changes.
    *
    * @return combat level
    * @see <a href="https://runescape.fandom.com/wiki/Combat_level">Combat level formula</a>
    */
   public double getCombatLevel() {
-    double attack = getLevel(Skill.ATTACK);
-    double constitution = getLevel(Skill.CONSTITUTION);
-    double defence = getLevel(Skill.DEFENCE);
-    double magic = getLevel(Skill.MAGIC);
-    double prayer = getLevel(Skill.PRAYER);
-    double range = getLevel(Skill.RANGED);
-    double strength = getLevel(Skill.STRENGTH);
-    double summoning = getLevel(Skill.SUMMONING);
-
-    double max = Math.max(attack + strength, Math.max(2 * magic, 2 * range));
-
-    max *= 13d / 10d;
-
-    return (max + defence + constitution + Math.floor(prayer / 2) + Math.floor(summoning / 2)) / 4;
+    return state.getCombatLevel();
   }
 
   /**
@@ -240,7 +355,7 @@ public class Player {
    * @return the skill level
    */
   public int getLevel(Skill s) {
-    return s.getLevelAt(getXp(s));
+    return state.getLevel(s);
   }
 
   /**
@@ -250,7 +365,7 @@ public class Player {
    * @return the skill xp
    */
   public double getXp(Skill s) {
-    return skillXps.get(s);
+    return state.getXp(s);
   }
 
   /**
@@ -260,10 +375,14 @@ public class Player {
    * @param xp the amount of xp
    */
   public void addSkillXP(Skill s, double xp) {
-    double newXp = skillXps.getOrDefault(s, 0d) + xp;
+    double newXp = getXp(s) + xp;
 
     if (newXp >= 0) {
-      skillXps.put(s, newXp);
+      int previousLevel = getLevel(s);
+
+      state.setXp(s, newXp);
+      skillThresholds.update(s, previousLevel, getLevel(s));
+      scores.update(s, previousLevel, getLevel(s));
     }
   }
 
@@ -274,7 +393,129 @@ public class Player {
    * @return <tt>true</tt> if the quest is marked as completed; <tt>false</tt> otherwise.
    */
   public boolean isQuestCompleted(Quest quest) {
-    return quests.get(quest.getId()).getStatus() == QuestStatus.COMPLETED;
+    return state.isCompleted(getQuestIndex(quest.getId()));
+  }
+
+  /**
+   * Returns the {@link Quest}s required by the {@link QuestRequirement}s of a {@link Quest} which
+   * apply to this player, and by their quest requirements recursively.
+   *
+   * The closure is taken from the catalog, unless the quest or a quest it requires is not in the
+   * catalog, in which case the requirements are found recursively.
+   *
+   * @param quest the quest
+   * @return the required quests
+   * @see QuestCatalog#getQuestRequirements(Quest, boolean, boolean)
+   */
+  public Set<Quest> getRequiredQuests(Quest quest) {
+    QuestCatalog catalog = state.getCatalog();
+    BitSet indices = catalog.getQuestRequirements(quest, ironman, recommended);
+
+    if (indices == null) {
+      return quest.getQuestRequirements(true).stream().filter(qr -> qr.appliesTo(this))
+          .map(QuestRequirement::getQuest).collect(Collectors.toSet());
+    }
+
+    return indices.stream().mapToObj(catalog::getQuest).collect(Collectors.toSet());
+  }
+
+  /**
+   * Test if all {@link QuestRequirement}s for a {@link Quest} have been completed.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if all quest requirements are completed; <tt>false</tt> otherwise.
+   */
+  public boolean isQuestUnlocked(Quest quest) {
+    int index = state.indexOf(quest.getId());
+
+    return index >= 0 ? state.isUnlocked(index) : quest.meetsQuestRequirements(this);
+  }
+
+  /**
+   * Test if all {@link SkillRequirement}s for a {@link Quest} are met.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if all skill requirements are met; <tt>false</tt> otherwise.
+   * @see SkillThresholdIndex#meetsSkillRequirements(Quest, Player)
+   */
+  public boolean meetsSkillRequirements(Quest quest) {
+    return skillThresholds.meetsSkillRequirements(quest, this);
+  }
+
+  /**
+   * Test if the {@link CombatRequirement} for a {@link Quest} is met.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if the combat requirement is met; <tt>false</tt> otherwise.
+   * @see CompiledRequirements#meetsCombatRequirement(Quest, Player)
+   */
+  public boolean meetsCombatRequirement(Quest quest) {
+    return compiledRequirements.meetsCombatRequirement(quest, this);
+  }
+
+  /**
+   * Test if the {@link QuestPointsRequirement} for a {@link Quest} is met.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if the quest point requirement is met; <tt>false</tt> otherwise.
+   * @see CompiledRequirements#meetsQuestPointRequirement(Quest, Player)
+   */
+  public boolean meetsQuestPointRequirement(Quest quest) {
+    return compiledRequirements.meetsQuestPointRequirement(quest, this);
+  }
+
+  /**
+   * Test if all {@link Requirement}s for a {@link Quest} are met.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if all requirements are met; <tt>false</tt> otherwise.
+   * @see Quest#meetsAllRequirements(Player)
+   */
+  public boolean meetsAllRequirements(Quest quest) {
+    return meetsCombatRequirement(quest) && meetsQuestPointRequirement(quest) && isQuestUnlocked(
+        quest) && meetsSkillRequirements(quest);
+  }
+
+  /**
+   * Test if this {@link Player} meets a {@link Requirement}.
+   *
+   * The results for requirements of the quests in the catalog are kept in a bitset by requirement
+   * id until a level changes or a quest is completed or no longer completed, so requirements shared
+   * by many quests are only tested once for each state. Copies of this player start without any
+   * results.
+   *
+   * @param requirement the requirement
+   * @return <tt>true</tt> if the requirement is met; <tt>false</tt> otherwise
+   * @see Requirement#test(Player)
+   * @see QuestCatalog#getRequirementId(Requirement)
+   */
+  public boolean meetsRequirement(Requirement requirement) {
+    QuestCatalog catalog = state.getCatalog();
+    int id = catalog.getRequirementId(requirement);
+
+    if (id < 0) {
+      return requirement.test(this);
+    }
+
+    RequirementMemo memo = requirementMemo;
+
+    if (memo == null || memo.getEpoch() != state.getEpoch()) {
+      memo = requirementMemo = new RequirementMemo(catalog.getRequirementCount(),
+          state.getEpoch());
+    }
+
+    return memo.test(requirement, id, this);
+  }
+
+  /**
+   * Test if the requirements to use a {@link LampReward} are met.
+   *
+   * @param lampReward the lamp reward
+   * @return <tt>true</tt> if the lamp requirements are met; <tt>false</tt> otherwise.
+   * @see SkillThresholdIndex#meetsRequirements(LampReward, Player)
+   */
+  public boolean meetsLampRequirements(LampReward lampReward) {
+    return skillThresholds.meetsRequirements(lampReward, this);
   }
 
   /**
@@ -284,27 +525,65 @@ public class Player {
    * @return actions to be processed upon quest completion
    * @throws QuestAlreadyCompletedException when the quest is already completed
    * @throws MissingQuestRequirementsException when there are unmet requirements for the quest
+   * @see Player#completeQuest(Quest, boolean)
    */
   public List<Action> completeQuest(Quest quest) {
+    return completeQuest(quest, true);
+  }
+
+  /**
+   * Complete the specified quest and create a list of {@link Action}s to be processed.
+   *
+   * @param quest the quest entry to mark as completed
+   * @param snapshots <tt>true</tt> if the actions should hold a snapshot of this player;
+   * <tt>false</tt> otherwise
+   * @return actions to be processed upon quest completion
+   * @throws QuestAlreadyCompletedException when the quest is already completed
+   * @throws MissingQuestRequirementsException when there are unmet requirements for the quest
+   * @see Player#completeQuest(Quest, boolean, Map)
+   */
+  public List<Action> completeQuest(Quest quest, boolean snapshots) {
+    return completeQuest(quest, snapshots, Collections.emptyMap());
+  }
+
+  /**
+   * Complete the specified quest and create a list of {@link Action}s to be processed.
+   *
+   * The lamp rewards of the quest are used on the given skills where they are an available
+   * choice; otherwise the best skills are used.
+   *
+   * @param quest the quest entry to mark as completed
+   * @param snapshots <tt>true</tt> if the actions should hold a snapshot of this player;
+   * <tt>false</tt> otherwise
+   * @param lampSkills the skills to use for each lamp reward of the quest, keyed by lamp
+   * instance
+   * @return actions to be processed upon quest completion
+   * @throws QuestAlreadyCompletedException when the quest is already completed
+   * @throws MissingQuestRequirementsException when there are unmet requirements for the quest
+   * @see Player#createLampAction(Quest, LampReward, Set, boolean)
+   */
+  public List<Action> completeQuest(Quest quest, boolean snapshots,
+      Map<LampReward, Set<Skill>> lampSkills) {
     List<Action> actions = new LinkedList<>();
 
     if (isQuestCompleted(quest)) {
       throw new QuestAlreadyCompletedException(
           "Quest already completed: " + quest.getDisplayName() + " (" + quest.getId() + ")");
-    } else if (!quest.meetsCombatRequirement(this) || !quest.meetsQuestPointRequirement(this)
-        || !quest.meetsQuestRequirements(this)) {
+    } else if (!meetsCombatRequirement(quest) || !meetsQuestPointRequirement(quest)
+        || !isQuestUnlocked(quest)) {
       throw new MissingQuestRequirementsException(
           "Missing requirements for quest: " + quest.getId());
-    } else if (!quest.meetsSkillRequirements(this)) {
+    } else if (!meetsSkillRequirements(quest)) {
       for (SkillRequirement sr : quest.getRemainingSkillRequirements(this, false)) {
-        actions.add(createTrainAction(sr));
+        actions.add(createTrainAction(sr, snapshots));
       }
     }
 
-    actions.add(new QuestAction(this, quest));
+    actions.add(new QuestAction(this, quest, snapshots));
 
     for (LampReward lampReward : quest.getRewards().getLamps()) {
-      LampAction lampAction = createLampAction(quest, lampReward);
+      LampAction lampAction = createLampAction(quest, lampReward, lampSkills.get(lampReward),
+          snapshots);
 
       actions.add(lampAction);
     }
@@ -345,11 +624,9 @@ public class Player {
    * @return The best {@link Quest} to be completed or null.
    */
   public Quest getBestQuest(Collection<Quest> quests) {
-    return quests.stream().filter(
-        quest -> quest.meetsCombatRequirement(this) && quest.meetsQuestPointRequirement(this)
-            && quest.meetsQuestRequirements(this)).reduce((first, second) -> {
-      boolean firstSkillRequirements = first.meetsSkillRequirements(this);
-      boolean secondSkillRequirements = second.meetsSkillRequirements(this);
+    return quests.stream().filter(this::isCandidate).reduce((first, second) -> {
+      boolean firstSkillRequirements = meetsSkillRequirements(first);
+      boolean secondSkillRequirements = meetsSkillRequirements(second);
 
       if (firstSkillRequirements && secondSkillRequirements) {
         return compareQuestByPriority(first, second);
@@ -363,35 +640,200 @@ public class Player {
     }).orElse(null);
   }
 
+  /**
+   * Gets the 'best' {@link Quest} from the given {@link Collection} of {@link Quest}s, optionally
+   * scoring the quests in parallel.
+   *
+   * When parallel, each quest is scored concurrently in the common {@link
+   * java.util.concurrent.ForkJoinPool} without modifying this {@link Player}, and the best quest is
+   * the least {@link QuestScore}. Unlike {@link Player#getBestQuest(Collection)}, ties are broken by
+   * the lowest quest id, so the best quest does not depend on the iteration order of the quests.
+   * The scores are cached afterwards.
+   *
+   * @param quests the collection of quests to search
+   * @param parallel <tt>true</tt> to score the quests in parallel; <tt>false</tt> otherwise
+   * @return The best {@link Quest} to be completed or null.
+   * @see Player#getBestQuest(Collection)
+   */
+  public Quest getBestQuest(Collection<Quest> quests, boolean parallel) {
+    if (!parallel) {
+      return getBestQuest(quests);
+    }
+
+    return scoreQuests(quests).stream().min(Comparator.naturalOrder()).map(QuestScore::getQuest)
+        .orElse(null);
+  }
+
+  /**
+   * Gets the 'nearest' {@link Quest} from the given {@link Collection} of {@link Quest}s without
+   * calculating the rewards of each quest.
+   *
+   * This is a cheaper alternative to {@link Player#getBestQuest(Collection)}. Quests where this
+   * {@link Player} meets all {@link SkillRequirement}s are preferred, then the highest {@link
+   * QuestPriority}, then the lowest total remaining {@link SkillRequirement}s of the quest itself.
+   * The requirements of its quest requirements are not included, as these are already completed.
+   * If these are the same, then the first quest is returned.
+   *
+   * @param quests the collection of quests to search
+   * @return The nearest {@link Quest} to be completed or null.
+   */
+  public Quest getNearestQuest(Collection<Quest> quests) {
+    return quests.stream().filter(this::isCandidate).min(Comparator
+        .comparing((Quest quest) -> !meetsSkillRequirements(quest))
+        .thenComparing(this::getQuestPriority)
+        .thenComparingInt(quest -> quest.getTotalRemainingSkillRequirements(this, false)))
+        .orElse(null);
+  }
+
+  /**
+   * Gets up to <tt>limit</tt> of the 'best' {@link Quest}s from the given {@link Collection} of
+   * {@link Quest}s, scoring the quests in parallel.
+   *
+   * The quests are returned in the same order used to choose the best quest by {@link
+   * Player#getBestQuest(Collection, boolean)}.
+   *
+   * @param quests the collection of quests to search
+   * @param limit the maximum number of quests to return
+   * @return the best quests, best first
+   */
+  public List<Quest> getBestQuests(Collection<Quest> quests, int limit) {
+    return scoreQuests(quests).stream().sorted().limit(limit).map(QuestScore::getQuest)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Gets the {@link Quest}s from the given {@link Collection} of {@link Quest}s which could be
+   * completed instead of the best quest, scoring the quests in parallel.
+   *
+   * Each alternative quest is mapped to the difference between its score and the score of the best
+   * quest, so that nearly tied quests have the least difference. Quests which are only ordered
+   * after the best quest by meeting fewer skill requirements or by {@link QuestPriority} are not
+   * alternatives.
+   *
+   * @param quests the collection of quests to search
+   * @param bestQuest the best quest
+   * @return the differences in score of the alternative quests, least first
+   * @see Player#getBestQuests(Collection, int)
+   */
+  public Map<Quest, Double> getAlternativeQuests(Collection<Quest> quests, Quest bestQuest) {
+    List<QuestScore> questScores = scoreQuests(quests);
+    QuestScore best = questScores.stream().filter(score -> score.getQuest().equals(bestQuest))
+        .findAny().orElse(null);
+
+    if (best == null) {
+      return Collections.emptyMap();
+    }
+
+    return questScores.stream().filter(score -> score != best)
+        .filter(score -> !Double.isNaN(score.getDifference(best)))
+        .sorted(Comparator.comparingDouble((QuestScore score) -> score.getDifference(best))
+            .thenComparing(Comparator.naturalOrder())).collect(Collectors
+            .toMap(QuestScore::getQuest, score -> score.getDifference(best),
+                (first, second) -> first, LinkedHashMap::new));
+  }
+
+  /**
+   * Score each {@link Quest} which can be started by this player in parallel.
+   *
+   * Each quest is scored without modifying this player, and the scores are cached afterwards.
+   *
+   * @param quests the quests to score
+   * @return the scores
+   */
+  private List<QuestScore> scoreQuests(Collection<Quest> quests) {
+    List<QuestScore> questScores = quests.parallelStream().filter(this::isCandidate)
+        .map(this::createQuestScore).collect(Collectors.toList());
+
+    questScores.forEach(
+        score -> scores.store(score.getQuest(), score.getRequirements(), score.getRewards()));
+
+    return questScores;
+  }
+
+  /**
+   * Test if a {@link Quest} can be chosen as the best or nearest quest, i.e. it is unlocked and its
+   * combat and quest point requirements are met, unless scoring has been cancelled.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if the quest can be chosen; <tt>false</tt> otherwise
+   * @see Player#setCancelled(BooleanSupplier)
+   */
+  private boolean isCandidate(Quest quest) {
+    return !cancelled.getAsBoolean() && isQuestUnlocked(quest) && meetsCombatRequirement(quest)
+        && meetsQuestPointRequirement(quest);
+  }
+
   /**
    * Creates a {@link LampAction} to be processed for the specified {@link Quest} and {@link
    * LampReward}.
    *
    * If this {@link Player} does meet the lamp requirements, then a {@link Set} of "best" {@link
-   * Skill}s to used for the new action. This set of "best" skills is added to {@link
-   * QuestEntry#getPreviousLampSkills()}.
+   * Skill}s to used for the new action. This set of "best" skills is added to the previous lamp
+   * skills for the quest.
    *
    * If this {@link Player} does not meet the lamp requirements, then the lamp can be processed in
    * the future when requirements have been met.
    *
    * @return the lamp action
-   * @see Player#getBestLampSkills(LampReward, Set)
-   * @see QuestEntry#getPreviousLampSkills()
+   * @see Player#createLampAction(Quest, LampReward, boolean)
    */
   public LampAction createLampAction(Quest quest, LampReward lampReward) {
+    return createLampAction(quest, lampReward, true);
+  }
+
+  /**
+   * Creates a {@link LampAction} to be processed for the specified {@link Quest} and {@link
+   * LampReward}.
+   *
+   * @param snapshot <tt>true</tt> if the action should hold a snapshot of this player;
+   * <tt>false</tt> otherwise
+   * @return the lamp action
+   * @see Player#createLampAction(Quest, LampReward, Set, boolean)
+   */
+  public LampAction createLampAction(Quest quest, LampReward lampReward, boolean snapshot) {
+    return createLampAction(quest, lampReward, null, snapshot);
+  }
+
+  /**
+   * Returns the {@link Skill} choices already used for the {@link LampReward}s of a {@link Quest},
+   * which exclusive lamps from the same quest may not use again.
+   *
+   * @param quest the quest
+   * @return the previous lamp skills
+   * @throws QuestNotFoundException if the quest does not belong to this player
+   */
+  public Set<Set<Skill>> getPreviousLampSkills(Quest quest) {
+    return Collections
+        .unmodifiableSet(state.getPreviousLampSkills(getQuestIndex(quest.getId())));
+  }
+
+  /**
+   * Creates a {@link LampAction} to be processed for the specified {@link Quest} and {@link
+   * LampReward}, using the given {@link Skill}s if they are an available choice.
+   *
+   * @param skills the skills to use the lamp on, or <tt>null</tt> to use the best skills
+   * @param snapshot <tt>true</tt> if the action should hold a snapshot of this player;
+   * <tt>false</tt> otherwise
+   * @return the lamp action
+   * @see Player#getBestLampSkills(LampReward, Set)
+   */
+  public LampAction createLampAction(Quest quest, LampReward lampReward, Set<Skill> skills,
+      boolean snapshot) {
     Set<Skill> bestSkills = new HashSet<>();
     boolean future = true;
 
-    if (lampReward.meetsRequirements(this)) {
-      Set<Set<Skill>> previous = getQuestEntry(quest).getPreviousLampSkills();
+    if (meetsLampRequirements(lampReward)) {
+      Set<Set<Skill>> previous = state
+          .getPreviousLampSkills(getQuestIndex(quest.getId()));
 
-      bestSkills = getBestLampSkills(lampReward, previous);
+      bestSkills = skills != null && lampReward.getChoices(this, previous).contains(skills) ? skills
+          : getBestLampSkills(lampReward, previous);
       future = false;
 
       previous.add(bestSkills);
     }
 
-    return new LampAction(this, future, quest, lampReward, bestSkills);
+    return new LampAction(this, future, quest, lampReward, bestSkills, snapshot);
   }
 
   /**
@@ -410,10 +852,10 @@ public class Player {
    *
    * @param questId the id of quest
    * @param priority the priority
-   * @see QuestEntry#setPriority(QuestPriority)
+   * @throws QuestNotFoundException if the quest does not belong to this player
    */
   public void setQuestPriority(int questId, QuestPriority priority) {
-    quests.get(questId).setPriority(priority);
+    state.setPriority(getQuestIndex(questId), priority);
   }
 
   /**
@@ -432,10 +874,10 @@ public class Player {
    *
    * @param questId the id of quest
    * @return the priority
-   * @see QuestEntry#getPriority()
+   * @throws QuestNotFoundException if the quest does not belong to this player
    */
   public QuestPriority getQuestPriority(int questId) {
-    return quests.get(questId).getPriority();
+    return state.getPriority(getQuestIndex(questId));
   }
 
   /**
@@ -454,10 +896,18 @@ public class Player {
    *
    * @param questId the id of quest
    * @param status the status
-   * @see QuestEntry#setStatus(QuestStatus)
+   * @throws QuestNotFoundException if the quest does not belong to this player
    */
   public void setQuestStatus(int questId, QuestStatus status) {
-    quests.get(questId).setStatus(status);
+    int index = getQuestIndex(questId);
+    boolean completed = state.isCompleted(index);
+
+    state.setStatus(index, status);
+    scores.update(index);
+
+    if (completed != state.isCompleted(index)) {
+      requirementMaxima.update(index, !completed);
+    }
   }
 
   /**
@@ -476,10 +926,10 @@ public class Player {
    *
    * @param questId the id of quest
    * @return the status
-   * @see QuestEntry#getStatus()
+   * @throws QuestNotFoundException if the quest does not belong to this player
    */
   public QuestStatus getQuestStatus(int questId) {
-    return quests.get(questId).getStatus();
+    return state.getStatus(getQuestIndex(questId));
   }
 
   /**
@@ -537,14 +987,16 @@ public class Player {
    * Creates a {@link TrainAction} to be processed for the specified {@link SkillRequirement}.
    *
    * @param skillRequirement the skill requirement
+   * @param snapshot <tt>true</tt> if the action should hold a snapshot of this player;
+   * <tt>false</tt> otherwise
    * @return the train action
    */
-  private TrainAction createTrainAction(SkillRequirement skillRequirement) {
+  private TrainAction createTrainAction(SkillRequirement skillRequirement, boolean snapshot) {
     Skill skill = skillRequirement.getSkill();
     double currentXp = getXp(skill);
     double requirementXp = skill.getXpAtLevel(skillRequirement.getLevel());
 
-    return new TrainAction(this, skill, currentXp, requirementXp);
+    return new TrainAction(this, skill, currentXp, requirementXp, snapshot);
   }
 
   /**
@@ -563,8 +1015,8 @@ public class Player {
    * @see Player#getQuestPriority(Quest)
    */
   private Quest compareQuestByPriority(Quest first, Quest second) {
-    QuestPriority firstPriority = getQuestEntry(first).getPriority();
-    QuestPriority secondPriority = getQuestEntry(second).getPriority();
+    QuestPriority firstPriority = getQuestPriority(first);
+    QuestPriority secondPriority = getQuestPriority(second);
     int priorityComparison = firstPriority.compareTo(secondPriority);
 
     if (priorityComparison != 0) {
@@ -586,14 +1038,48 @@ public class Player {
    *
    * @param quest the quest to get priority of
    * @return the priority
+   * @see QuestScoreCache
    */
   private double getCalculatedQuestPriority(Quest quest) {
-    int requirements = quest.getTotalRemainingSkillRequirements(this, true);
+    int requirements = scores.getTotalRemainingSkillRequirements(quest, this);
     double rewards = getTotalQuestRewards(quest) / 100;
 
     return rewards - requirements;
   }
 
+  /**
+   * Create a {@link QuestScore} for the specified {@link Quest} without modifying this player.
+   *
+   * The rewards are only calculated if this player meets the skill requirements of the quest.
+   *
+   * @param quest the quest to score
+   * @return the score
+   */
+  private QuestScore createQuestScore(Quest quest) {
+    boolean meetsSkillRequirements = meetsSkillRequirements(quest);
+    int requirements = scores.peekTotalRemainingSkillRequirements(quest, this);
+    double rewards = meetsSkillRequirements ? scores.peekTotalQuestRewards(quest,
+        q -> getQuestRewards(q).values().stream().mapToDouble(Double::doubleValue).sum())
+        : Double.NaN;
+
+    return new QuestScore(quest, meetsSkillRequirements, getQuestPriority(quest), requirements,
+        rewards);
+  }
+
+  /**
+   * Calculate the total remaining levels required to complete a {@link Quest} and all of its
+   * quest requirements, approximately if enabled.
+   *
+   * @param quest the quest
+   * @return the total remaining levels
+   * @see Player#setApproximateScores(boolean)
+   */
+  int calculateTotalRemainingSkillRequirements(Quest quest) {
+    return approximateRequirements != null ? approximateRequirements
+        .getTotalRemainingSkillRequirements(quest, this)
+        : remainingRequirements.getTotalRemainingSkillRequirements(quest, this, state);
+  }
+
   /**
    * Compare two {@link Quest}s by remaining {@link SkillRequirement}s.
    *
@@ -604,8 +1090,8 @@ public class Player {
    * @return the higher priority quest, or the second entry if they have the same requirements
    */
   private Quest compareQuestBySkillRequirements(Quest first, Quest second) {
-    return first.getTotalRemainingSkillRequirements(this, true) > second
-        .getTotalRemainingSkillRequirements(this, true) ? second : first;
+    return scores.getTotalRemainingSkillRequirements(first, this) > scores
+        .getTotalRemainingSkillRequirements(second, this) ? second : first;
   }
 
   /**
@@ -615,7 +1101,8 @@ public class Player {
    * @return the total rewards
    */
   public double getTotalQuestRewards(Quest quest) {
-    return getQuestRewards(quest).values().stream().mapToDouble(Double::doubleValue).sum();
+    return scores.getTotalQuestRewards(quest,
+        q -> getQuestRewards(q).values().stream().mapToDouble(Double::doubleValue).sum());
   }
 
   /**
@@ -630,7 +1117,7 @@ public class Player {
 
     rewards.putAll(quest.getRewards().getXp());
 
-    quest.getRewards().getLamps().stream().filter(l -> l.meetsRequirements(this))
+    quest.getRewards().getLamps().stream().filter(this::meetsLampRequirements)
         .forEach(lampReward -> {
           Set<Skill> skills = getBestLampSkills(lampReward, previousLampSkills);
           double xp = lampReward.getXpForSkills(this, skills);
@@ -648,36 +1135,20 @@ public class Player {
    * If the skill has no requirements left then it will not be present in the returned map.
    *
    * @return xp required for each skill
+   * @see SkillRequirementMaxima
    */
   private Map<Skill, Double> getRemainingXpRequirements() {
     Map<Skill, Double> remaining = new EnumMap<>(Skill.class);
-    Set<SkillRequirement> maxRequirements = getRemainingSkillRequirements();
 
-    maxRequirements.forEach(r -> {
-      Skill s = r.getSkill();
-      int lvl = r.getLevel();
+    for (Skill skill : Skill.values()) {
+      int level = requirementMaxima.getMaxLevel(skill);
 
-      remaining.put(s, s.getXpAtLevel(lvl) - getXp(s));
-    });
-
-    return remaining;
-  }
-
-  /**
-   * Returns the highest {@link SkillRequirement}s required to complete all remaining quests.
-   *
-   * @return the maximum skill requirements for all quests
-   * @see SkillRequirement#merge(Collection, Collection)
-   */
-  private Set<SkillRequirement> getRemainingSkillRequirements() {
-    Set<SkillRequirement> requirements = new HashSet<>();
-
-    for (Quest entry : getIncompleteQuests()) {
-      requirements = SkillRequirement
-          .merge(requirements, entry.getRemainingSkillRequirements(this, false));
+      if (level > getLevel(skill)) {
+        remaining.put(skill, skill.getXpAtLevel(level) - getXp(skill));
+      }
     }
 
-    return requirements;
+    return remaining;
   }
 
   /**
@@ -686,7 +1157,9 @@ public class Player {
    * @param hiscoreService the hiscore service to retrieve data from
    */
   private void loadHiscores(HiscoreService hiscoreService) {
-    skillXps.putAll(hiscoreService.load(name));
+    hiscoreService.load(name).forEach(state::setXp);
+    skillThresholds.reset(this);
+    scores.reset();
   }
 
   /**
@@ -699,11 +1172,11 @@ public class Player {
 
     for (RuneMetricsQuest rmq : rmQuests) {
       String title = rmq.getTitle();
-      Optional<QuestEntry> entry = quests.values().stream().filter(
-          e -> e.getQuest().getTitle().equalsIgnoreCase(title) || e.getQuest().getDisplayName()
-              .equalsIgnoreCase(title)).findAny();
+      Optional<Quest> quest = getQuests().stream().filter(
+          q -> q.getTitle().equalsIgnoreCase(title) || q.getDisplayName().equalsIgnoreCase(title))
+          .findAny();
 
-      if (entry.isPresent()) {
+      if (quest.isPresent()) {
         QuestStatus status;
         switch (rmq.getStatus()) {
           case COMPLETED:
@@ -718,7 +1191,7 @@ public class Player {
             break;
         }
 
-        entry.get().setStatus(status);
+        setQuestStatus(quest.get(), status);
       } else {
         LOG.warn("Failed to find RuneMetricsQuest: {}", title);
       }
@@ -726,26 +1199,20 @@ public class Player {
   }
 
   /**
-   * Create a {@link Map} of {@link QuestEntry}s for the given {@link Quest}s.
-   *
-   * The key is the {@link Quest} id and the value is the {@link QuestEntry}.
+   * Returns the {@link QuestCatalog} index for the specified {@link Quest} id.
    *
-   * @param quests the quests to create entries for
-   * @return map of quest entries
+   * @param questId the id of quest
+   * @return the quest index
+   * @throws QuestNotFoundException if the quest does not belong to this player
    */
-  private Map<Integer, QuestEntry> createQuestEntries(Set<Quest> quests) {
-    return quests.stream().map(QuestEntry::new)
-        .collect(Collectors.toMap(entry -> entry.getQuest().getId(), Function.identity()));
-  }
+  private int getQuestIndex(int questId) {
+    int index = state.indexOf(questId);
 
-  /**
-   * Returns the {@link QuestEntry} for the specified {@link Quest}.
-   *
-   * @param quest the quest to find the entry for
-   * @return the quest entry or <tt>null</tt> if not found
-   */
-  private QuestEntry getQuestEntry(Quest quest) {
-    return quests.get(quest.getId());
+    if (index < 0) {
+      throw new QuestNotFoundException("Quest not found: " + questId);
+    }
+
+    return index;
   }
 
   public static class Builder {
@@ -753,6 +1220,7 @@ public class Player {
     private String name;
     private Map<Skill, Double> skillXps = new EnumMap<>(Skill.INITIAL_XPS);
     private Set<Quest> quests = new HashSet<>();
+    private QuestCatalog catalog;
     private Set<Skill> lampSkills = new LinkedHashSet<>();
     private boolean ironman = false;
     private boolean recommended = false;
@@ -772,6 +1240,11 @@ public class Player {
       return this;
     }
 
+    public Builder withCatalog(QuestCatalog catalog) {
+      this.catalog = catalog;
+      return this;
+    }
+
     public Builder withLampSkills(Set<Skill> lampSkills) {
       this.lampSkills = lampSkills;
       return this;
@@ -2,8 +2,10 @@ package com.darrenswhite.rs.ironquest.player;
 
 import com.darrenswhite.rs.ironquest.quest.Quest;
 import com.darrenswhite.rs.ironquest.quest.QuestAccessFilter;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
 import com.darrenswhite.rs.ironquest.quest.QuestRepository;
 import com.darrenswhite.rs.ironquest.quest.QuestTypeFilter;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -59,7 +61,8 @@ public class PlayerService {
 
     Set<Quest> filteredQuests = getFilteredQuests(accessFilter, typeFilter);
     Player player = new Player.Builder().withName(name).withIronman(ironman)
-        .withRecommended(recommended).withLampSkills(lampSkills).withQuests(filteredQuests).build();
+        .withRecommended(recommended).withLampSkills(lampSkills).withQuests(filteredQuests)
+        .withCatalog(questRepository.getCatalog()).build();
 
     for (Entry<Integer, QuestPriority> entry : questPriorities.entrySet()) {
       player.setQuestPriority(entry.getKey(), entry.getValue());
@@ -81,7 +84,7 @@ public class PlayerService {
   private Set<Quest> getFilteredQuests(QuestAccessFilter accessFilter, QuestTypeFilter typeFilter) {
     Predicate<Quest> accessAndTypeFilter = questMatchesAccessFilter(accessFilter)
         .and(questMatchesTypeFilter(typeFilter));
-    Set<Integer> questRequirements = getQuestRequirements(accessAndTypeFilter);
+    BitSet questRequirements = getQuestRequirements(accessAndTypeFilter);
 
     return questRepository.getQuests().stream()
         .filter(accessAndTypeFilter.or(questIsRequirement(questRequirements)))
@@ -145,25 +148,33 @@ public class PlayerService {
 
   /**
    * Returns a {@link Predicate} used to test if a {@link Quest} is a required quest specified by
-   * the {@link Set} of ids.
+   * the {@link BitSet} of quest indices.
    *
-   * @param questRequirements the ids of quests required
+   * @param questRequirements the catalog indices of quests required
    * @return predicate to test if a quest is required for another quest
+   * @see QuestCatalog#indexOf(Quest)
    */
-  private Predicate<Quest> questIsRequirement(Set<Integer> questRequirements) {
-    return quest -> questRequirements.contains(quest.getId());
+  private Predicate<Quest> questIsRequirement(BitSet questRequirements) {
+    QuestCatalog catalog = questRepository.getCatalog();
+
+    return quest -> questRequirements.get(catalog.indexOf(quest));
   }
 
   /**
-   * Returns a {@link Set} of {@link Quest} ids of all quest requirements, excluding filtered
+   * Returns a {@link BitSet} of the catalog indices of all quest requirements of the filtered
    * quests.
    *
    * @param questFilter predicate to filter quests
-   * @return set of quest ids
+   * @return bitset of quest indices
+   * @see QuestCatalog#addQuestRequirements(Quest, BitSet)
    */
-  private Set<Integer> getQuestRequirements(Predicate<Quest> questFilter) {
-    return questRepository.getQuests().stream().filter(questFilter)
-        .flatMap(quest -> quest.getQuestRequirements(true).stream())
-        .map(qr -> qr.getQuest().getId()).collect(Collectors.toSet());
+  private BitSet getQuestRequirements(Predicate<Quest> questFilter) {
+    QuestCatalog catalog = questRepository.getCatalog();
+    BitSet questRequirements = new BitSet(catalog.size());
+
+    questRepository.getQuests().stream().filter(questFilter)
+        .forEach(quest -> catalog.addQuestRequirements(quest, questRequirements));
+
+    return questRequirements;
   }
 }
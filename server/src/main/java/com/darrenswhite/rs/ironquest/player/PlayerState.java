@@ -0,0 +1,605 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.util.Fingerprints;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The skill and quest state of a {@link Player}, stored in primitive arrays.
+ *
+ * Skill xp and levels are indexed by {@link Skill#ordinal()}. Levels are cached and only
+ * recalculated when the xp for a skill changes. Quest completion, status and priority are indexed by
+ * {@link QuestCatalog} index, with completion also held as a bitset.
+ *
+ * The quests of the player, and the quests which depend on each quest, are shared between copies of
+ * the state. Copies and snapshots also share the skill, quest progress and priority arrays until
+ * either side modifies them, so consecutive snapshots only hold the arrays which changed between
+ * them.
+ *
+ * A 64-bit fingerprint of the levels, quest statuses and quest priorities is kept up to date as
+ * they change. Each skill level, quest status and quest priority has a pseudo-random key, and the
+ * fingerprint is the XOR of the current keys. Equal states have equal fingerprints, however they
+ * were reached.
+ *
+ * The total level, combat level and quest points are also kept up to date, so they are only
+ * recalculated when a level or the completion of a quest changes.
+ *
+ * @author Darren S. White
+ */
+class PlayerState {
+
+  private static final Skill[] SKILLS = Skill.values();
+  private static final QuestStatus[] STATUSES = QuestStatus.values();
+  private static final QuestPriority[] PRIORITIES = QuestPriority.values();
+  private static final Set<Skill> COMBAT_LEVEL_SKILLS = EnumSet
+      .of(Skill.ATTACK, Skill.CONSTITUTION, Skill.DEFENCE, Skill.MAGIC, Skill.PRAYER, Skill.RANGED,
+          Skill.STRENGTH, Skill.SUMMONING);
+  static final int LEVEL_KEY = 0;
+  static final int STATUS_KEY = 1;
+  static final int PRIORITY_KEY = 2;
+  static final int IRONMAN_KEY = 3;
+  static final int RECOMMENDED_KEY = 4;
+  static final int LAMP_SKILL_KEY = 5;
+  static final int APPROXIMATE_SCORES_KEY = 6;
+
+  private final QuestCatalog catalog;
+  private final int[] order;
+  private final long[] members;
+  private final int[][] dependents;
+  private final Map<Integer, Set<Set<Skill>>> previousLampSkills = new HashMap<>();
+  private final boolean readOnly;
+  private double[] xps;
+  private int[] levels;
+  private long[] completed;
+  private byte[] statuses;
+  private int[] unmetQuestRequirements;
+  private byte[] priorities;
+  private boolean sharedSkills;
+  private boolean sharedQuests;
+  private boolean sharedPriorities;
+  private long fingerprint;
+  private int totalLevel;
+  private double combatLevel;
+  private int questPoints;
+  private long epoch = 1;
+
+  /**
+   * Create a new {@link PlayerState} for the {@link Quest}s and skill xp of a {@link Player}.
+   *
+   * Only {@link QuestRequirement}s which apply to the player are used to link dependent quests.
+   *
+   * @param catalog the catalog containing all quests
+   * @param quests the quests of the player
+   * @param skillXps the xp for each skill, missing skills have no xp
+   * @param player the player
+   */
+  PlayerState(QuestCatalog catalog, Set<Quest> quests, Map<Skill, Double> skillXps,
+      Player player) {
+    int size = catalog.size();
+
+    this.catalog = catalog;
+    this.order = createOrder(catalog, quests);
+    this.members = new long[words(size)];
+    this.xps = new double[SKILLS.length];
+    this.levels = new int[SKILLS.length];
+    this.completed = new long[words(size)];
+    this.statuses = new byte[size];
+    this.priorities = new byte[size];
+    this.unmetQuestRequirements = new int[size];
+    this.readOnly = false;
+
+    for (int index : order) {
+      members[index >> 6] |= 1L << index;
+    }
+
+    for (Map.Entry<Skill, Double> entry : skillXps.entrySet()) {
+      xps[entry.getKey().ordinal()] = entry.getValue();
+    }
+
+    for (Skill skill : SKILLS) {
+      levels[skill.ordinal()] = skill.getLevelAt(xps[skill.ordinal()]);
+      fingerprint ^= key(LEVEL_KEY, skill.ordinal(), levels[skill.ordinal()]);
+      totalLevel += levels[skill.ordinal()];
+    }
+
+    this.combatLevel = calculateCombatLevel(levels);
+
+    Arrays.fill(statuses, (byte) QuestStatus.NOT_STARTED.ordinal());
+    Arrays.fill(priorities, (byte) QuestPriority.NORMAL.ordinal());
+
+    for (int index : order) {
+      int questId = catalog.getQuest(index).getId();
+
+      fingerprint ^= key(STATUS_KEY, questId, QuestStatus.NOT_STARTED.ordinal()) ^ key(
+          PRIORITY_KEY, questId, QuestPriority.NORMAL.ordinal());
+    }
+
+    this.dependents = createDependents(player);
+  }
+
+  private PlayerState(PlayerState state, boolean readOnly) {
+    this.catalog = state.catalog;
+    this.order = state.order;
+    this.members = state.members;
+    this.dependents = state.dependents;
+    this.readOnly = readOnly;
+    this.xps = state.xps;
+    this.levels = state.levels;
+    this.completed = state.completed;
+    this.statuses = state.statuses;
+    this.unmetQuestRequirements = state.unmetQuestRequirements;
+    this.priorities = state.priorities;
+    this.fingerprint = state.fingerprint;
+    this.totalLevel = state.totalLevel;
+    this.combatLevel = state.combatLevel;
+    this.questPoints = state.questPoints;
+    this.epoch = state.epoch;
+    this.sharedSkills = state.sharedSkills = true;
+    this.sharedQuests = state.sharedQuests = true;
+    this.sharedPriorities = state.sharedPriorities = true;
+  }
+
+  /**
+   * Returns a copy of this {@link PlayerState}.
+   *
+   * The previous lamp skills for each quest are not copied.
+   *
+   * @return the new state instance
+   */
+  PlayerState copy() {
+    return new PlayerState(this, false);
+  }
+
+  /**
+   * Returns a read-only snapshot of this {@link PlayerState}.
+   *
+   * The snapshot is not affected by later changes to this state.
+   *
+   * @return the snapshot
+   */
+  PlayerState snapshot() {
+    return new PlayerState(this, true);
+  }
+
+  /**
+   * Returns the {@link QuestCatalog} used to index quests.
+   *
+   * @return the quest catalog
+   */
+  QuestCatalog getCatalog() {
+    return catalog;
+  }
+
+  /**
+   * Returns the index of the {@link Quest} with the specified id.
+   *
+   * @param questId the id of quest
+   * @return the quest index or <tt>-1</tt> if the quest does not belong to the player
+   */
+  int indexOf(int questId) {
+    int index = catalog.indexOf(questId);
+
+    return index >= 0 && isSet(members, index) ? index : -1;
+  }
+
+  /**
+   * Returns the fingerprint of the levels, quest statuses and quest priorities.
+   *
+   * @return the fingerprint
+   */
+  long getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Returns the epoch of the levels and completed quests, which advances whenever a level changes
+   * or a quest is completed or no longer completed.
+   *
+   * Requirement results found in one epoch are valid until the epoch advances. The epoch is
+   * copied, so it is only used to compare states of the same player.
+   *
+   * @return the epoch, starting from <tt>1</tt>
+   */
+  long getEpoch() {
+    return epoch;
+  }
+
+  /**
+   * Returns the xp for each {@link Skill}.
+   *
+   * @return map of skill xp
+   */
+  Map<Skill, Double> getXps() {
+    Map<Skill, Double> skillXps = new EnumMap<>(Skill.class);
+
+    for (Skill skill : SKILLS) {
+      skillXps.put(skill, xps[skill.ordinal()]);
+    }
+
+    return skillXps;
+  }
+
+  /**
+   * Returns the level for each {@link Skill}.
+   *
+   * @return map of skill levels
+   */
+  Map<Skill, Integer> getLevels() {
+    Map<Skill, Integer> skillLevels = new EnumMap<>(Skill.class);
+
+    for (Skill skill : SKILLS) {
+      skillLevels.put(skill, levels[skill.ordinal()]);
+    }
+
+    return skillLevels;
+  }
+
+  /**
+   * Returns the sum of levels for all {@link Skill}s.
+   *
+   * @return total level
+   */
+  int getTotalLevel() {
+    return totalLevel;
+  }
+
+  /**
+   * Returns the combat level.
+   *
+   * @return combat level
+   * @see PlayerState#calculateCombatLevel(int[])
+   */
+  double getCombatLevel() {
+    return combatLevel;
+  }
+
+  double getXp(Skill skill) {
+    return xps[skill.ordinal()];
+  }
+
+  int getLevel(Skill skill) {
+    return levels[skill.ordinal()];
+  }
+
+  /**
+   * Set the xp for a {@link Skill} and recalculate the level.
+   *
+   * @param skill the skill
+   * @param xp the xp
+   */
+  void setXp(Skill skill, double xp) {
+    if (sharedSkills) {
+      checkWritable();
+      xps = xps.clone();
+      levels = levels.clone();
+      sharedSkills = false;
+    }
+
+    int level = skill.getLevelAt(xp);
+
+    xps[skill.ordinal()] = xp;
+
+    if (level != levels[skill.ordinal()]) {
+      fingerprint ^= key(LEVEL_KEY, skill.ordinal(), levels[skill.ordinal()]) ^ key(LEVEL_KEY,
+          skill.ordinal(), level);
+      totalLevel += level - levels[skill.ordinal()];
+      levels[skill.ordinal()] = level;
+
+      if (COMBAT_LEVEL_SKILLS.contains(skill)) {
+        combatLevel = calculateCombatLevel(levels);
+      }
+
+      epoch++;
+    }
+  }
+
+  /**
+   * Returns the {@link Quest}s of the player.
+   *
+   * @return set of quests
+   */
+  Set<Quest> getQuests() {
+    Set<Quest> quests = new HashSet<>();
+
+    for (int index : order) {
+      quests.add(catalog.getQuest(index));
+    }
+
+    return quests;
+  }
+
+  /**
+   * Returns the completed {@link Quest}s.
+   *
+   * @return set of complete quests
+   */
+  Set<Quest> getCompletedQuests() {
+    Set<Quest> quests = new HashSet<>();
+
+    for (int index = nextSet(completed, 0); index >= 0; index = nextSet(completed, index + 1)) {
+      quests.add(catalog.getQuest(index));
+    }
+
+    return quests;
+  }
+
+  /**
+   * Returns the {@link Quest}s which are not completed.
+   *
+   * The returned set is a {@link HashSet}, so its iteration order is determined by {@link
+   * Quest#hashCode()} rather than the order the quests are added in.
+   *
+   * @return set of incomplete quests
+   */
+  Set<Quest> getIncompleteQuests() {
+    Set<Quest> quests = new HashSet<>();
+
+    for (int index : order) {
+      if (!isSet(completed, index)) {
+        quests.add(catalog.getQuest(index));
+      }
+    }
+
+    return quests;
+  }
+
+  /**
+   * Returns the total number of quest points for all completed {@link Quest}s.
+   *
+   * @return number of quest points
+   */
+  int getQuestPoints() {
+    return questPoints;
+  }
+
+  boolean isCompleted(int index) {
+    return isSet(completed, index);
+  }
+
+  /**
+   * Test if all quests required by the quest at the specified index are completed.
+   *
+   * @param index the quest index
+   * @return <tt>true</tt> if there are no unmet quest requirements; <tt>false</tt> otherwise
+   */
+  boolean isUnlocked(int index) {
+    return unmetQuestRequirements[index] == 0;
+  }
+
+  QuestStatus getStatus(int index) {
+    return STATUSES[statuses[index]];
+  }
+
+  /**
+   * Set the {@link QuestStatus} for the quest at the specified index.
+   *
+   * If the quest becomes completed, or is no longer completed, the unmet quest requirements for all
+   * dependent quests are updated.
+   *
+   * @param index the quest index
+   * @param status the status
+   */
+  void setStatus(int index, QuestStatus status) {
+    if (sharedQuests) {
+      checkWritable();
+      completed = completed.clone();
+      statuses = statuses.clone();
+      unmetQuestRequirements = unmetQuestRequirements.clone();
+      sharedQuests = false;
+    }
+
+    boolean complete = status == QuestStatus.COMPLETED;
+
+    if (complete != isSet(completed, index)) {
+      int delta = complete ? -1 : 1;
+
+      for (int dependent : dependents[index]) {
+        unmetQuestRequirements[dependent] += delta;
+      }
+
+      completed[index >> 6] ^= 1L << index;
+      int reward = catalog.getQuest(index).getRewards().getQuestPoints();
+
+      questPoints += complete ? reward : -reward;
+      epoch++;
+    }
+
+    fingerprint ^= key(STATUS_KEY, catalog.getQuest(index).getId(), statuses[index]) ^ key(
+        STATUS_KEY, catalog.getQuest(index).getId(), status.ordinal());
+    statuses[index] = (byte) status.ordinal();
+  }
+
+  QuestPriority getPriority(int index) {
+    return PRIORITIES[priorities[index]];
+  }
+
+  void setPriority(int index, QuestPriority priority) {
+    if (sharedPriorities) {
+      checkWritable();
+      priorities = priorities.clone();
+      sharedPriorities = false;
+    }
+
+    fingerprint ^= key(PRIORITY_KEY, catalog.getQuest(index).getId(), priorities[index]) ^ key(
+        PRIORITY_KEY, catalog.getQuest(index).getId(), priority.ordinal());
+    priorities[index] = (byte) priority.ordinal();
+  }
+
+  /**
+   * Returns the previous {@link Skill} choices used for lamps from the quest at the specified
+   * index.
+   *
+   * @param index the quest index
+   * @return set of previous lamp skills
+   */
+  Set<Set<Skill>> getPreviousLampSkills(int index) {
+    checkWritable();
+
+    return previousLampSkills.computeIfAbsent(index, i -> new HashSet<>());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PlayerState)) {
+      return false;
+    }
+    PlayerState that = (PlayerState) o;
+    return Objects.equals(catalog, that.catalog) && Arrays.equals(members, that.members) && Arrays
+        .equals(xps, that.xps);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final int hashCode() {
+    int result = Objects.hash(catalog);
+    result = 31 * result + Arrays.hashCode(members);
+    result = 31 * result + Arrays.hashCode(xps);
+    return result;
+  }
+
+  /**
+   * Throws an exception if this state is a read-only snapshot.
+   *
+   * @throws UnsupportedOperationException if this state is read-only
+   */
+  private void checkWritable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("Player snapshot is read-only");
+    }
+  }
+
+  /**
+   * Create the indices of the dependent quests for each quest of the player.
+   *
+   * Every applicable {@link QuestRequirement} counts as unmet, including requirements for quests
+   * which do not belong to the player.
+   *
+   * @param player the player
+   * @return dependent quest indices for each quest index
+   */
+  private int[][] createDependents(Player player) {
+    Map<Integer, List<Integer>> dependentLists = new HashMap<>();
+
+    for (int index : order) {
+      for (QuestRequirement questRequirement : catalog.getQuest(index).getRequirements()
+          .getQuests()) {
+        if (questRequirement.appliesTo(player)) {
+          int required = indexOf(questRequirement.getQuest().getId());
+
+          if (required >= 0) {
+            dependentLists.computeIfAbsent(required, i -> new ArrayList<>()).add(index);
+          }
+
+          unmetQuestRequirements[index]++;
+        }
+      }
+    }
+
+    int[][] quests = new int[catalog.size()][];
+
+    for (int index = 0; index < quests.length; index++) {
+      quests[index] = dependentLists.getOrDefault(index, new ArrayList<>()).stream()
+          .mapToInt(Integer::intValue).toArray();
+    }
+
+    return quests;
+  }
+
+  /**
+   * Create the catalog indices of the {@link Quest}s in ascending order, i.e. in order of id.
+   *
+   * @param catalog the quest catalog
+   * @param quests the quests
+   * @return quest indices
+   */
+  private static int[] createOrder(QuestCatalog catalog, Set<Quest> quests) {
+    return quests.stream().mapToInt(catalog::indexOf).sorted().toArray();
+  }
+
+  /**
+   * Calculates the combat level from the skill levels.
+   *
+   * @param levels the level of each skill, indexed by {@link Skill#ordinal()}
+   * @return combat level
+   * @see <a href="https://runescape.fandom.com/wiki/Combat_level">Combat level formula</a>
+   */
+  private static double calculateCombatLevel(int[] levels) {
+    double attack = levels[Skill.ATTACK.ordinal()];
+    double constitution = levels[Skill.CONSTITUTION.ordinal()];
+    double defence = levels[Skill.DEFENCE.ordinal()];
+    double magic = levels[Skill.MAGIC.ordinal()];
+    double prayer = levels[Skill.PRAYER.ordinal()];
+    double range = levels[Skill.RANGED.ordinal()];
+    double strength = levels[Skill.STRENGTH.ordinal()];
+    double summoning = levels[Skill.SUMMONING.ordinal()];
+
+    double max = Math.max(attack + strength, Math.max(2 * magic, 2 * range));
+
+    max *= 13d / 10d;
+
+    return (max + defence + constitution + Math.floor(prayer / 2) + Math.floor(summoning / 2)) / 4;
+  }
+
+  /**
+   * Returns the pseudo-random fingerprint key for a value.
+   *
+   * @param kind the kind of value, e.g. {@link PlayerState#LEVEL_KEY}
+   * @param id the skill ordinal or quest id
+   * @param value the level, status or priority ordinal
+   * @return the key
+   * @see Fingerprints#mix(long)
+   */
+  static long key(int kind, int id, int value) {
+    return Fingerprints.mix((long) kind << 56 ^ (long) id << 24 ^ value);
+  }
+
+  private static int words(int bits) {
+    return (bits + 63) >> 6;
+  }
+
+  private static boolean isSet(long[] bits, int index) {
+    return (bits[index >> 6] & 1L << index) != 0;
+  }
+
+  /**
+   * Returns the index of the first set bit on or after the specified index, or <tt>-1</tt>.
+   */
+  private static int nextSet(long[] bits, int from) {
+    int word = from >> 6;
+
+    if (word >= bits.length) {
+      return -1;
+    }
+
+    long remaining = bits[word] & -1L << from;
+
+    while (true) {
+      if (remaining != 0) {
+        return (word << 6) + Long.numberOfTrailingZeros(remaining);
+      } else if (++word == bits.length) {
+        return -1;
+      }
+
+      remaining = bits[word];
+    }
+  }
+}
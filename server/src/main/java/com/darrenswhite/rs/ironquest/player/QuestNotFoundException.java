@@ -0,0 +1,15 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+
+/**
+ * Exception thrown when a {@link Quest} does not belong to a {@link Player}.
+ *
+ * @author Darren S. White
+ */
+public class QuestNotFoundException extends RuntimeException {
+
+  public QuestNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,107 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+
+/**
+ * The score of a {@link Quest} used to choose the best quest for a {@link Player}.
+ *
+ * Scores have a total order where the best quest is the least:
+ * <ol>
+ * <li>Quests where the player meets all {@link SkillRequirement}s come first.</li>
+ * <li>Of those, the highest {@link QuestPriority} comes first, then the highest calculated
+ * priority.</li>
+ * <li>Otherwise, the lowest total remaining skill requirements comes first.</li>
+ * <li>Any remaining ties are broken by the lowest quest id.</li>
+ * </ol>
+ *
+ * @author Darren S. White
+ */
+class QuestScore implements Comparable<QuestScore> {
+
+  private final Quest quest;
+  private final boolean meetsSkillRequirements;
+  private final QuestPriority priority;
+  private final int requirements;
+  private final double rewards;
+
+  /**
+   * Create a new {@link QuestScore}.
+   *
+   * @param quest the quest
+   * @param meetsSkillRequirements <tt>true</tt> if the player meets all skill requirements;
+   * <tt>false</tt> otherwise
+   * @param priority the priority of the quest
+   * @param requirements the total remaining skill requirements
+   * @param rewards the total rewards, only used if the player meets all skill requirements
+   */
+  QuestScore(Quest quest, boolean meetsSkillRequirements, QuestPriority priority,
+      int requirements, double rewards) {
+    this.quest = quest;
+    this.meetsSkillRequirements = meetsSkillRequirements;
+    this.priority = priority;
+    this.requirements = requirements;
+    this.rewards = rewards;
+  }
+
+  Quest getQuest() {
+    return quest;
+  }
+
+  int getRequirements() {
+    return requirements;
+  }
+
+  double getRewards() {
+    return rewards;
+  }
+
+  /**
+   * Returns the calculated priority derived from low skill requirements and high rewards.
+   *
+   * @return the calculated priority
+   */
+  double getCalculatedPriority() {
+    return rewards / 100 - requirements;
+  }
+
+  /**
+   * Returns how far apart this score and another score are, or {@link Double#NaN} if the scores
+   * are only ordered by whether the skill requirements are met or by {@link QuestPriority}.
+   *
+   * @param o the other score
+   * @return the difference in calculated priority or remaining skill requirements
+   */
+  double getDifference(QuestScore o) {
+    if (meetsSkillRequirements != o.meetsSkillRequirements) {
+      return Double.NaN;
+    } else if (meetsSkillRequirements) {
+      return priority == o.priority ? Math
+          .abs(getCalculatedPriority() - o.getCalculatedPriority()) : Double.NaN;
+    }
+
+    return Math.abs(requirements - o.requirements);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int compareTo(QuestScore o) {
+    int comparison = Boolean.compare(o.meetsSkillRequirements, meetsSkillRequirements);
+
+    if (comparison == 0) {
+      if (meetsSkillRequirements) {
+        comparison = priority.compareTo(o.priority);
+
+        if (comparison == 0) {
+          comparison = Double.compare(o.getCalculatedPriority(), getCalculatedPriority());
+        }
+      } else {
+        comparison = Integer.compare(requirements, o.requirements);
+      }
+    }
+
+    return comparison != 0 ? comparison : Integer.compare(quest.getId(), o.quest.getId());
+  }
+}
@@ -0,0 +1,335 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A cache of the remaining skill requirements and total rewards used to score each {@link Quest}.
+ *
+ * Each cached value records the {@link Skill}s and quests it depends on. The remaining skill
+ * requirements of a quest depend on the levels of the skills required by the quest and its quest
+ * requirements, and on the status of those quest requirements. The total rewards of a quest depend
+ * on the xp of the skills its {@link LampReward}s can be used on, and on the status of any quest
+ * requiring those skills. A value is only recalculated after one of these changes.
+ *
+ * The dependencies are shared between copies of the cache. The cached values are also shared until
+ * either copy is updated.
+ *
+ * @author Darren S. White
+ */
+class QuestScoreCache {
+
+  /**
+   * The skills which must be level 80 to use a lamp on invention.
+   */
+  private static final Skill[] INVENTION_REQUIREMENT_SKILLS = {Skill.CRAFTING, Skill.DIVINATION,
+      Skill.SMITHING};
+
+  private final QuestCatalog catalog;
+  private final Map<Skill, int[]> requirementsBySkill;
+  private final int[][] requirementsByQuest;
+  private final Map<Skill, int[]> rewardsBySkill;
+  private int[] requirements;
+  private double[] rewards;
+  private boolean shared;
+
+  /**
+   * Create a new {@link QuestScoreCache} for the {@link Quest}s in a {@link QuestCatalog}.
+   *
+   * @param catalog the catalog containing all quests
+   * @param quests the quests to cache scores for
+   */
+  QuestScoreCache(QuestCatalog catalog, Collection<Quest> quests) {
+    Map<Skill, Set<Integer>> skillRequirements = new EnumMap<>(Skill.class);
+    Map<Skill, Set<Integer>> skillRewards = new EnumMap<>(Skill.class);
+    List<Set<Integer>> questRequirements = new ArrayList<>();
+
+    for (int i = 0; i < catalog.size(); i++) {
+      questRequirements.add(new LinkedHashSet<>());
+    }
+
+    for (Quest quest : quests) {
+      int index = catalog.indexOf(quest);
+
+      addRequirementDependencies(skillRequirements, questRequirements, catalog, quest, index,
+          new boolean[catalog.size()]);
+
+      for (LampReward lampReward : quest.getRewards().getLamps()) {
+        for (Set<Skill> skills : lampReward.getRequirements().keySet()) {
+          for (Skill skill : skills) {
+            addDependency(skillRewards, skill, index);
+
+            if (skill == Skill.INVENTION) {
+              for (Skill inventionSkill : INVENTION_REQUIREMENT_SKILLS) {
+                addDependency(skillRewards, inventionSkill, index);
+              }
+            }
+          }
+        }
+      }
+    }
+
+    this.catalog = catalog;
+    this.requirementsBySkill = toArrays(skillRequirements);
+    this.requirementsByQuest = questRequirements.stream()
+        .map(dependents -> dependents.stream().mapToInt(Integer::intValue).toArray())
+        .toArray(int[][]::new);
+    this.rewardsBySkill = toArrays(skillRewards);
+    this.requirements = new int[catalog.size()];
+    this.rewards = new double[catalog.size()];
+
+    reset();
+  }
+
+  private QuestScoreCache(QuestScoreCache cache) {
+    this.catalog = cache.catalog;
+    this.requirementsBySkill = cache.requirementsBySkill;
+    this.requirementsByQuest = cache.requirementsByQuest;
+    this.rewardsBySkill = cache.rewardsBySkill;
+    this.requirements = cache.requirements;
+    this.rewards = cache.rewards;
+    this.shared = cache.shared = true;
+  }
+
+  /**
+   * Returns a copy of this {@link QuestScoreCache} which shares the dependencies.
+   *
+   * @return the new cache instance
+   */
+  QuestScoreCache copy() {
+    return new QuestScoreCache(this);
+  }
+
+  /**
+   * Invalidate all cached values.
+   */
+  void reset() {
+    unshare();
+    Arrays.fill(requirements, -1);
+    Arrays.fill(rewards, Double.NaN);
+  }
+
+  /**
+   * Invalidate the cached values which depend on the xp or level of a {@link Skill}.
+   *
+   * @param skill the skill
+   * @param previousLevel the level before the xp changed
+   * @param level the level after the xp changed
+   */
+  void update(Skill skill, int previousLevel, int level) {
+    unshare();
+
+    if (previousLevel != level) {
+      invalidate(requirements, requirementsBySkill.get(skill));
+    }
+
+    invalidate(rewards, rewardsBySkill.get(skill));
+  }
+
+  /**
+   * Invalidate the cached values which depend on the status of a {@link Quest}.
+   *
+   * @param index the catalog index of the quest
+   */
+  void update(int index) {
+    unshare();
+    invalidate(requirements, requirementsByQuest[index]);
+
+    for (SkillRequirement skillRequirement : catalog.getQuest(index).getRequirements()
+        .getSkills()) {
+      invalidate(rewards, rewardsBySkill.get(skillRequirement.getSkill()));
+    }
+  }
+
+  /**
+   * Returns the total remaining levels required to complete a {@link Quest}, including its quest
+   * requirements.
+   *
+   * @param quest the quest
+   * @param player the player
+   * @return total skill level requirements remaining
+   * @see Player#calculateTotalRemainingSkillRequirements(Quest)
+   */
+  int getTotalRemainingSkillRequirements(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+
+    if (index < 0) {
+      return player.calculateTotalRemainingSkillRequirements(quest);
+    } else if (requirements[index] < 0) {
+      unshare();
+      requirements[index] = player.calculateTotalRemainingSkillRequirements(quest);
+    }
+
+    return requirements[index];
+  }
+
+  /**
+   * Returns the total xp and lamp rewards from a {@link Quest}.
+   *
+   * @param quest the quest
+   * @param calculator the function used to calculate the rewards if they are not cached
+   * @return the total rewards
+   */
+  double getTotalQuestRewards(Quest quest, ToDoubleFunction<Quest> calculator) {
+    int index = catalog.indexOf(quest);
+
+    if (index < 0) {
+      return calculator.applyAsDouble(quest);
+    } else if (Double.isNaN(rewards[index])) {
+      unshare();
+      rewards[index] = calculator.applyAsDouble(quest);
+    }
+
+    return rewards[index];
+  }
+
+  /**
+   * Returns the cached total remaining levels required to complete a {@link Quest}, or calculates
+   * them without caching.
+   *
+   * This does not modify the cache, so it can be called concurrently.
+   *
+   * @param quest the quest
+   * @param player the player
+   * @return total skill level requirements remaining
+   * @see QuestScoreCache#store(Quest, int, double)
+   */
+  int peekTotalRemainingSkillRequirements(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+
+    return index >= 0 && requirements[index] >= 0 ? requirements[index]
+        : player.calculateTotalRemainingSkillRequirements(quest);
+  }
+
+  /**
+   * Returns the cached total rewards from a {@link Quest}, or calculates them without caching.
+   *
+   * This does not modify the cache, so it can be called concurrently.
+   *
+   * @param quest the quest
+   * @param calculator the function used to calculate the rewards if they are not cached
+   * @return the total rewards
+   * @see QuestScoreCache#store(Quest, int, double)
+   */
+  double peekTotalQuestRewards(Quest quest, ToDoubleFunction<Quest> calculator) {
+    int index = catalog.indexOf(quest);
+
+    return index >= 0 && !Double.isNaN(rewards[index]) ? rewards[index]
+        : calculator.applyAsDouble(quest);
+  }
+
+  /**
+   * Cache values calculated for a {@link Quest}.
+   *
+   * @param quest the quest
+   * @param requirements the total remaining skill requirements, or <tt>-1</tt> if not calculated
+   * @param rewards the total rewards, or {@link Double#NaN} if not calculated
+   */
+  void store(Quest quest, int requirements, double rewards) {
+    int index = catalog.indexOf(quest);
+
+    if (index >= 0) {
+      unshare();
+      this.requirements[index] = requirements;
+      this.rewards[index] = Double.isNaN(rewards) ? this.rewards[index] : rewards;
+    }
+  }
+
+  /**
+   * Invalidate the cached values for the dependent quests.
+   */
+  private static void invalidate(int[] values, int[] dependents) {
+    if (dependents == null) {
+      return;
+    }
+
+    for (int dependent : dependents) {
+      values[dependent] = -1;
+    }
+  }
+
+  /**
+   * Invalidate the cached values for the dependent quests.
+   */
+  private static void invalidate(double[] values, int[] dependents) {
+    if (dependents == null) {
+      return;
+    }
+
+    for (int dependent : dependents) {
+      values[dependent] = Double.NaN;
+    }
+  }
+
+  /**
+   * Copy the cached values if they are shared with another copy of this cache.
+   */
+  private void unshare() {
+    if (shared) {
+      requirements = requirements.clone();
+      rewards = rewards.clone();
+      shared = false;
+    }
+  }
+
+  /**
+   * Add a dependency on each skill required by a quest and on the skills and status of each of its
+   * quest requirements, recursively.
+   */
+  private static void addRequirementDependencies(Map<Skill, Set<Integer>> skillDependencies,
+      List<Set<Integer>> questDependencies, QuestCatalog catalog, Quest quest, int index,
+      boolean[] visited) {
+    for (SkillRequirement skillRequirement : quest.getRequirements().getSkills()) {
+      addDependency(skillDependencies, skillRequirement.getSkill(), index);
+    }
+
+    for (QuestRequirement questRequirement : quest.getRequirements().getQuests()) {
+      Quest requiredQuest = questRequirement.getQuest();
+      int requiredIndex = catalog.indexOf(requiredQuest);
+
+      if (requiredIndex >= 0) {
+        if (visited[requiredIndex]) {
+          continue;
+        }
+
+        visited[requiredIndex] = true;
+        questDependencies.get(requiredIndex).add(index);
+      }
+
+      addRequirementDependencies(skillDependencies, questDependencies, catalog, requiredQuest,
+          index, visited);
+    }
+  }
+
+  /**
+   * Add a dependency on a skill.
+   */
+  private static void addDependency(Map<Skill, Set<Integer>> dependencies, Skill skill,
+      int index) {
+    dependencies.computeIfAbsent(skill, s -> new LinkedHashSet<>()).add(index);
+  }
+
+  /**
+   * Convert each set of dependent quest indices to an array.
+   */
+  private static Map<Skill, int[]> toArrays(Map<Skill, Set<Integer>> dependencies) {
+    Map<Skill, int[]> arrays = new EnumMap<>(Skill.class);
+
+    dependencies.forEach((skill, dependents) -> arrays
+        .put(skill, dependents.stream().mapToInt(Integer::intValue).toArray()));
+
+    return arrays;
+  }
+}
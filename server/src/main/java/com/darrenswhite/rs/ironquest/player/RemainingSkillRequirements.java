@@ -0,0 +1,212 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.Collection;
+
+/**
+ * Precomputed {@link SkillRequirement}s of each {@link Quest} and the closure of its {@link
+ * QuestRequirement}s, used to find the total remaining skill requirements of a quest.
+ *
+ * For each quest, the quests required anywhere in the closure of its quest requirements are found
+ * once, along with the skill levels each of them requires. The total remaining skill requirements
+ * are then the sum of the highest level of each {@link Skill} which the {@link Player} does not
+ * have, over the quest and its incomplete required quests. This is the same total as {@link
+ * Quest#getTotalRemainingSkillRequirements(Player, boolean)}.
+ *
+ * Quests whose closure includes a quest not belonging to the player, or a quest with more than one
+ * requirement for the same skill, are not compiled and are calculated directly. Only requirements
+ * which apply to the player are used. The requirements are not modified, so they are shared between
+ * copies of the player.
+ *
+ * @author Darren S. White
+ */
+class RemainingSkillRequirements {
+
+  private static final Skill[] SKILLS = Skill.values();
+
+  private final QuestCatalog catalog;
+  private final boolean[] members;
+  private final int[][] skills;
+  private final int[][] levels;
+  private final boolean[] duplicates;
+  private final long[][] closures;
+  private final boolean[] valid;
+  private final int[][] prerequisites;
+
+  /**
+   * Create new {@link RemainingSkillRequirements} for the {@link Quest}s of a {@link Player}.
+   *
+   * @param catalog the catalog containing all quests
+   * @param quests the quests of the player
+   * @param player the player
+   */
+  RemainingSkillRequirements(QuestCatalog catalog, Collection<Quest> quests, Player player) {
+    this.catalog = catalog;
+    this.members = new boolean[catalog.size()];
+    this.skills = new int[catalog.size()][0];
+    this.levels = new int[catalog.size()][0];
+    this.duplicates = new boolean[catalog.size()];
+    this.closures = new long[catalog.size()][];
+    this.valid = new boolean[catalog.size()];
+    this.prerequisites = new int[catalog.size()][];
+
+    for (Quest quest : quests) {
+      members[catalog.indexOf(quest)] = true;
+    }
+
+    for (Quest quest : quests) {
+      addSkillRequirements(quest, player);
+    }
+
+    for (Quest quest : quests) {
+      int index = catalog.indexOf(quest);
+
+      if (addClosure(quest, player) && !duplicates[index]) {
+        prerequisites[index] = indices(closures[index]);
+      }
+    }
+  }
+
+  /**
+   * Returns the total remaining levels required to complete a {@link Quest}, including the levels
+   * required by its incomplete quest requirements.
+   *
+   * Quests which are not compiled are calculated directly.
+   *
+   * @param quest the quest
+   * @param player the player
+   * @param state the state of the player
+   * @return the total remaining levels
+   * @see Quest#getTotalRemainingSkillRequirements(Player, boolean)
+   */
+  int getTotalRemainingSkillRequirements(Quest quest, Player player, PlayerState state) {
+    int index = catalog.indexOf(quest);
+
+    if (index < 0 || prerequisites[index] == null) {
+      return quest.getTotalRemainingSkillRequirements(player, true);
+    }
+
+    int[] maxima = new int[SKILLS.length];
+    int total = 0;
+
+    addLevels(maxima, index);
+
+    for (int prerequisite : prerequisites[index]) {
+      if (!state.isCompleted(prerequisite)) {
+        addLevels(maxima, prerequisite);
+      }
+    }
+
+    for (Skill skill : SKILLS) {
+      int level = maxima[skill.ordinal()];
+
+      if (level > state.getLevel(skill)) {
+        total += level;
+      }
+    }
+
+    return total;
+  }
+
+  /**
+   * Raise the maximum level of each skill to the levels required by the quest at an index.
+   */
+  private void addLevels(int[] maxima, int index) {
+    for (int i = 0; i < skills[index].length; i++) {
+      maxima[skills[index][i]] = Math.max(maxima[skills[index][i]], levels[index][i]);
+    }
+  }
+
+  /**
+   * Store the skill requirements of a quest which apply to the player, and whether more than one of
+   * them is for the same skill.
+   */
+  private void addSkillRequirements(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+    SkillRequirement[] requirements = quest.getRequirements().getSkills().stream()
+        .filter(sr -> sr.appliesTo(player)).toArray(SkillRequirement[]::new);
+    boolean[] required = new boolean[SKILLS.length];
+
+    skills[index] = new int[requirements.length];
+    levels[index] = new int[requirements.length];
+
+    for (int i = 0; i < requirements.length; i++) {
+      int ordinal = requirements[i].getSkill().ordinal();
+
+      duplicates[index] |= required[ordinal];
+      required[ordinal] = true;
+      skills[index][i] = ordinal;
+      levels[index][i] = requirements[i].getLevel();
+    }
+  }
+
+  /**
+   * Find the quests required by applicable quest requirements anywhere in the closure of a quest,
+   * calculating them if needed.
+   *
+   * The closure follows every quest requirement, as {@link Quest#getQuestRequirements(boolean)}
+   * does, but only quests required by an applicable requirement are added.
+   *
+   * @return <tt>true</tt> if the closure can be compiled; <tt>false</tt> otherwise
+   */
+  private boolean addClosure(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+
+    if (closures[index] != null) {
+      return valid[index];
+    }
+
+    long[] closure = new long[(catalog.size() + 63) >> 6];
+    boolean compiled = true;
+
+    for (QuestRequirement questRequirement : quest.getRequirements().getQuests()) {
+      int required = catalog.indexOf(questRequirement.getQuest());
+
+      if (required < 0) {
+        compiled = false;
+        continue;
+      }
+
+      if (questRequirement.appliesTo(player)) {
+        closure[required >> 6] |= 1L << required;
+        compiled &= members[required] && !duplicates[required];
+      }
+
+      compiled &= addClosure(questRequirement.getQuest(), player);
+
+      for (int i = 0; i < closure.length; i++) {
+        closure[i] |= closures[required][i];
+      }
+    }
+
+    closures[index] = closure;
+    valid[index] = compiled;
+
+    return compiled;
+  }
+
+  /**
+   * Returns the indices of the set bits.
+   */
+  private static int[] indices(long[] bits) {
+    int count = 0;
+
+    for (long word : bits) {
+      count += Long.bitCount(word);
+    }
+
+    int[] indices = new int[count];
+    int i = 0;
+
+    for (int word = 0; word < bits.length; word++) {
+      for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+        indices[i++] = (word << 6) + Long.numberOfTrailingZeros(remaining);
+      }
+    }
+
+    return indices;
+  }
+}
@@ -0,0 +1,73 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.Requirement;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bitset of the results of testing {@link Requirement}s for a {@link Player} in one epoch of the
+ * player state.
+ *
+ * Each requirement has two bits at its dense id from the {@link QuestCatalog}: whether it has been
+ * tested, and whether it was met. Both bits are set together, so the memo can be shared by threads
+ * scoring quests in parallel, where a requirement tested twice has the same result. A memo is only
+ * valid for the epoch it was created in, and is replaced rather than cleared when the epoch
+ * advances.
+ *
+ * @author Darren S. White
+ * @see PlayerState#getEpoch()
+ */
+class RequirementMemo {
+
+  private static final long TESTED = 1;
+  private static final long MET = 2;
+
+  private final long epoch;
+  private final AtomicLongArray results;
+
+  /**
+   * Create a new empty {@link RequirementMemo}.
+   *
+   * @param size the number of requirements
+   * @param epoch the epoch of the player state
+   */
+  RequirementMemo(int size, long epoch) {
+    this.epoch = epoch;
+    this.results = new AtomicLongArray((size + 31) >> 5);
+  }
+
+  /**
+   * Returns the epoch of the player state which the results were found in.
+   *
+   * @return the epoch
+   */
+  long getEpoch() {
+    return epoch;
+  }
+
+  /**
+   * Test if the {@link Player} meets a {@link Requirement}, reusing the result if it was already
+   * found.
+   *
+   * @param requirement the requirement
+   * @param id the id of the requirement
+   * @param player the player
+   * @return <tt>true</tt> if the player meets the requirement; <tt>false</tt> otherwise
+   * @see Requirement#test(Player)
+   */
+  boolean test(Requirement requirement, int id, Player player) {
+    int word = id >> 5;
+    int shift = (id & 31) << 1;
+    long bits = results.get(word) >>> shift;
+
+    if ((bits & TESTED) != 0) {
+      return (bits & MET) != 0;
+    }
+
+    boolean met = requirement.test(player);
+
+    results.accumulateAndGet(word, (met ? TESTED | MET : TESTED) << shift, (a, b) -> a | b);
+
+    return met;
+  }
+}
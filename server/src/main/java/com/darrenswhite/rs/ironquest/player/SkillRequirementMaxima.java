@@ -0,0 +1,160 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.Collection;
+
+/**
+ * The highest {@link Skill} level required by the {@link SkillRequirement}s of all incomplete
+ * {@link Quest}s.
+ *
+ * Each skill has a count of the incomplete quests requiring each level, so that completing a quest
+ * only removes its own requirements and the maximum level is found by scanning down from the
+ * previous maximum.
+ *
+ * The requirements of each quest are shared between copies. The counts are also shared until either
+ * copy is updated.
+ *
+ * @author Darren S. White
+ */
+class SkillRequirementMaxima {
+
+  private static final Skill[] SKILLS = Skill.values();
+
+  private final int[][] skills;
+  private final int[][] levels;
+  private final int width;
+  private int[] counts;
+  private int[] maxima;
+  private boolean shared;
+
+  /**
+   * Create a new {@link SkillRequirementMaxima} for the incomplete {@link Quest}s of a {@link
+   * Player}.
+   *
+   * Only {@link SkillRequirement}s which apply to the player are counted, and all quests are
+   * initially incomplete.
+   *
+   * @param catalog the catalog containing all quests
+   * @param quests the quests of the player
+   * @param player the player
+   */
+  SkillRequirementMaxima(QuestCatalog catalog, Collection<Quest> quests, Player player) {
+    int maxLevel = 0;
+
+    this.skills = new int[catalog.size()][0];
+    this.levels = new int[catalog.size()][0];
+
+    for (Quest quest : quests) {
+      int index = catalog.indexOf(quest);
+      SkillRequirement[] requirements = quest.getRequirements().getSkills().stream()
+          .filter(sr -> sr.appliesTo(player)).toArray(SkillRequirement[]::new);
+
+      skills[index] = new int[requirements.length];
+      levels[index] = new int[requirements.length];
+
+      for (int i = 0; i < requirements.length; i++) {
+        skills[index][i] = requirements[i].getSkill().ordinal();
+        levels[index][i] = requirements[i].getLevel();
+        maxLevel = Math.max(maxLevel, requirements[i].getLevel());
+      }
+    }
+
+    this.width = maxLevel + 1;
+    this.counts = new int[SKILLS.length * width];
+    this.maxima = new int[SKILLS.length];
+
+    for (int index = 0; index < skills.length; index++) {
+      add(index);
+    }
+  }
+
+  private SkillRequirementMaxima(SkillRequirementMaxima maxima) {
+    this.skills = maxima.skills;
+    this.levels = maxima.levels;
+    this.width = maxima.width;
+    this.counts = maxima.counts;
+    this.maxima = maxima.maxima;
+    this.shared = maxima.shared = true;
+  }
+
+  /**
+   * Returns a copy of this {@link SkillRequirementMaxima} which shares the requirements.
+   *
+   * @return the new instance
+   */
+  SkillRequirementMaxima copy() {
+    return new SkillRequirementMaxima(this);
+  }
+
+  /**
+   * Update the counts after the completion of a {@link Quest} changes.
+   *
+   * @param index the catalog index of the quest
+   * @param completed <tt>true</tt> if the quest is now completed; <tt>false</tt> if it is now
+   * incomplete
+   */
+  void update(int index, boolean completed) {
+    unshare();
+
+    if (completed) {
+      remove(index);
+    } else {
+      add(index);
+    }
+  }
+
+  /**
+   * Returns the highest level required for a {@link Skill} by any incomplete quest.
+   *
+   * @param skill the skill
+   * @return the maximum level, or <tt>0</tt> if no incomplete quest requires the skill
+   */
+  int getMaxLevel(Skill skill) {
+    return maxima[skill.ordinal()];
+  }
+
+  /**
+   * Count the requirements of an incomplete quest.
+   */
+  private void add(int index) {
+    for (int i = 0; i < skills[index].length; i++) {
+      int skill = skills[index][i];
+      int level = levels[index][i];
+
+      counts[skill * width + level]++;
+      maxima[skill] = Math.max(maxima[skill], level);
+    }
+  }
+
+  /**
+   * Remove the requirements of a completed quest, finding the next highest level if the maximum
+   * level is no longer required.
+   */
+  private void remove(int index) {
+    for (int i = 0; i < skills[index].length; i++) {
+      int skill = skills[index][i];
+      int level = levels[index][i];
+
+      if (--counts[skill * width + level] == 0 && maxima[skill] == level) {
+        while (level > 0 && counts[skill * width + level] == 0) {
+          level--;
+        }
+
+        maxima[skill] = level;
+      }
+    }
+  }
+
+  /**
+   * Copy the counts if they are shared with another copy.
+   */
+  private void unshare() {
+    if (shared) {
+      counts = counts.clone();
+      maxima = maxima.clone();
+      shared = false;
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of {@link Skill} level thresholds for the {@link SkillRequirement}s of {@link Quest}s
+ * and the requirements of {@link LampReward}s.
+ *
+ * Each requirement is a target with a number of unmet thresholds. The thresholds for each skill are
+ * sorted by level, so that when a skill level changes only the thresholds between the previous and
+ * new level are revisited.
+ *
+ * The thresholds are shared between copies of the index. The unmet counts are also shared until
+ * either copy is updated.
+ *
+ * @author Darren S. White
+ */
+class SkillThresholdIndex {
+
+  /**
+   * The level of crafting, divination and smithing required to use a lamp on invention.
+   */
+  private static final int INVENTION_REQUIREMENT_LEVEL = 80;
+
+  private final Map<Skill, int[]> levels;
+  private final Map<Skill, int[]> targets;
+  private final QuestCatalog catalog;
+  private final int[] questTargets;
+  private final Map<LampReward, int[]> lampTargets;
+  private int[] unmet;
+  private boolean shared;
+
+  /**
+   * Create a new {@link SkillThresholdIndex} for the {@link Quest}s and levels of a {@link
+   * Player}.
+   *
+   * Only {@link SkillRequirement}s which apply to the player are indexed.
+   *
+   * @param catalog the catalog containing all quests
+   * @param quests the quests to index
+   * @param player the player
+   */
+  SkillThresholdIndex(QuestCatalog catalog, Collection<Quest> quests, Player player) {
+    Map<Skill, List<int[]>> thresholds = new EnumMap<>(Skill.class);
+    int target = 0;
+
+    this.catalog = catalog;
+    this.questTargets = new int[catalog.size()];
+    this.lampTargets = new IdentityHashMap<>();
+
+    Arrays.fill(questTargets, -1);
+
+    for (Quest quest : quests) {
+      questTargets[catalog.indexOf(quest)] = target;
+
+      for (SkillRequirement skillRequirement : quest.getRequirements().getSkills()) {
+        if (skillRequirement.appliesTo(player)) {
+          addThreshold(thresholds, skillRequirement.getSkill(), skillRequirement.getLevel(),
+              target);
+        }
+      }
+
+      target++;
+    }
+
+    for (Quest quest : quests) {
+      for (LampReward lampReward : quest.getRewards().getLamps()) {
+        Map<Set<Skill>, Integer> requirements = lampReward.getRequirements();
+        int[] choiceTargets = new int[requirements.size()];
+        int choice = 0;
+
+        for (Map.Entry<Set<Skill>, Integer> requirement : requirements.entrySet()) {
+          for (Skill skill : requirement.getKey()) {
+            addThreshold(thresholds, skill, requirement.getValue(), target);
+
+            if (skill == Skill.INVENTION) {
+              addThreshold(thresholds, Skill.CRAFTING, INVENTION_REQUIREMENT_LEVEL, target);
+              addThreshold(thresholds, Skill.DIVINATION, INVENTION_REQUIREMENT_LEVEL, target);
+              addThreshold(thresholds, Skill.SMITHING, INVENTION_REQUIREMENT_LEVEL, target);
+            }
+          }
+
+          choiceTargets[choice++] = target++;
+        }
+
+        lampTargets.put(lampReward, choiceTargets);
+      }
+    }
+
+    this.levels = new EnumMap<>(Skill.class);
+    this.targets = new EnumMap<>(Skill.class);
+    this.unmet = new int[target];
+
+    for (Map.Entry<Skill, List<int[]>> entry : thresholds.entrySet()) {
+      int[][] sorted = entry.getValue().stream().sorted((a, b) -> Integer.compare(a[0], b[0]))
+          .toArray(int[][]::new);
+
+      levels.put(entry.getKey(), Arrays.stream(sorted).mapToInt(t -> t[0]).toArray());
+      targets.put(entry.getKey(), Arrays.stream(sorted).mapToInt(t -> t[1]).toArray());
+    }
+
+    reset(player);
+  }
+
+  private SkillThresholdIndex(SkillThresholdIndex index) {
+    this.catalog = index.catalog;
+    this.levels = index.levels;
+    this.targets = index.targets;
+    this.questTargets = index.questTargets;
+    this.lampTargets = index.lampTargets;
+    this.unmet = index.unmet;
+    this.shared = index.shared = true;
+  }
+
+  /**
+   * Returns a copy of this {@link SkillThresholdIndex} which shares the thresholds.
+   *
+   * @return the new index instance
+   */
+  SkillThresholdIndex copy() {
+    return new SkillThresholdIndex(this);
+  }
+
+  /**
+   * Recalculate all unmet thresholds from the current levels of the {@link Player}.
+   *
+   * @param player the player
+   */
+  void reset(Player player) {
+    unshare();
+    Arrays.fill(unmet, 0);
+
+    for (Map.Entry<Skill, int[]> entry : levels.entrySet()) {
+      int[] skillLevels = entry.getValue();
+      int[] skillTargets = targets.get(entry.getKey());
+
+      for (int i = upperBound(skillLevels, player.getLevel(entry.getKey()));
+          i < skillLevels.length; i++) {
+        unmet[skillTargets[i]]++;
+      }
+    }
+  }
+
+  /**
+   * Update the unmet thresholds for a change in level of a {@link Skill}.
+   *
+   * Only the thresholds between the previous and new level are revisited.
+   *
+   * @param skill the skill
+   * @param previousLevel the level before the change
+   * @param level the level after the change
+   */
+  void update(Skill skill, int previousLevel, int level) {
+    int[] skillLevels = levels.get(skill);
+
+    if (skillLevels == null || previousLevel == level) {
+      return;
+    }
+
+    int[] skillTargets = targets.get(skill);
+    int min = Math.min(previousLevel, level);
+    int max = Math.max(previousLevel, level);
+    int delta = level > previousLevel ? -1 : 1;
+
+    unshare();
+
+    for (int i = upperBound(skillLevels, min); i < skillLevels.length && skillLevels[i] <= max;
+        i++) {
+      unmet[skillTargets[i]] += delta;
+    }
+  }
+
+  /**
+   * Test if the {@link Player} meets all {@link SkillRequirement}s for a {@link Quest}.
+   *
+   * Quests which are not indexed are tested directly.
+   *
+   * @param quest the quest
+   * @param player the player
+   * @return <tt>true</tt> if the player meets all skill requirements; <tt>false</tt> otherwise
+   */
+  boolean meetsSkillRequirements(Quest quest, Player player) {
+    int index = catalog.indexOf(quest);
+    int target = index >= 0 ? questTargets[index] : -1;
+
+    return target >= 0 ? unmet[target] == 0 : quest.meetsSkillRequirements(player);
+  }
+
+  /**
+   * Test if the {@link Player} meets the requirements to use a {@link LampReward}.
+   *
+   * Lamps which are not indexed are tested directly.
+   *
+   * @param lampReward the lamp reward
+   * @param player the player
+   * @return <tt>true</tt> if the player meets the lamp requirements; <tt>false</tt> otherwise
+   * @see LampReward#meetsRequirements(Player)
+   */
+  boolean meetsRequirements(LampReward lampReward, Player player) {
+    int[] choiceTargets = lampTargets.get(lampReward);
+
+    if (choiceTargets == null) {
+      return lampReward.meetsRequirements(player);
+    } else if (choiceTargets.length == 0) {
+      return true;
+    }
+
+    for (int choiceTarget : choiceTargets) {
+      if (unmet[choiceTarget] == 0) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Copy the unmet counts if they are shared with another copy of this index.
+   */
+  private void unshare() {
+    if (shared) {
+      unmet = unmet.clone();
+      shared = false;
+    }
+  }
+
+  /**
+   * Add a threshold for a target if the level can be unmet.
+   */
+  private static void addThreshold(Map<Skill, List<int[]>> thresholds, Skill skill, int level,
+      int target) {
+    if (level > 1) {
+      thresholds.computeIfAbsent(skill, s -> new ArrayList<>()).add(new int[]{level, target});
+    }
+  }
+
+  /**
+   * Returns the index of the first level greater than the specified level.
+   */
+  private static int upperBound(int[] levels, int level) {
+    int low = 0;
+    int high = levels.length;
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+
+      if (levels[mid] <= level) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+}
@@ -93,7 +93,7 @@ public class Quest {
    * @return <tt>true</tt> if the player meets the combat requirement; <tt>false</tt> otherwise
    */
   public boolean meetsCombatRequirement(Player player) {
-    return requirements.getCombat() == null || requirements.getCombat().test(player);
+    return requirements.getCombat() == null || player.meetsRequirement(requirements.getCombat());
   }
 
   /**
@@ -103,7 +103,8 @@ public class Quest {
    * @return <tt>true</tt> if the player meets the quest point requirement; <tt>false</tt> otherwise
    */
   public boolean meetsQuestPointRequirement(Player player) {
-    return requirements.getQuestPoints() == null || requirements.getQuestPoints().test(player);
+    return requirements.getQuestPoints() == null || player
+        .meetsRequirement(requirements.getQuestPoints());
   }
 
   /**
@@ -113,7 +114,7 @@ public class Quest {
    * @return <tt>true</tt> if the player meets all quest requirements; <tt>false</tt> otherwise
    */
   public boolean meetsQuestRequirements(Player player) {
-    return requirements.getQuests().stream().allMatch(r -> r.test(player));
+    return requirements.getQuests().stream().allMatch(player::meetsRequirement);
   }
 
   /**
@@ -123,7 +124,7 @@ public class Quest {
    * @return <tt>true</tt> if the player meets all skill requirements; <tt>false</tt> otherwise
    */
   public boolean meetsSkillRequirements(Player player) {
-    return requirements.getSkills().stream().allMatch(r -> r.test(player));
+    return requirements.getSkills().stream().allMatch(player::meetsRequirement);
   }
 
 
@@ -144,9 +145,15 @@ public class Quest {
    * @param player the player
    * @param recursive <tt>true</tt> to get requirements recursively; <tt>false</tt> otherwise
    * @return remaining quest requirements
+   * @see Player#getRequiredQuests(Quest)
    */
   public Set<Quest> getRemainingQuestRequirements(Player player, boolean recursive) {
-    return getQuestRequirements(recursive).stream().filter(q -> !q.test(player))
+    if (recursive) {
+      return player.getRequiredQuests(this).stream().filter(q -> !player.isQuestCompleted(q))
+          .collect(Collectors.toSet());
+    }
+
+    return getQuestRequirements(false).stream().filter(q -> !player.meetsRequirement(q))
         .map(QuestRequirement::getQuest).collect(Collectors.toSet());
   }
 
@@ -161,7 +168,7 @@ public class Quest {
     Set<SkillRequirement> remainingSkillRequirements = new LinkedHashSet<>();
 
     remainingSkillRequirements = SkillRequirement.merge(remainingSkillRequirements,
-        requirements.getSkills().stream().filter(sr -> !sr.test(player))
+        requirements.getSkills().stream().filter(sr -> !player.meetsRequirement(sr))
             .collect(Collectors.toCollection(LinkedHashSet::new)));
 
     if (recursive) {
@@ -200,6 +207,9 @@ public class Quest {
   /**
    * Get all {@link QuestRequirements}s to complete this {@link Quest}.
    *
+   * The recursive requirements are found again on each call. Use {@link
+   * QuestCatalog#getQuestRequirements(Quest)} for the precomputed closure of a quest.
+   *
    * @param recursive <tt>true</tt> to get requirements recursively; <tt>false</tt> otherwise
    * @return quest requirements
    */
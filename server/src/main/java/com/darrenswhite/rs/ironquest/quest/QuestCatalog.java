@@ -0,0 +1,330 @@
+package com.darrenswhite.rs.ironquest.quest;
+
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.Requirement;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A catalog of {@link Quest}s which assigns each quest a dense index.
+ *
+ * Quests are indexed in order of id, from <tt>0</tt> to <tt>size() - 1</tt>, so that per-quest state
+ * can be stored in arrays rather than maps keyed by quest id. The closure of the {@link
+ * QuestRequirement}s of each quest is also found once as a bitset of quest indices, for each
+ * combination of ironman and recommended requirements, and each distinct {@link Requirement} of the
+ * quests is assigned a dense id.
+ *
+ * @author Darren S. White
+ */
+public class QuestCatalog {
+
+  private static final int RECOMMENDED = 1;
+  private static final int IRONMAN = 2;
+  private static final int ALL = IRONMAN | RECOMMENDED;
+
+  private final Quest[] quests;
+  private final int minId;
+  private final int[] indices;
+  private final BitSet[][] questRequirements;
+  private final boolean[] contained;
+  private final Map<Requirement, Integer> requirementIds = new HashMap<>();
+  private final Map<Requirement, Integer> requirementInstanceIds = new IdentityHashMap<>();
+
+  /**
+   * Create a new {@link QuestCatalog} for the given {@link Quest}s.
+   *
+   * @param quests the quests to index
+   */
+  public QuestCatalog(Collection<Quest> quests) {
+    this.quests = quests.stream().sorted(Comparator.comparingInt(Quest::getId))
+        .toArray(Quest[]::new);
+    this.minId = this.quests.length > 0 ? this.quests[0].getId() : 0;
+    this.indices = new int[this.quests.length > 0
+        ? this.quests[this.quests.length - 1].getId() - minId + 1 : 0];
+
+    Arrays.fill(indices, -1);
+
+    for (int i = 0; i < this.quests.length; i++) {
+      indices[this.quests[i].getId() - minId] = i;
+    }
+
+    this.questRequirements = new BitSet[ALL + 1][this.quests.length];
+    this.contained = new boolean[this.quests.length];
+
+    for (int profile = 0; profile <= ALL; profile++) {
+      for (int i = 0; i < this.quests.length; i++) {
+        getQuestRequirements(profile, i);
+      }
+    }
+
+    for (int i = 0; i < this.quests.length; i++) {
+      contained[i] = isContained(i);
+    }
+
+    for (Quest quest : this.quests) {
+      QuestRequirements requirements = quest.getRequirements();
+
+      addRequirement(requirements.getCombat());
+      addRequirement(requirements.getQuestPoints());
+      requirements.getQuests().forEach(this::addRequirement);
+      requirements.getSkills().forEach(this::addRequirement);
+    }
+  }
+
+  /**
+   * Returns the closure of the quest requirements of the quest at an index, finding the closures of
+   * its required quests first.
+   *
+   * @param profile the ironman and recommended requirements which apply
+   * @param index the quest index
+   * @return the required quest indices
+   */
+  private BitSet getQuestRequirements(int profile, int index) {
+    if (questRequirements[profile][index] == null) {
+      questRequirements[profile][index] = createQuestRequirements(profile, quests[index]);
+    }
+
+    return questRequirements[profile][index];
+  }
+
+  /**
+   * Create the closure of the quest requirements of a {@link Quest}.
+   *
+   * All quest requirements are followed, but a required quest is only added if its requirement
+   * applies to the profile. Required quests which are not in this catalog are followed, but not
+   * added.
+   *
+   * @param profile the ironman and recommended requirements which apply
+   * @param quest the quest
+   * @return the required quest indices
+   */
+  private BitSet createQuestRequirements(int profile, Quest quest) {
+    BitSet closure = new BitSet(quests.length);
+
+    for (QuestRequirement questRequirement : quest.getRequirements().getQuests()) {
+      int required = indexOf(questRequirement.getQuest());
+
+      if (required >= 0) {
+        if (appliesTo(questRequirement, profile)) {
+          closure.set(required);
+        }
+
+        closure.or(getQuestRequirements(profile, required));
+      } else {
+        closure.or(createQuestRequirements(profile, questRequirement.getQuest()));
+      }
+    }
+
+    return closure;
+  }
+
+  /**
+   * Test if the quest at an index, and every quest it requires, only require quests in this
+   * catalog.
+   *
+   * @param index the quest index
+   * @return <tt>true</tt> if the closure is in this catalog; <tt>false</tt> otherwise
+   */
+  private boolean isContained(int index) {
+    BitSet closure = (BitSet) questRequirements[ALL][index].clone();
+
+    closure.set(index);
+
+    return closure.stream().allMatch(i -> quests[i].getRequirements().getQuests().stream()
+        .allMatch(questRequirement -> indexOf(questRequirement.getQuest()) >= 0));
+  }
+
+  /**
+   * Test if a {@link Requirement} applies to a profile of ironman and recommended requirements.
+   *
+   * @param requirement the requirement
+   * @param profile the ironman and recommended requirements which apply
+   * @return <tt>true</tt> if the requirement applies; <tt>false</tt> otherwise
+   * @see Requirement#appliesTo(Player)
+   */
+  private static boolean appliesTo(Requirement requirement, int profile) {
+    return (!requirement.isIronman() || (profile & IRONMAN) != 0) && (!requirement.isRecommended()
+        || (profile & RECOMMENDED) != 0);
+  }
+
+  /**
+   * Assign the next id to a {@link Requirement}, unless an equal requirement already has an id.
+   *
+   * The id is also kept by instance, so the requirements of the quests are found without hashing.
+   *
+   * @param requirement the requirement, or <tt>null</tt> if there is none
+   */
+  private void addRequirement(Requirement requirement) {
+    if (requirement != null) {
+      requirementInstanceIds.put(requirement,
+          requirementIds.computeIfAbsent(requirement, r -> requirementIds.size()));
+    }
+  }
+
+  /**
+   * Returns the number of {@link Quest}s in this catalog.
+   *
+   * @return number of quests
+   */
+  public int size() {
+    return quests.length;
+  }
+
+  /**
+   * Returns the {@link Quest} at the specified index.
+   *
+   * @param index the quest index
+   * @return the quest
+   */
+  public Quest getQuest(int index) {
+    return quests[index];
+  }
+
+  /**
+   * Returns the index of the specified {@link Quest}.
+   *
+   * @param quest the quest
+   * @return the quest index or <tt>-1</tt> if not found
+   */
+  public int indexOf(Quest quest) {
+    return indexOf(quest.getId());
+  }
+
+  /**
+   * Returns the index of the {@link Quest} with the specified id.
+   *
+   * @param questId the id of quest
+   * @return the quest index or <tt>-1</tt> if not found
+   */
+  public int indexOf(int questId) {
+    int offset = questId - minId;
+
+    return offset >= 0 && offset < indices.length ? indices[offset] : -1;
+  }
+
+  /**
+   * Returns the indices of the {@link Quest}s required by the {@link QuestRequirement}s of a quest,
+   * and by their quest requirements recursively.
+   *
+   * This is the closure of {@link Quest#getQuestRequirements(boolean)}, regardless of whether the
+   * requirements apply to a player. Required quests which are not in this catalog are left out.
+   *
+   * @param quest the quest
+   * @return the required quest indices, or an empty bitset if the quest is not in this catalog
+   */
+  public BitSet getQuestRequirements(Quest quest) {
+    int index = indexOf(quest);
+
+    return index >= 0 ? (BitSet) questRequirements[ALL][index].clone() : new BitSet();
+  }
+
+  /**
+   * Returns the indices of the {@link Quest}s required by the {@link QuestRequirement}s of a quest
+   * which apply to a player, and by their quest requirements recursively.
+   *
+   * All quest requirements are followed, but a required quest is only included if a requirement
+   * for it applies, so this is the same as filtering {@link Quest#getQuestRequirements(boolean)}
+   * by {@link Requirement#appliesTo(Player)}.
+   *
+   * @param quest the quest
+   * @param ironman <tt>true</tt> if ironman requirements apply; <tt>false</tt> otherwise
+   * @param recommended <tt>true</tt> if recommended requirements apply; <tt>false</tt> otherwise
+   * @return the required quest indices, or <tt>null</tt> if the quest or any quest it requires is
+   * not in this catalog
+   */
+  public BitSet getQuestRequirements(Quest quest, boolean ironman, boolean recommended) {
+    int index = indexOf(quest);
+
+    if (index < 0 || !contained[index]) {
+      return null;
+    }
+
+    int profile = (ironman ? IRONMAN : 0) | (recommended ? RECOMMENDED : 0);
+
+    return (BitSet) questRequirements[profile][index].clone();
+  }
+
+  /**
+   * Add the indices of the {@link Quest}s required by a quest to a bitset, without copying the
+   * closure of its quest requirements.
+   *
+   * @param quest the quest
+   * @param indices the bitset to add the required quest indices to
+   * @see #getQuestRequirements(Quest)
+   */
+  public void addQuestRequirements(Quest quest, BitSet indices) {
+    int index = indexOf(quest);
+
+    if (index >= 0) {
+      indices.or(questRequirements[ALL][index]);
+    }
+  }
+
+  /**
+   * Returns the number of distinct {@link Requirement}s of the {@link Quest}s in this catalog.
+   *
+   * @return number of requirements
+   */
+  public int getRequirementCount() {
+    return requirementIds.size();
+  }
+
+  /**
+   * Returns the dense id of the specified {@link Requirement}.
+   *
+   * Each distinct requirement of the quests in this catalog has an id from <tt>0</tt> to the
+   * number of requirements, and equal requirements of different quests share the same id.
+   *
+   * @param requirement the requirement
+   * @return the requirement id or <tt>-1</tt> if not found
+   */
+  public int getRequirementId(Requirement requirement) {
+    Integer id = requirementInstanceIds.get(requirement);
+
+    if (id == null) {
+      id = requirementIds.get(requirement);
+    }
+
+    return id != null ? id : -1;
+  }
+
+  /**
+   * Test if all the specified {@link Quest}s are in this catalog.
+   *
+   * @param quests the quests
+   * @return <tt>true</tt> if all quests are indexed; <tt>false</tt> otherwise
+   */
+  public boolean containsAll(Collection<Quest> quests) {
+    return quests.stream().allMatch(quest -> indexOf(quest) >= 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof QuestCatalog)) {
+      return false;
+    }
+    QuestCatalog that = (QuestCatalog) o;
+    return Arrays.equals(quests, that.quests);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final int hashCode() {
+    return Arrays.hashCode(quests);
+  }
+}
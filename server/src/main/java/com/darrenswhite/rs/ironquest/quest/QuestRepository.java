@@ -22,6 +22,7 @@ public class QuestRepository {
   private static final Logger LOG = LogManager.getLogger(QuestRepository.class);
 
   private final Set<Quest> quests;
+  private final QuestCatalog catalog;
 
   /**
    * Create a new {@link QuestRepository}.
@@ -32,12 +33,22 @@ public class QuestRepository {
   public QuestRepository(@Value("${quests.resource}") Resource questsResource,
       ObjectMapper objectMapper) throws IOException {
     this.quests = load(questsResource, objectMapper);
+    this.catalog = new QuestCatalog(quests);
   }
 
   public Set<Quest> getQuests() {
     return quests;
   }
 
+  /**
+   * Returns the {@link QuestCatalog} which indexes all loaded {@link Quest}s.
+   *
+   * @return the quest catalog
+   */
+  public QuestCatalog getCatalog() {
+    return catalog;
+  }
+
   /**
    * Retrieve quest data from the specified {@link Resource}.
    *
@@ -33,10 +33,19 @@ public abstract class Requirement {
    * @return <tt>true</tt> if the player meets this requirement; <tt>false</tt> otherwise
    */
   public boolean test(Player player) {
-    boolean testIronman = isIronman() && !player.isIronman();
-    boolean testRecommended = isRecommended() && !player.isRecommended();
+    return !appliesTo(player) || testPlayer(player);
+  }
 
-    return testIronman || testRecommended || testPlayer(player);
+  /**
+   * Test if this requirement applies to the specified {@link Player}.
+   *
+   * Ironman and recommended requirements only apply to players using those requirements.
+   *
+   * @param player the player
+   * @return <tt>true</tt> if the requirement applies to the player; <tt>false</tt> otherwise
+   */
+  public boolean appliesTo(Player player) {
+    return (!isIronman() || player.isIronman()) && (!isRecommended() || player.isRecommended());
   }
 
   /**
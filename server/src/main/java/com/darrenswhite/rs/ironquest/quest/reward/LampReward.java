@@ -209,35 +209,44 @@ public class LampReward {
    * @throws DynamicLampRewardException when skills contains more than one skill for a dynamic lamp
    */
   public double getXpForSkills(Player player, Set<Skill> skills) {
-    int skillsLen = skills.size();
+    if (type == LampType.XP) {
+      return getXpForLevel(1);
+    } else if (skills.size() != 1) {
+      throw new DynamicLampRewardException("Dynamic lamps can only be used on one skill");
+    }
+
+    return getXpForLevel(player.getLevel(skills.iterator().next()));
+  }
+
+  /**
+   * Returns the amount of xp that this lamp will reward for a {@link Skill} at the given level.
+   *
+   * The xp for {@link LampType#XP} lamps does not depend on the level.
+   *
+   * @param level the skill level
+   * @return the xp
+   */
+  public double getXpForLevel(int level) {
+    int index = Math.min(98, level) - 1;
     double actualXp;
 
     if (type == LampType.XP) {
       actualXp = xp;
-    } else if (skillsLen != 1) {
-      throw new DynamicLampRewardException("Dynamic lamps can only be used on one skill");
+    } else if (type == LampType.SMALL_XP) {
+      actualXp = SMALL_XP_LAMP_VALUES[index];
+    } else if (type == LampType.MEDIUM_XP) {
+      actualXp = MEDIUM_XP_LAMP_VALUES[index];
+    } else if (type == LampType.LARGE_XP) {
+      actualXp = LARGE_XP_LAMP_VALUES[index];
+    } else if (type == LampType.HUGE_XP) {
+      actualXp = HUGE_XP_LAMP_VALUES[index];
+    } else if (type == LampType.DRAGONKIN) {
+      actualXp = Math.floor((Math.pow(level, 3) - 2 * Math.pow(level, 2) + 100 * level) / 20);
     } else {
-      int level = player.getLevel(skills.iterator().next());
-      int index = Math.min(98, level) - 1;
-
-      if (type == LampType.SMALL_XP) {
-        actualXp = SMALL_XP_LAMP_VALUES[index];
-      } else if (type == LampType.MEDIUM_XP) {
-        actualXp = MEDIUM_XP_LAMP_VALUES[index];
-      } else if (type == LampType.LARGE_XP) {
-        actualXp = LARGE_XP_LAMP_VALUES[index];
-      } else if (type == LampType.HUGE_XP) {
-        actualXp = HUGE_XP_LAMP_VALUES[index];
-      } else if (type == LampType.DRAGONKIN) {
-        actualXp = Math.floor((Math.pow(level, 3) - 2 * Math.pow(level, 2) + 100 * level) / 20);
-      } else {
-        throw new IllegalArgumentException("Unknown lamp type: " + type);
-      }
+      throw new IllegalArgumentException("Unknown lamp type: " + type);
     }
 
-    actualXp *= multiplier;
-
-    return actualXp;
+    return actualXp * multiplier;
   }
 
   /**
@@ -0,0 +1,28 @@
+package com.darrenswhite.rs.ironquest.util;
+
+/**
+ * Utility methods for 64-bit fingerprints of state.
+ *
+ * @author Darren S. White
+ */
+public final class Fingerprints {
+
+  private Fingerprints() {
+  }
+
+  /**
+   * Mix the bits of a value with the SplitMix64 finaliser, so that similar values have unrelated
+   * keys which can be combined into a fingerprint by XOR or addition.
+   *
+   * @param value the value
+   * @return the pseudo-random key for the value
+   */
+  public static long mix(long value) {
+    long z = value + 0x9E3779B97F4A7C15L;
+
+    z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+
+    return z ^ z >>> 31;
+  }
+}
@@ -2,6 +2,7 @@ package com.darrenswhite.rs.ironquest.action;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -175,6 +176,22 @@ class LampActionTest {
       assertThat(copied.getPlayer(), equalTo(playerToCopy));
       assertThat(copied, not(sameInstance(lampAction)));
     }
+
+    @Test
+    void shouldCopyWithoutSnapshot() {
+      Quest quest = new Quest.Builder().build();
+      Player player = new Player.Builder().build();
+      LampReward lampReward = new LampReward.Builder().withType(LampType.XP).withXp(500).build();
+      Set<Skill> skills = Collections.singleton(Skill.ATTACK);
+
+      LampAction lampAction = new LampAction(player, false, quest, lampReward, skills);
+
+      LampAction copied = lampAction.copyForPlayer(player, false);
+
+      assertThat(copied.getPlayer(), nullValue());
+      assertThat(copied.getMessage(), equalTo(lampAction.getMessage()));
+      assertThat(copied.createDTO().getPlayer(), nullValue());
+    }
   }
 
   @Nested
@@ -182,7 +199,7 @@ class LampActionTest {
 
     @Test
     void shouldVerifyEqualsAndHashCode() {
-      EqualsVerifier.forClass(LampAction.class)
+      EqualsVerifier.forClass(LampAction.class).withIgnoredFields("xp")
           .withPrefabValues(Quest.class, new Quest.Builder(0).build(), new Quest.Builder(1).build())
           .verify();
     }
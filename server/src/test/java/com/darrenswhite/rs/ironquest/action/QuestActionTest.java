@@ -2,6 +2,7 @@ package com.darrenswhite.rs.ironquest.action;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -55,15 +56,15 @@ class QuestActionTest {
   class MeetsRequirements {
 
     @Test
-    void shouldCallMeetsAllRequirementsOnQuest() {
-      Quest quest = mock(Quest.class);
-      Player player = new Player.Builder().build();
+    void shouldCallMeetsAllRequirementsOnPlayer() {
+      Quest quest = new Quest.Builder().build();
+      Player player = mock(Player.class);
 
-      QuestAction questAction = new QuestAction(player, quest);
+      QuestAction questAction = new QuestAction(new Player.Builder().build(), quest);
 
       questAction.meetsRequirements(player);
 
-      verify(quest).meetsAllRequirements(player);
+      verify(player).meetsAllRequirements(quest);
     }
   }
 
@@ -127,6 +128,20 @@ class QuestActionTest {
       assertThat(copied.getPlayer(), equalTo(playerToCopy));
       assertThat(copied, not(sameInstance(questAction)));
     }
+
+    @Test
+    void shouldCopyWithoutSnapshot() {
+      Quest quest = new Quest.Builder().build();
+      Player player = new Player.Builder().build();
+
+      QuestAction questAction = new QuestAction(player, quest);
+
+      QuestAction copied = questAction.copyForPlayer(player, false);
+
+      assertThat(copied.getQuest(), equalTo(quest));
+      assertThat(copied.getPlayer(), nullValue());
+      assertThat(copied.createDTO().getPlayer(), nullValue());
+    }
   }
 
   @Nested
@@ -2,6 +2,7 @@ package com.darrenswhite.rs.ironquest.action;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -107,6 +108,19 @@ class TrainActionTest {
       assertThat(copied.getPlayer(), equalTo(playerToCopy));
       assertThat(copied, not(sameInstance(trainAction)));
     }
+
+    @Test
+    void shouldCopyWithoutSnapshot() {
+      Player player = new Player.Builder().build();
+
+      TrainAction trainAction = new TrainAction(player, Skill.DIVINATION, 1500, 5000);
+
+      TrainAction copied = trainAction.copyForPlayer(player, false);
+
+      assertThat(copied.getMessage(), equalTo(trainAction.getMessage()));
+      assertThat(copied.getPlayer(), nullValue());
+      assertThat(copied.createDTO().getPlayer(), nullValue());
+    }
   }
 
   @Nested
@@ -2,16 +2,29 @@ package com.darrenswhite.rs.ironquest.controller;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.darrenswhite.rs.ironquest.dto.PathDTO;
 import com.darrenswhite.rs.ironquest.dto.PathFinderParametersDTO;
-import com.darrenswhite.rs.ironquest.path.BestQuestNotFoundException;
 import com.darrenswhite.rs.ironquest.path.Path;
+import com.darrenswhite.rs.ironquest.path.PathCancelledException;
 import com.darrenswhite.rs.ironquest.path.PathFinder;
+import com.darrenswhite.rs.ironquest.path.PathFinderOptions;
+import com.darrenswhite.rs.ironquest.path.ScoringReport;
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.player.PlayerService;
 import com.darrenswhite.rs.ironquest.player.QuestPriority;
@@ -19,15 +32,30 @@ import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.Quest;
 import com.darrenswhite.rs.ironquest.quest.QuestAccessFilter;
 import com.darrenswhite.rs.ironquest.quest.QuestTypeFilter;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import org.assertj.core.util.Sets;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
 class QuestControllerTest {
 
@@ -48,6 +76,11 @@ class QuestControllerTest {
     reset(playerService);
   }
 
+  @SuppressWarnings("unchecked")
+  static <T> T call(WebAsyncTask<T> task) throws Exception {
+    return (T) task.getCallable().call();
+  }
+
   @Nested
   class GetQuests {
 
@@ -71,6 +104,7 @@ class QuestControllerTest {
       parameters.setRecommended(true);
       parameters.setLampSkills(lampSkills);
       parameters.setQuestPriorities(questPriorities);
+      parameters.setOrderOnly(true);
 
       when(playerService
           .createPlayer(name, accessFilter, typeFilter, true, true, lampSkills, questPriorities))
@@ -87,7 +121,7 @@ class QuestControllerTest {
   class GetPath {
 
     @Test
-    void shouldFindPathAndCreateDTO() throws BestQuestNotFoundException {
+    void shouldFindPathAndCreateDTO() throws Exception {
       String name = "username";
       QuestAccessFilter accessFilter = QuestAccessFilter.ALL;
       QuestTypeFilter typeFilter = QuestTypeFilter.ALL;
@@ -105,20 +139,290 @@ class QuestControllerTest {
       parameters.setRecommended(true);
       parameters.setLampSkills(lampSkills);
       parameters.setQuestPriorities(questPriorities);
+      parameters.setOrderOnly(true);
+      parameters.setParallel(true);
+      parameters.setBeamWidth(4);
+      parameters.setTimeBudget(1000);
+      parameters.setDeadline(2000);
+      parameters.setOptimiseLamps(true);
+      parameters.setTargets(Collections.singleton(1));
+      parameters.setSuffixCache(true);
+      parameters.setApproximateScores(true);
 
       when(playerService
           .createPlayer(name, accessFilter, typeFilter, true, true, lampSkills, questPriorities))
           .thenReturn(player);
-      when(pathFinder.find(player)).thenReturn(path);
+      when(pathFinder.find(eq(player), any(PathFinderOptions.class))).thenReturn(path);
       when(path.createDTO()).thenReturn(pathDTO);
 
-      PathDTO result = controller.getPath(parameters);
+      PathDTO result = call(controller.getPath(parameters));
 
       verify(playerService)
           .createPlayer(name, accessFilter, typeFilter, true, true, lampSkills, questPriorities);
-      verify(pathFinder).find(player);
+      ArgumentCaptor<PathFinderOptions> options = ArgumentCaptor.forClass(PathFinderOptions.class);
+      verify(pathFinder).find(eq(player), options.capture());
+      assertThat(options.getValue().isOrderOnly(), equalTo(true));
+      assertThat(options.getValue().isParallel(), equalTo(true));
+      assertThat(options.getValue().getBeamWidth(), equalTo(4));
+      assertThat(options.getValue().getTimeBudget(), equalTo(Duration.ofSeconds(1)));
+      assertThat(options.getValue().getDeadline(), equalTo(Duration.ofSeconds(2)));
+      assertThat(options.getValue().isOptimiseLamps(), equalTo(true));
+      assertThat(options.getValue().getTargets(), equalTo(Collections.singleton(1)));
+      assertThat(options.getValue().isSuffixCache(), equalTo(true));
+      assertThat(options.getValue().isApproximateScores(), equalTo(true));
       verify(path).createDTO();
       assertThat(result, equalTo(pathDTO));
     }
   }
+
+  @Nested
+  class GetPaths {
+
+    @Test
+    void shouldFindAlternativePathsAndCreateDTOs() throws Exception {
+      Player player = mock(Player.class);
+      Path path = mock(Path.class);
+      Path alternativePath = mock(Path.class);
+      PathDTO pathDTO = mock(PathDTO.class);
+      PathDTO alternativePathDTO = mock(PathDTO.class);
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setBeamWidth(2);
+      parameters.setAlternatives(5);
+
+      when(playerService
+          .createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              parameters.getLampSkills(), parameters.getQuestPriorities())).thenReturn(player);
+      when(pathFinder.findAlternatives(eq(player), any(PathFinderOptions.class), eq(5)))
+          .thenReturn(Arrays.asList(path, alternativePath));
+      when(path.createDTO()).thenReturn(pathDTO);
+      when(alternativePath.createDTO()).thenReturn(alternativePathDTO);
+
+      List<PathDTO> result = call(controller.getPaths(parameters));
+
+      ArgumentCaptor<PathFinderOptions> options = ArgumentCaptor.forClass(PathFinderOptions.class);
+      verify(pathFinder).findAlternatives(eq(player), options.capture(), eq(5));
+      assertThat(options.getValue().getBeamWidth(), equalTo(2));
+      assertThat(result, contains(pathDTO, alternativePathDTO));
+    }
+
+    @Test
+    void shouldLimitAlternatives() throws Exception {
+      Player player = mock(Player.class);
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setAlternatives(QuestController.MAX_ALTERNATIVES + 1);
+
+      when(playerService
+          .createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              parameters.getLampSkills(), parameters.getQuestPriorities())).thenReturn(player);
+      when(pathFinder.findAlternatives(eq(player), any(PathFinderOptions.class), anyInt()))
+          .thenReturn(Collections.emptyList());
+
+      call(controller.getPaths(parameters));
+
+      verify(pathFinder).findAlternatives(eq(player), any(PathFinderOptions.class),
+          eq(QuestController.MAX_ALTERNATIVES));
+    }
+  }
+
+  @Nested
+  class BeamSearch {
+
+    @Test
+    void shouldLimitBeamWidth() throws Exception {
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setBeamWidth(QuestController.MAX_BEAM_WIDTH + 1);
+      parameters.setTimeBudget(1000);
+
+      assertThat(findOptions(parameters).getBeamWidth(), equalTo(QuestController.MAX_BEAM_WIDTH));
+    }
+
+    @Test
+    void shouldApplyDefaultTimeBudgetToBeamSearch() throws Exception {
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setBeamWidth(2);
+
+      assertThat(findOptions(parameters).getTimeBudget(),
+          equalTo(QuestController.DEFAULT_TIME_BUDGET));
+      assertThat(controller.getPath(parameters).getTimeout(), equalTo(
+          QuestController.DEFAULT_TIME_BUDGET.plus(QuestController.TIMEOUT_MARGIN).toMillis()));
+    }
+
+    @Test
+    void shouldNotApplyDefaultTimeBudgetWithoutBeamSearch() throws Exception {
+      assertThat(findOptions(new PathFinderParametersDTO()).getTimeBudget(), equalTo(null));
+    }
+
+    PathFinderOptions findOptions(PathFinderParametersDTO parameters) throws Exception {
+      Player player = mock(Player.class);
+      Path path = mock(Path.class);
+
+      when(playerService
+          .createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              parameters.getLampSkills(), parameters.getQuestPriorities())).thenReturn(player);
+      when(pathFinder.find(eq(player), any(PathFinderOptions.class))).thenReturn(path);
+
+      call(controller.getPath(parameters));
+
+      ArgumentCaptor<PathFinderOptions> options = ArgumentCaptor.forClass(PathFinderOptions.class);
+      verify(pathFinder).find(eq(player), options.capture());
+      return options.getValue();
+    }
+  }
+
+  @Nested
+  class GetScoringReport {
+
+    @Test
+    void shouldCreateScoringReport() throws Exception {
+      Player player = mock(Player.class);
+      ScoringReport report = new ScoringReport.Builder().build();
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setParallel(true);
+
+      when(playerService
+          .createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              parameters.getLampSkills(), parameters.getQuestPriorities())).thenReturn(player);
+      when(pathFinder.createScoringReport(eq(player), any(PathFinderOptions.class)))
+          .thenReturn(report);
+
+      ScoringReport result = call(controller.getScoringReport(parameters));
+
+      ArgumentCaptor<PathFinderOptions> options = ArgumentCaptor.forClass(PathFinderOptions.class);
+      verify(pathFinder).createScoringReport(eq(player), options.capture());
+      assertThat(options.getValue().isParallel(), equalTo(true));
+      assertThat(result, equalTo(report));
+    }
+  }
+
+  @Nested
+  class Timeout {
+
+    @Test
+    void shouldAllowDeadlineForEachPath() {
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setTimeBudget(1000);
+      parameters.setDeadline(2000);
+
+      assertThat(controller.getPath(parameters).getTimeout(),
+          equalTo(2000 + QuestController.TIMEOUT_MARGIN.toMillis()));
+      assertThat(controller.getPaths(parameters).getTimeout(),
+          equalTo(8000 + QuestController.TIMEOUT_MARGIN.toMillis()));
+      assertThat(controller.getScoringReport(parameters).getTimeout(),
+          equalTo(4000 + QuestController.TIMEOUT_MARGIN.toMillis()));
+    }
+
+    @Test
+    void shouldAllowTimeBudgetWithoutDeadline() {
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setTimeBudget(1000);
+
+      assertThat(controller.getPath(parameters).getTimeout(),
+          equalTo(1000 + QuestController.TIMEOUT_MARGIN.toMillis()));
+    }
+
+    @Test
+    void shouldUseDefaultTimeoutWithoutDeadlineOrTimeBudget() {
+      assertThat(controller.getPath(new PathFinderParametersDTO()).getTimeout(),
+          equalTo(null));
+    }
+
+    @Test
+    void shouldTimeOutAndCancelPathFinder() throws Exception {
+      Player player = mock(Player.class);
+      MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+      when(playerService
+          .createPlayer(any(), any(), any(), anyBoolean(), anyBoolean(), any(), any()))
+          .thenReturn(player);
+      when(pathFinder.find(eq(player), any(PathFinderOptions.class))).thenAnswer(invocation -> {
+        PathFinderOptions options = invocation.getArgument(1);
+        long end = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+        while (!options.getCancellationToken().isCancelled() && System.nanoTime() < end) {
+          LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+
+        throw new PathCancelledException("Path finder was cancelled");
+      });
+
+      MvcResult result = mockMvc.perform(get("/api/quests/path").param("deadline", "2000"))
+          .andExpect(request().asyncStarted()).andReturn();
+      MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+      ArgumentCaptor<PathFinderOptions> options = ArgumentCaptor.forClass(PathFinderOptions.class);
+
+      verify(pathFinder, timeout(5000)).find(eq(player), options.capture());
+      assertThat(asyncContext.getTimeout(),
+          equalTo(2000 + QuestController.TIMEOUT_MARGIN.toMillis()));
+
+      for (AsyncListener listener : asyncContext.getListeners()) {
+        listener.onTimeout(new AsyncEvent(asyncContext));
+      }
+
+      assertThat(WebAsyncUtils.getAsyncManager(result.getRequest()).getConcurrentResult(),
+          instanceOf(AsyncRequestTimeoutException.class));
+
+      for (AsyncListener listener : asyncContext.getListeners()) {
+        listener.onComplete(new AsyncEvent(asyncContext));
+      }
+
+      assertThat(options.getValue().getCancellationToken().isCancelled(), equalTo(true));
+    }
+
+    @Test
+    void shouldRespondUnavailableWhenPathFinderIsCancelled() throws Exception {
+      Player player = mock(Player.class);
+      MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+      when(playerService
+          .createPlayer(any(), any(), any(), anyBoolean(), anyBoolean(), any(), any()))
+          .thenReturn(player);
+      when(pathFinder.find(eq(player), any(PathFinderOptions.class)))
+          .thenThrow(new PathCancelledException("Path finder was cancelled"));
+
+      MvcResult result = mockMvc.perform(get("/api/quests/path"))
+          .andExpect(request().asyncStarted()).andReturn();
+
+      mockMvc.perform(asyncDispatch(result)).andExpect(status().isServiceUnavailable());
+    }
+  }
+
+  @Nested
+  class CancelPathFinder {
+
+    @Test
+    void shouldCancelPathFinderWhenRequestCompletes() throws Exception {
+      Player player = mock(Player.class);
+      Path path = mock(Path.class);
+      MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+      when(playerService
+          .createPlayer(any(), any(), any(), anyBoolean(), anyBoolean(), any(), any()))
+          .thenReturn(player);
+      when(pathFinder.find(eq(player), any(PathFinderOptions.class))).thenReturn(path);
+
+      MvcResult result = mockMvc.perform(get("/api/quests/path"))
+          .andExpect(request().asyncStarted()).andReturn();
+
+      result.getAsyncResult();
+
+      ArgumentCaptor<PathFinderOptions> options = ArgumentCaptor.forClass(PathFinderOptions.class);
+      verify(pathFinder).find(eq(player), options.capture());
+      assertThat(options.getValue().getCancellationToken().isCancelled(), equalTo(false));
+
+      MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+
+      for (AsyncListener listener : asyncContext.getListeners()) {
+        listener.onComplete(new AsyncEvent(asyncContext));
+      }
+
+      assertThat(options.getValue().getCancellationToken().isCancelled(), equalTo(true));
+    }
+  }
 }
@@ -27,6 +27,10 @@ class PathFinderParametersDTOTest {
       assertThat(pathFinderParametersDTO.isRecommended(), equalTo(false));
       assertThat(pathFinderParametersDTO.getLampSkills(), equalTo(new LinkedHashSet<>()));
       assertThat(pathFinderParametersDTO.getQuestPriorities(), equalTo(new LinkedHashMap<>()));
+      assertThat(pathFinderParametersDTO.isOrderOnly(), equalTo(false));
+      assertThat(pathFinderParametersDTO.isSuffixCache(), equalTo(false));
+      assertThat(pathFinderParametersDTO.getAlternatives(), equalTo(3));
+      assertThat(pathFinderParametersDTO.isApproximateScores(), equalTo(false));
     }
   }
 }
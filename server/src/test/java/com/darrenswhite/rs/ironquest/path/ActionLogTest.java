@@ -0,0 +1,164 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.QuestAction;
+import com.darrenswhite.rs.ironquest.action.TrainAction;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ActionLogTest {
+
+  static final Quest questA = new Quest.Builder(0).withTitle("questA").build();
+  static final Quest questB = new Quest.Builder(1).withTitle("questB").build();
+
+  static Player createPlayer() {
+    return new Player.Builder().withQuests(new HashSet<>(Arrays.asList(questA, questB))).build();
+  }
+
+  static void train(ActionLog log, Player player, int steps) {
+    for (int i = 0; i < steps; i++) {
+      double xp = player.getXp(Skill.ATTACK);
+
+      log.add(log.process(
+          new TrainAction(player, Skill.ATTACK, xp, xp + 1000 * (i + 1), false), player));
+    }
+  }
+
+  @Nested
+  class GetPlayer {
+
+    @Test
+    void shouldReplayFromCheckpoint() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, true, 2);
+      double[] xps = new double[6];
+
+      for (int i = 1; i < xps.length; i++) {
+        train(log, player, 1);
+        xps[i] = player.getXp(Skill.ATTACK);
+      }
+
+      for (int i = 0; i < xps.length; i++) {
+        assertThat(log.getPlayer(i).getXp(Skill.ATTACK), equalTo(xps[i]));
+      }
+    }
+
+    @Test
+    void shouldReplayQuests() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, true, 4);
+
+      log.add(log.process(new QuestAction(player, questA, false), player));
+      log.add(log.process(new QuestAction(player, questB, false), player));
+
+      assertThat(log.getPlayer(0).isQuestCompleted(questA), equalTo(false));
+      assertThat(log.getPlayer(1).isQuestCompleted(questA), equalTo(true));
+      assertThat(log.getPlayer(1).isQuestCompleted(questB), equalTo(false));
+      assertThat(log.getPlayer(2).getCompletedQuests(),
+          equalTo(new HashSet<>(Arrays.asList(questA, questB))));
+    }
+
+    @Test
+    void shouldThrowExceptionWithoutSnapshots() {
+      ActionLog log = new ActionLog(createPlayer(), false);
+
+      assertThrows(UnsupportedOperationException.class, () -> log.getPlayer(0));
+    }
+  }
+
+  @Nested
+  class GetActions {
+
+    @Test
+    void shouldMaterialiseWithPlayerAfterEachStep() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, true, 3);
+
+      train(log, player, 7);
+
+      List<Action> actions = log.getActions();
+
+      assertThat(actions, hasSize(7));
+      assertThat(log.size(), equalTo(7));
+
+      for (int i = actions.size() - 1; i >= 0; i--) {
+        assertThat(actions.get(i).getPlayer(), equalTo(log.getPlayer(i + 1)));
+      }
+      assertThat(actions.get(6).getPlayer(), equalTo(player));
+    }
+
+    @Test
+    void shouldMaterialiseFutureActionsWithPlayerWhenCreated() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, true, 2);
+
+      train(log, player, 3);
+
+      Action future = new QuestAction(player, questA, false);
+
+      log.add(log.createEntry(future, log.getStepCount()));
+      train(log, player, 2);
+
+      List<Action> actions = log.getActions();
+
+      assertThat(actions.get(4).getPlayer(), equalTo(log.getPlayer(4)));
+      assertThat(actions.get(3).getPlayer(), equalTo(log.getPlayer(3)));
+      assertThat(actions.get(5).getPlayer(), equalTo(player));
+    }
+
+    @Test
+    void shouldMaterialiseOnce() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, true);
+
+      train(log, player, 1);
+
+      List<Action> actions = log.getActions();
+
+      assertThat(actions.get(0), sameInstance(actions.get(0)));
+    }
+
+    @Test
+    void shouldNotIncludeRemovedEntries() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, true);
+      ActionLog.Entry entry = log.createEntry(new QuestAction(player, questA, false), 0);
+
+      log.add(entry);
+      train(log, player, 1);
+      log.remove(entry);
+      log.remove(entry);
+
+      assertThat(log.size(), equalTo(1));
+      assertThat(log.getActions(), hasSize(1));
+      assertThat(log.getActions().get(0).getPlayer(), equalTo(player));
+    }
+
+    @Test
+    void shouldNotMaterialiseWithoutSnapshots() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, false);
+
+      train(log, player, 2);
+
+      List<Action> actions = log.getActions();
+
+      assertThat(actions, hasSize(2));
+      assertThat(actions.get(0).getPlayer(), nullValue());
+      assertThat(actions.get(1).getPlayer(), nullValue());
+    }
+  }
+}
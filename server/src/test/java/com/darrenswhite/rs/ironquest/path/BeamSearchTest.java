@@ -0,0 +1,92 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.QuestPriority;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import com.darrenswhite.rs.ironquest.quest.reward.LampType;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import com.darrenswhite.rs.ironquest.util.MapBuilder;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class BeamSearchTest {
+
+  static final Quest attackQuest = new Quest.Builder(0).withTitle("attackQuest").withRequirements(
+      new QuestRequirements.Builder().withSkills(
+          Collections.singleton(new SkillRequirement.Builder(Skill.ATTACK, 20).build())).build())
+      .build();
+  static final Quest defenceQuest = new Quest.Builder(1).withTitle("defenceQuest")
+      .withRequirements(new QuestRequirements.Builder().withSkills(
+          Collections.singleton(new SkillRequirement.Builder(Skill.DEFENCE, 30).build())).build())
+      .withRewards(new QuestRewards.Builder().withXp(
+          new MapBuilder<Skill, Double>().put(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(20)).build())
+          .withLamps(Collections.singleton(
+              new LampReward.Builder().withType(LampType.XP).withXp(1000).withRequirements(
+                  new MapBuilder<Set<Skill>, Integer>()
+                      .put(Collections.singleton(Skill.MAGIC), 10).build()).build())).build())
+      .build();
+
+  static Player createPlayer() {
+    return new Player.Builder()
+        .withQuests(new HashSet<>(Arrays.asList(attackQuest, defenceQuest))).build();
+  }
+
+  @Nested
+  class Search {
+
+    @Test
+    void shouldChooseBestQuestWithWidthOfOne() {
+      BeamSearch beamSearch = new BeamSearch(1, null);
+
+      assertThat(beamSearch.search(createPlayer()), contains(attackQuest, defenceQuest));
+    }
+
+    @Test
+    void shouldMinimiseTrainingXp() {
+      BeamSearch beamSearch = new BeamSearch(2, null);
+
+      assertThat(beamSearch.search(createPlayer()), contains(defenceQuest, attackQuest));
+    }
+
+    @Test
+    void shouldOnlyConsiderQuestsWithSamePriority() {
+      Player player = createPlayer();
+      BeamSearch beamSearch = new BeamSearch(2, null);
+
+      player.setQuestPriority(attackQuest, QuestPriority.HIGH);
+
+      assertThat(beamSearch.search(player), contains(attackQuest, defenceQuest));
+    }
+
+    @Test
+    void shouldNotModifyPlayer() {
+      Player player = createPlayer();
+
+      new BeamSearch(2, null).search(player);
+
+      assertThat(player.getIncompleteQuests().size(), equalTo(2));
+      assertThat(player.getXp(Skill.ATTACK), equalTo(0d));
+    }
+
+    @Test
+    void shouldReturnBestPartialPathWhenTimeBudgetExceeded() {
+      BeamSearch beamSearch = new BeamSearch(2, Duration.ZERO);
+
+      assertThat(beamSearch.search(createPlayer()), empty());
+    }
+  }
+}
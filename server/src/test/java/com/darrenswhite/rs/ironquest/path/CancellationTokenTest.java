@@ -0,0 +1,44 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CancellationTokenTest {
+
+  @Nested
+  class Cancel {
+
+    @Test
+    void shouldCancelToken() {
+      CancellationToken token = new CancellationToken();
+
+      assertThat(token.isCancelled(), equalTo(false));
+
+      token.cancel();
+
+      assertThat(token.isCancelled(), equalTo(true));
+    }
+  }
+
+  @Nested
+  class ThrowIfCancelled {
+
+    @Test
+    void shouldNotThrowExceptionWhenNotCancelled() {
+      new CancellationToken().throwIfCancelled();
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCancelled() {
+      CancellationToken token = new CancellationToken();
+
+      token.cancel();
+
+      assertThrows(PathCancelledException.class, token::throwIfCancelled);
+    }
+  }
+}
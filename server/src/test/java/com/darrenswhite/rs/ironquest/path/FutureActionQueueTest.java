@@ -0,0 +1,240 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.LampAction;
+import com.darrenswhite.rs.ironquest.action.QuestAction;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import com.darrenswhite.rs.ironquest.quest.reward.LampType;
+import com.darrenswhite.rs.ironquest.util.MapBuilder;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class FutureActionQueueTest {
+
+  static final Quest lampQuest = new Quest.Builder(0).withTitle("lampQuest").build();
+
+  static LampReward createLampReward(Skill skill, int level) {
+    return new LampReward.Builder().withType(LampType.XP).withXp(100).withExclusive(true)
+        .withRequirements(
+            new MapBuilder<Set<Skill>, Integer>().put(Collections.singleton(skill), level).build())
+        .build();
+  }
+
+  static ActionLog.Entry createLampEntry(ActionLog log, Player player, Skill skill, int level) {
+    return log.createEntry(new LampAction(player, true, lampQuest, createLampReward(skill, level),
+        Collections.emptySet(), false), 0);
+  }
+
+  static Player createPlayer() {
+    return new Player.Builder().withQuests(Collections.singleton(lampQuest)).build();
+  }
+
+  @Nested
+  class Poll {
+
+    @Test
+    void shouldReturnActionsInOrderAdded() {
+      Player player = new Player.Builder().build();
+      ActionLog log = new ActionLog(player, false);
+      FutureActionQueue queue = new FutureActionQueue();
+      ActionLog.Entry magic = createLampEntry(log, player, Skill.MAGIC, 10);
+      ActionLog.Entry attack = createLampEntry(log, player, Skill.ATTACK, 10);
+
+      queue.add(magic, player);
+      queue.add(attack, player);
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(10));
+      player.addSkillXP(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(10));
+
+      queue.rewind();
+
+      assertThat(queue.poll(player), equalTo(magic));
+      assertThat(queue.poll(player), equalTo(attack));
+      assertThat(queue.poll(player), nullValue());
+    }
+
+    @Test
+    void shouldOnlyReturnLaterActionsMetDuringPass() {
+      Player player = new Player.Builder().build();
+      ActionLog log = new ActionLog(player, false);
+      FutureActionQueue queue = new FutureActionQueue();
+      ActionLog.Entry magic = createLampEntry(log, player, Skill.MAGIC, 10);
+      ActionLog.Entry attack = createLampEntry(log, player, Skill.ATTACK, 10);
+      ActionLog.Entry defence = createLampEntry(log, player, Skill.DEFENCE, 10);
+
+      queue.add(magic, player);
+      queue.add(attack, player);
+      queue.add(defence, player);
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(10));
+
+      queue.rewind();
+
+      assertThat(queue.poll(player), equalTo(attack));
+
+      player.addSkillXP(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(10));
+      player.addSkillXP(Skill.DEFENCE, Skill.DEFENCE.getXpAtLevel(10));
+
+      assertThat(queue.poll(player), equalTo(defence));
+      assertThat(queue.poll(player), nullValue());
+
+      queue.rewind();
+
+      assertThat(queue.poll(player), equalTo(magic));
+      assertThat(queue.poll(player), nullValue());
+    }
+
+    @Test
+    void shouldRequireCraftingDivinationAndSmithingForInvention() {
+      Player player = new Player.Builder().build();
+      ActionLog log = new ActionLog(player, false);
+      FutureActionQueue queue = new FutureActionQueue();
+      ActionLog.Entry invention = createLampEntry(log, player, Skill.INVENTION, 1);
+
+      queue.add(invention, player);
+      queue.rewind();
+
+      assertThat(queue.poll(player), nullValue());
+
+      player.addSkillXP(Skill.CRAFTING, Skill.CRAFTING.getXpAtLevel(80));
+      player.addSkillXP(Skill.DIVINATION, Skill.DIVINATION.getXpAtLevel(80));
+      queue.rewind();
+
+      assertThat(queue.poll(player), nullValue());
+
+      player.addSkillXP(Skill.SMITHING, Skill.SMITHING.getXpAtLevel(80));
+      queue.rewind();
+
+      assertThat(queue.poll(player), equalTo(invention));
+    }
+
+    @Test
+    void shouldTestActionsWithoutThresholdsOnEveryPass() {
+      Player player = new Player.Builder().build();
+      ActionLog log = new ActionLog(player, false);
+      FutureActionQueue queue = new FutureActionQueue();
+      Action action = mock(Action.class);
+      ActionLog.Entry entry = log.createEntry(action, 0);
+
+      when(action.meetsRequirements(any())).thenReturn(false);
+
+      queue.add(entry, player);
+      queue.rewind();
+
+      assertThat(queue.poll(player), nullValue());
+
+      queue.rewind();
+
+      assertThat(queue.poll(player), nullValue());
+      verify(action, times(2)).meetsRequirements(player);
+    }
+  }
+
+  @Nested
+  class GetFingerprint {
+
+    @Test
+    void shouldNotDependOnOrderAdded() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, false);
+      ActionLog.Entry magic = createLampEntry(log, player, Skill.MAGIC, 10);
+      ActionLog.Entry attack = createLampEntry(log, player, Skill.ATTACK, 10);
+      FutureActionQueue first = new FutureActionQueue();
+      FutureActionQueue second = new FutureActionQueue();
+
+      first.add(magic, player);
+      first.add(attack, player);
+      second.add(attack, player);
+      second.add(magic, player);
+
+      assertThat(first.getFingerprint(player), equalTo(second.getFingerprint(player)));
+      assertThat(first.getFingerprint(player), not(equalTo(0L)));
+    }
+
+    @Test
+    void shouldRemoveActionsWhenPolled() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, false);
+      FutureActionQueue queue = new FutureActionQueue();
+
+      queue.add(createLampEntry(log, player, Skill.MAGIC, 10), player);
+      queue.add(createLampEntry(log, player, Skill.MAGIC, 10), player);
+
+      player.addSkillXP(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(10));
+
+      queue.rewind();
+      queue.poll(player);
+
+      assertThat(queue.getFingerprint(player), not(equalTo(0L)));
+
+      queue.poll(player);
+
+      assertThat(queue.getFingerprint(player), equalTo(0L));
+    }
+
+    @Test
+    void shouldKeyEqualActionsByContent() {
+      Player firstPlayer = createPlayer();
+      Player secondPlayer = createPlayer();
+      FutureActionQueue first = new FutureActionQueue();
+      FutureActionQueue second = new FutureActionQueue();
+
+      first.add(createLampEntry(new ActionLog(firstPlayer, false), firstPlayer, Skill.MAGIC, 10),
+          firstPlayer);
+      second.add(
+          createLampEntry(new ActionLog(secondPlayer, false), secondPlayer, Skill.MAGIC, 10),
+          secondPlayer);
+
+      assertThat(first.getFingerprint(firstPlayer), equalTo(second.getFingerprint(secondPlayer)));
+    }
+
+    @Test
+    void shouldDependOnActionContent() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, false);
+      FutureActionQueue first = new FutureActionQueue();
+      FutureActionQueue second = new FutureActionQueue();
+      FutureActionQueue third = new FutureActionQueue();
+
+      first.add(createLampEntry(log, player, Skill.MAGIC, 10), player);
+      second.add(createLampEntry(log, player, Skill.MAGIC, 20), player);
+      third.add(log.createEntry(new QuestAction(player, lampQuest, false), 0), player);
+
+      assertThat(first.getFingerprint(player), not(equalTo(second.getFingerprint(player))));
+      assertThat(first.getFingerprint(player), not(equalTo(third.getFingerprint(player))));
+      assertThat(third.getFingerprint(player), not(equalTo(0L)));
+    }
+
+    @Test
+    void shouldIncludePreviousLampSkills() {
+      Player player = createPlayer();
+      ActionLog log = new ActionLog(player, false);
+      FutureActionQueue queue = new FutureActionQueue();
+
+      queue.add(createLampEntry(log, player, Skill.MAGIC, 10), player);
+
+      long fingerprint = queue.getFingerprint(player);
+
+      player.createLampAction(lampQuest, createLampReward(Skill.ATTACK, 1), false);
+
+      assertThat(player.getPreviousLampSkills(lampQuest), not(empty()));
+      assertThat(queue.getFingerprint(player), not(equalTo(fingerprint)));
+    }
+  }
+}
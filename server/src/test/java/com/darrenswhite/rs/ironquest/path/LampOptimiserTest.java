@@ -0,0 +1,228 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.LampAction;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import com.darrenswhite.rs.ironquest.quest.reward.LampType;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import com.darrenswhite.rs.ironquest.util.MapBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LampOptimiserTest {
+
+  static final LampReward lampReward = createLampReward(1000, 1, false);
+
+  /**
+   * Create quests where the lamp is best used on defence, as the attack requirement is met by the
+   * xp reward from the second quest.
+   */
+  static List<Quest> createQuests(int defenceLevel, LampReward... lampRewards) {
+    Quest lampQuest = new Quest.Builder(0).withTitle("lampQuest").withRewards(
+        new QuestRewards.Builder().withLamps(new HashSet<>(Arrays.asList(lampRewards))).build())
+        .build();
+    Quest rewardQuest = new Quest.Builder(1).withTitle("rewardQuest").withRequirements(
+        new QuestRequirements.Builder().withQuests(
+            Collections.singleton(new QuestRequirement.Builder(lampQuest).build())).build())
+        .withRewards(new QuestRewards.Builder()
+            .withXp(new MapBuilder<Skill, Double>().put(Skill.ATTACK, 2000d).build()).build())
+        .build();
+    Quest requirementQuest = new Quest.Builder(2).withTitle("requirementQuest").withRequirements(
+        new QuestRequirements.Builder().withQuests(
+            Collections.singleton(new QuestRequirement.Builder(rewardQuest).build())).withSkills(
+            new HashSet<>(Arrays.asList(new SkillRequirement.Builder(Skill.ATTACK, 13).build(),
+                new SkillRequirement.Builder(Skill.DEFENCE, defenceLevel).build()))).build())
+        .build();
+
+    return Arrays.asList(lampQuest, rewardQuest, requirementQuest);
+  }
+
+  static LampReward createLampReward(double xp, int defenceLevel, boolean exclusive) {
+    return new LampReward.Builder().withType(LampType.XP).withXp(xp).withExclusive(exclusive)
+        .withRequirements(new MapBuilder<Set<Skill>, Integer>()
+            .put(Collections.singleton(Skill.ATTACK), 1)
+            .put(Collections.singleton(Skill.DEFENCE), defenceLevel).build()).build();
+  }
+
+  /**
+   * Create quests where one lamp is best used on attack and the other on defence.
+   *
+   * The lamps are held by instance, so identical lamps are both rewarded.
+   */
+  static List<Quest> createQuestsWithIdenticalLamps(LampReward... lampRewards) {
+    Set<LampReward> lamps = Collections.newSetFromMap(new IdentityHashMap<>());
+    lamps.addAll(Arrays.asList(lampRewards));
+    Quest lampQuest = new Quest.Builder(0).withTitle("lampQuest")
+        .withRewards(new QuestRewards.Builder().withLamps(lamps).build()).build();
+    Quest requirementQuest = new Quest.Builder(1).withTitle("requirementQuest").withRequirements(
+        new QuestRequirements.Builder().withQuests(
+            Collections.singleton(new QuestRequirement.Builder(lampQuest).build())).withSkills(
+            new HashSet<>(Arrays.asList(new SkillRequirement.Builder(Skill.ATTACK, 9).build(),
+                new SkillRequirement.Builder(Skill.DEFENCE, 9).build()))).build())
+        .build();
+
+    return Arrays.asList(lampQuest, requirementQuest);
+  }
+
+  static Player createPlayer(List<Quest> quests) {
+    return new Player.Builder().withQuests(new HashSet<>(quests)).build();
+  }
+
+  /**
+   * Complete the quests in order, returning the processed actions.
+   */
+  static List<Action> complete(Player player, List<Quest> quests) {
+    ActionLog log = new ActionLog(player, false);
+
+    for (Quest quest : quests) {
+      for (Action action : player.completeQuest(quest, false)) {
+        log.process(action, player);
+      }
+    }
+
+    return log.getSteps();
+  }
+
+  @Nested
+  class Optimise {
+
+    @Test
+    void shouldMoveLampToReduceTrainXp() {
+      List<Quest> quests = createQuests(9, lampReward);
+      Player player = createPlayer(quests);
+      LampOptimiser optimiser = new LampOptimiser(player, complete(player.copy(), quests));
+
+      assertThat(optimiser.getTrainXp(), equalTo(Skill.DEFENCE.getXpAtLevel(9)));
+
+      Map<Quest, Map<LampReward, Set<Skill>>> lampSkills = optimiser.optimise();
+
+      assertThat(lampSkills.get(quests.get(0)).get(lampReward),
+          equalTo(Collections.singleton(Skill.DEFENCE)));
+      assertThat(optimiser.getTrainXp(), equalTo(0D));
+    }
+
+    @Test
+    void shouldNotMoveLampWhenStopped() {
+      List<Quest> quests = createQuests(9, lampReward);
+      Player player = createPlayer(quests);
+      LampOptimiser optimiser = new LampOptimiser(player, complete(player.copy(), quests));
+
+      Map<Quest, Map<LampReward, Set<Skill>>> lampSkills = optimiser.optimise(() -> true);
+
+      assertThat(lampSkills.get(quests.get(0)).get(lampReward),
+          equalTo(Collections.singleton(Skill.ATTACK)));
+      assertThat(optimiser.getTrainXp(), equalTo(Skill.DEFENCE.getXpAtLevel(9)));
+    }
+
+    @Test
+    void shouldNotMoveLampUsedOnPreferredSkill() {
+      List<Quest> quests = createQuests(9, lampReward);
+      Player player = new Player.Builder().withQuests(new HashSet<>(quests))
+          .withLampSkills(Collections.singleton(Skill.ATTACK)).build();
+      LampOptimiser optimiser = new LampOptimiser(player, complete(player.copy(), quests));
+
+      Map<Quest, Map<LampReward, Set<Skill>>> lampSkills = optimiser.optimise();
+
+      assertThat(lampSkills.get(quests.get(0)).get(lampReward),
+          equalTo(Collections.singleton(Skill.ATTACK)));
+    }
+
+    @Test
+    void shouldNotMoveLampToChoiceWithUnmetLevelRequirement() {
+      LampReward lampRewardWithRequirement = createLampReward(1000, 5, false);
+      List<Quest> quests = createQuests(9, lampRewardWithRequirement);
+      Player player = createPlayer(quests);
+      LampOptimiser optimiser = new LampOptimiser(player, complete(player.copy(), quests));
+
+      Map<Quest, Map<LampReward, Set<Skill>>> lampSkills = optimiser.optimise();
+
+      assertThat(lampSkills.get(quests.get(0)).get(lampRewardWithRequirement),
+          equalTo(Collections.singleton(Skill.ATTACK)));
+      assertThat(optimiser.getTrainXp(), equalTo(Skill.DEFENCE.getXpAtLevel(9)));
+    }
+
+    @Test
+    void shouldNotReuseExclusiveChoice() {
+      LampReward firstLampReward = createLampReward(1000, 1, true);
+      LampReward secondLampReward = createLampReward(1001, 1, true);
+      List<Quest> quests = createQuests(14, firstLampReward, secondLampReward);
+      Player player = createPlayer(quests);
+      LampOptimiser optimiser = new LampOptimiser(player, complete(player.copy(), quests));
+
+      Map<LampReward, Set<Skill>> lampSkills = optimiser.optimise().get(quests.get(0));
+
+      assertThat(lampSkills.values(), containsInAnyOrder(Collections.singleton(Skill.ATTACK),
+          Collections.singleton(Skill.DEFENCE)));
+    }
+
+    @Test
+    void shouldKeepChoiceOfEachIdenticalLamp() {
+      LampReward firstLampReward = createLampReward(1000, 1, false);
+      LampReward secondLampReward = createLampReward(1000, 1, false);
+      List<Quest> quests = createQuestsWithIdenticalLamps(firstLampReward, secondLampReward);
+      Player player = createPlayer(quests);
+      LampOptimiser optimiser = new LampOptimiser(player, complete(player.copy(), quests));
+
+      Map<LampReward, Set<Skill>> lampSkills = optimiser.optimise().get(quests.get(0));
+
+      assertThat(lampSkills.size(), equalTo(2));
+      assertThat(Arrays.asList(lampSkills.get(firstLampReward), lampSkills.get(secondLampReward)),
+          containsInAnyOrder(Collections.singleton(Skill.ATTACK),
+              Collections.singleton(Skill.DEFENCE)));
+      assertThat(optimiser.getTrainXp(), equalTo(0D));
+    }
+  }
+
+  @Nested
+  class GetLampSkills {
+
+    @Test
+    void shouldReturnSkillsUsedForEachLamp() {
+      List<Quest> quests = createQuests(9, lampReward);
+      Player player = createPlayer(quests);
+
+      Map<Quest, Map<LampReward, Set<Skill>>> lampSkills = LampOptimiser
+          .getLampSkills(complete(player, quests));
+
+      assertThat(lampSkills.keySet(), equalTo(Collections.singleton(quests.get(0))));
+      assertThat(lampSkills.get(quests.get(0)).get(lampReward),
+          equalTo(Collections.singleton(Skill.ATTACK)));
+    }
+
+    @Test
+    void shouldReturnSkillsUsedForEachIdenticalLamp() {
+      LampReward firstLampReward = createLampReward(1000, 1, false);
+      LampReward secondLampReward = createLampReward(1000, 1, false);
+      List<Quest> quests = createQuestsWithIdenticalLamps(firstLampReward, secondLampReward);
+      Player player = createPlayer(quests);
+      List<Action> steps = complete(player, quests.subList(0, 1));
+
+      Map<LampReward, Set<Skill>> lampSkills = LampOptimiser.getLampSkills(steps)
+          .get(quests.get(0));
+
+      assertThat(lampSkills.size(), equalTo(2));
+      for (Action step : steps.subList(1, 3)) {
+        LampAction lampAction = (LampAction) step;
+
+        assertThat(lampSkills.get(lampAction.getLampReward()), equalTo(lampAction.getSkills()));
+      }
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PathFinderOptionsTest {
+
+  @Nested
+  class Builder {
+
+    @Test
+    void shouldSetDefaultValues() {
+      PathFinderOptions options = new PathFinderOptions.Builder().build();
+
+      assertThat(options.isOrderOnly(), equalTo(false));
+      assertThat(options.isParallel(), equalTo(false));
+      assertThat(options.getBeamWidth(), equalTo(1));
+      assertThat(options.getTimeBudget(), nullValue());
+      assertThat(options.getDeadline(), nullValue());
+      assertThat(options.isOptimiseLamps(), equalTo(false));
+      assertThat(options.getTargets(), empty());
+      assertThat(options.isSuffixCache(), equalTo(false));
+      assertThat(options.isApproximateScores(), equalTo(false));
+      assertThat(options.isResumable(), equalTo(false));
+      assertThat(options.getCancellationToken().isCancelled(), equalTo(false));
+    }
+
+    @Test
+    void shouldSetOrderOnly() {
+      PathFinderOptions options = new PathFinderOptions.Builder().withOrderOnly(true).build();
+
+      assertThat(options.isOrderOnly(), equalTo(true));
+    }
+
+    @Test
+    void shouldSetParallel() {
+      PathFinderOptions options = new PathFinderOptions.Builder().withParallel(true).build();
+
+      assertThat(options.isParallel(), equalTo(true));
+    }
+
+    @Test
+    void shouldSetBeamWidthAndTimeBudget() {
+      PathFinderOptions options = new PathFinderOptions.Builder().withBeamWidth(4)
+          .withTimeBudget(Duration.ofSeconds(1)).build();
+
+      assertThat(options.getBeamWidth(), equalTo(4));
+      assertThat(options.getTimeBudget(), equalTo(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void shouldSetDeadline() {
+      PathFinderOptions options = new PathFinderOptions.Builder()
+          .withDeadline(Duration.ofSeconds(2)).build();
+
+      assertThat(options.getDeadline(), equalTo(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void shouldSetOptimiseLamps() {
+      PathFinderOptions options = new PathFinderOptions.Builder().withOptimiseLamps(true).build();
+
+      assertThat(options.isOptimiseLamps(), equalTo(true));
+    }
+
+    @Test
+    void shouldSetTargets() {
+      PathFinderOptions options = new PathFinderOptions.Builder()
+          .withTargets(Collections.singleton(1)).build();
+
+      assertThat(options.getTargets(), equalTo(Collections.singleton(1)));
+    }
+
+    @Test
+    void shouldSetSuffixCache() {
+      PathFinderOptions options = new PathFinderOptions.Builder().withSuffixCache(true).build();
+
+      assertThat(options.isSuffixCache(), equalTo(true));
+    }
+
+    @Test
+    void shouldSetApproximateScores() {
+      PathFinderOptions options = new PathFinderOptions.Builder().withApproximateScores(true)
+          .build();
+
+      assertThat(options.isApproximateScores(), equalTo(true));
+    }
+
+    @Test
+    void shouldSetResumable() {
+      PathFinderOptions options = new PathFinderOptions.Builder().withResumable(true).build();
+
+      assertThat(options.isResumable(), equalTo(true));
+    }
+
+    @Test
+    void shouldSetCancellationToken() {
+      CancellationToken token = new CancellationToken();
+      PathFinderOptions options = new PathFinderOptions.Builder().withCancellationToken(token)
+          .build();
+
+      assertThat(options.getCancellationToken(), sameInstance(token));
+    }
+
+    @Test
+    void shouldCopyOptions() {
+      PathFinderOptions options = new PathFinderOptions.Builder().withOrderOnly(true)
+          .withParallel(true).withBeamWidth(3).withTimeBudget(Duration.ofSeconds(1))
+          .withDeadline(Duration.ofSeconds(2)).withOptimiseLamps(true)
+          .withTargets(Collections.singleton(1)).withSuffixCache(true).withApproximateScores(true)
+          .withResumable(true).build();
+      PathFinderOptions copy = new PathFinderOptions.Builder(options).build();
+
+      assertThat(copy.isOrderOnly(), equalTo(true));
+      assertThat(copy.isParallel(), equalTo(true));
+      assertThat(copy.getBeamWidth(), equalTo(3));
+      assertThat(copy.getTimeBudget(), equalTo(Duration.ofSeconds(1)));
+      assertThat(copy.getDeadline(), equalTo(Duration.ofSeconds(2)));
+      assertThat(copy.isOptimiseLamps(), equalTo(true));
+      assertThat(copy.getTargets(), equalTo(Collections.singleton(1)));
+      assertThat(copy.isSuffixCache(), equalTo(true));
+      assertThat(copy.isApproximateScores(), equalTo(true));
+      assertThat(copy.isResumable(), equalTo(true));
+      assertThat(copy.getCancellationToken(), sameInstance(options.getCancellationToken()));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidBeamWidth() {
+      PathFinderOptions.Builder builder = new PathFinderOptions.Builder();
+
+      assertThrows(IllegalArgumentException.class, () -> builder.withBeamWidth(0));
+    }
+  }
+}
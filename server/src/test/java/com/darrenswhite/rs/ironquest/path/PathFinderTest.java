@@ -2,10 +2,19 @@ package com.darrenswhite.rs.ironquest.path;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.darrenswhite.rs.ironquest.action.Action;
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.player.QuestStatus;
 import com.darrenswhite.rs.ironquest.player.Skill;
@@ -13,14 +22,19 @@ import com.darrenswhite.rs.ironquest.quest.Quest;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
 import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
 import com.darrenswhite.rs.ironquest.quest.reward.LampType;
 import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
 import com.darrenswhite.rs.ironquest.util.MapBuilder;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -81,6 +95,245 @@ class PathFinderTest {
       assertThat(path.getStats().getPercentComplete(), equalTo(33D));
     }
 
+    @Test
+    void shouldFindWithBeamSearch() throws BestQuestNotFoundException {
+      Player player = new Player.Builder().withQuests(new HashSet<>(
+          Arrays.asList(BeamSearchTest.attackQuest, BeamSearchTest.defenceQuest))).build();
+      PathFinderOptions options = new PathFinderOptions.Builder().withBeamWidth(2).build();
+
+      Path path = pathFinder.find(player, options);
+      List<String> messages = path.getActions().stream().map(Action::getMessage)
+          .collect(Collectors.toList());
+
+      assertThat(messages.indexOf("defenceQuest"), lessThan(messages.indexOf("attackQuest")));
+      assertThat(player.getIncompleteQuests(), empty());
+    }
+
+    @Test
+    void shouldFindNearestQuestsAfterDeadline() throws BestQuestNotFoundException {
+      Player player = new Player.Builder().withQuests(new HashSet<>(
+          Arrays.asList(BeamSearchTest.attackQuest, BeamSearchTest.defenceQuest))).build();
+      PathFinderOptions options = new PathFinderOptions.Builder().withBeamWidth(2)
+          .withDeadline(Duration.ZERO).build();
+
+      Path path = pathFinder.find(player, options);
+      List<String> messages = path.getActions().stream().map(Action::getMessage)
+          .collect(Collectors.toList());
+
+      assertThat(messages.indexOf("attackQuest"), lessThan(messages.indexOf("defenceQuest")));
+      assertThat(player.getIncompleteQuests(), empty());
+      assertThat(path.getStats().isDegraded(), equalTo(true));
+    }
+
+    @Test
+    void shouldNotDegradeBeforeDeadline() throws BestQuestNotFoundException {
+      Player player = new Player.Builder().withQuests(new HashSet<>(
+          Arrays.asList(BeamSearchTest.attackQuest, BeamSearchTest.defenceQuest))).build();
+      PathFinderOptions options = new PathFinderOptions.Builder()
+          .withDeadline(Duration.ofHours(1)).build();
+
+      Path path = pathFinder.find(player, options);
+
+      assertThat(player.getIncompleteQuests(), empty());
+      assertThat(path.getStats().isDegraded(), equalTo(false));
+    }
+
+    @Test
+    void shouldOptimiseLamps() throws BestQuestNotFoundException {
+      List<Quest> quests = LampOptimiserTest.createQuests(9, LampOptimiserTest.lampReward);
+      Player player = LampOptimiserTest.createPlayer(quests);
+      PathFinderOptions options = new PathFinderOptions.Builder().withOptimiseLamps(true).build();
+
+      Path path = pathFinder.find(player, options);
+      List<String> messages = path.getActions().stream().map(Action::getMessage)
+          .collect(Collectors.toList());
+
+      assertThat(messages, contains("lampQuest", "lampQuest: Use XP Lamp on Defence to gain 1k xp",
+          "rewardQuest", "requirementQuest"));
+      assertThat(player.getIncompleteQuests(), empty());
+    }
+
+    @Test
+    void shouldNotOptimiseLampsAfterDeadline() throws BestQuestNotFoundException {
+      List<Quest> quests = LampOptimiserTest.createQuests(9, LampOptimiserTest.lampReward);
+      Player player = LampOptimiserTest.createPlayer(quests);
+      PathFinderOptions options = new PathFinderOptions.Builder().withOptimiseLamps(true)
+          .withDeadline(Duration.ZERO).build();
+
+      Path path = pathFinder.find(player, options);
+
+      assertThat(path.getActions().get(1).getMessage(),
+          equalTo("lampQuest: Use XP Lamp on Attack to gain 1k xp"));
+      assertThat(path.getStats().isDegraded(), equalTo(true));
+    }
+
+    @Test
+    void shouldNotOptimiseLampsByDefault() throws BestQuestNotFoundException {
+      List<Quest> quests = LampOptimiserTest.createQuests(9, LampOptimiserTest.lampReward);
+      Player player = LampOptimiserTest.createPlayer(quests);
+
+      Path path = pathFinder.find(player);
+
+      assertThat(path.getActions().get(1).getMessage(),
+          equalTo("lampQuest: Use XP Lamp on Attack to gain 1k xp"));
+      assertThat(path.getActions(), hasSize(5));
+    }
+
+    @Test
+    void shouldFindPathToTargets() throws BestQuestNotFoundException {
+      Player player = QuestTargetsTest.createPlayer();
+      PathFinderOptions options = new PathFinderOptions.Builder()
+          .withTargets(Collections.singleton(1)).build();
+
+      Path path = pathFinder.find(player, options);
+      List<String> messages = path.getActions().stream().map(Action::getMessage)
+          .collect(Collectors.toList());
+
+      assertThat(messages, contains("firstQuest", "secondQuest"));
+      assertThat(player.getIncompleteQuests(), hasSize(2));
+    }
+
+    @Test
+    void shouldCompleteOtherQuestsToReachTargets() throws BestQuestNotFoundException {
+      Player player = QuestTargetsTest.createPlayer();
+      PathFinderOptions options = new PathFinderOptions.Builder().withBeamWidth(2)
+          .withTargets(Collections.singleton(3)).build();
+
+      Path path = pathFinder.find(player, options);
+      List<String> messages = path.getActions().stream().map(Action::getMessage)
+          .collect(Collectors.toList());
+
+      assertThat(messages, hasSize(4));
+      assertThat(messages.get(3), equalTo("targetQuest"));
+      assertThat(player.getIncompleteQuests(), empty());
+    }
+
+    @Test
+    void shouldResumePreviousPath() throws BestQuestNotFoundException {
+      PathFinderOptions beamOptions = new PathFinderOptions.Builder().withBeamWidth(2)
+          .withResumable(true).build();
+      Path previous = pathFinder.find(BeamSearchTest.createPlayer(), beamOptions);
+      Player player = BeamSearchTest.createPlayer();
+
+      Path path = pathFinder.find(player,
+          new PathFinderOptions.Builder(beamOptions).withTimeBudget(Duration.ZERO).build(),
+          previous);
+
+      assertThat(path.getQuests(), contains(BeamSearchTest.defenceQuest,
+          BeamSearchTest.attackQuest));
+      assertThat(player.getIncompleteQuests(), empty());
+    }
+
+    @Test
+    void shouldSkipCompletedQuestsOfPreviousPath() throws BestQuestNotFoundException {
+      PathFinderOptions beamOptions = new PathFinderOptions.Builder().withBeamWidth(2)
+          .withResumable(true).build();
+      Path previous = pathFinder.find(BeamSearchTest.createPlayer(), beamOptions);
+      Player player = BeamSearchTest.createPlayer();
+
+      player.addSkillXP(Skill.DEFENCE, Skill.DEFENCE.getXpAtLevel(30));
+      player.completeQuest(BeamSearchTest.defenceQuest, false).stream()
+          .filter(action -> !action.isFuture()).forEach(action -> action.process(player));
+
+      Path path = pathFinder.find(player, beamOptions, previous);
+
+      assertThat(path.getQuests(), contains(BeamSearchTest.attackQuest));
+    }
+
+    @Test
+    void shouldNotResumePathWhichIsNotResumable() throws BestQuestNotFoundException {
+      PathFinderOptions beamOptions = new PathFinderOptions.Builder().withBeamWidth(2).build();
+      Path previous = pathFinder.find(BeamSearchTest.createPlayer(), beamOptions);
+
+      Path path = pathFinder.find(BeamSearchTest.createPlayer(),
+          new PathFinderOptions.Builder(beamOptions).withTimeBudget(Duration.ZERO).build(),
+          previous);
+
+      assertThat(previous.getStateKeys(), empty());
+      assertThat(path.getQuests(), contains(BeamSearchTest.attackQuest,
+          BeamSearchTest.defenceQuest));
+    }
+
+    @Test
+    void shouldNotResumePreviousPathWithDifferentConfiguration()
+        throws BestQuestNotFoundException {
+      PathFinderOptions beamOptions = new PathFinderOptions.Builder().withBeamWidth(2)
+          .withResumable(true).build();
+      Path previous = pathFinder.find(BeamSearchTest.createPlayer(), beamOptions);
+      Player player = new Player.Builder().withQuests(new HashSet<>(
+          Arrays.asList(BeamSearchTest.attackQuest, BeamSearchTest.defenceQuest)))
+          .withIronman(true).build();
+
+      Path path = pathFinder.find(player,
+          new PathFinderOptions.Builder(beamOptions).withTimeBudget(Duration.ZERO).build(),
+          previous);
+
+      assertThat(path.getQuests(), contains(BeamSearchTest.attackQuest,
+          BeamSearchTest.defenceQuest));
+    }
+
+    @Test
+    void shouldNotResumePreviousPathWithDifferentOptions() throws BestQuestNotFoundException {
+      PathFinderOptions beamOptions = new PathFinderOptions.Builder().withBeamWidth(2)
+          .withResumable(true).build();
+      Path previous = pathFinder.find(BeamSearchTest.createPlayer(), beamOptions);
+
+      Path path = pathFinder
+          .find(BeamSearchTest.createPlayer(), new PathFinderOptions.Builder().build(), previous);
+
+      assertThat(path.getQuests(), contains(BeamSearchTest.attackQuest,
+          BeamSearchTest.defenceQuest));
+    }
+
+    @Test
+    void shouldNotResumePreviousPathFromDifferentXp() throws BestQuestNotFoundException {
+      PathFinderOptions beamOptions = new PathFinderOptions.Builder().withBeamWidth(2)
+          .withResumable(true).build();
+      Path previous = pathFinder.find(BeamSearchTest.createPlayer(), beamOptions);
+      Player player = BeamSearchTest.createPlayer();
+
+      player.addSkillXP(Skill.MAGIC, 1);
+
+      Path path = pathFinder.find(player,
+          new PathFinderOptions.Builder(beamOptions).withTimeBudget(Duration.ZERO).build(),
+          previous);
+
+      assertThat(path.getQuests(), contains(BeamSearchTest.attackQuest,
+          BeamSearchTest.defenceQuest));
+    }
+
+    @Test
+    void shouldFindOrderOnly() throws BestQuestNotFoundException {
+      Quest questWithXpLampReward = new Quest.Builder().withId(0).withTitle("questWithXpLampReward")
+          .withRewards(new QuestRewards.Builder().withLamps(Collections.singleton(
+              new LampReward.Builder().withType(LampType.XP).withXp(1000).withRequirements(
+                  new MapBuilder<Set<Skill>, Integer>().put(Collections.singleton(Skill.ATTACK), 2)
+                      .build()).build())).build()).build();
+      Quest questWithQuestRequirementAndXpReward = new Quest.Builder().withId(1)
+          .withTitle("questWithXpReward").withRequirements(new QuestRequirements.Builder()
+              .withQuests(Collections
+                  .singleton(new QuestRequirement.Builder(questWithXpLampReward).build())).build())
+          .withRewards(new QuestRewards.Builder()
+              .withXp(new MapBuilder<Skill, Double>().put(Skill.ATTACK, 500d).build()).build())
+          .build();
+      Player player = new Player.Builder().withQuests(new HashSet<>(
+          Arrays.asList(questWithXpLampReward, questWithQuestRequirementAndXpReward))).build();
+      PathFinderOptions options = new PathFinderOptions.Builder().withOrderOnly(true).build();
+
+      Path path = pathFinder.find(player, options);
+
+      assertThat(path.getActions(), hasSize(3));
+      assertThat(path.getActions().get(0).getMessage(), equalTo("questWithXpLampReward"));
+      assertThat(path.getActions().get(1).getMessage(), equalTo("questWithXpReward"));
+      assertThat(path.getActions().get(2).getMessage(),
+          equalTo("questWithXpLampReward: Use XP Lamp on Attack to gain 1k xp"));
+      assertThat(path.getActions().stream().allMatch(action -> action.getPlayer() == null),
+          equalTo(true));
+      assertThat(path.getPlayer().getQuestPoints(), equalTo(player.getQuestPoints()));
+      assertThat(path.getPlayer().getXp(Skill.ATTACK), equalTo(player.getXp(Skill.ATTACK)));
+      assertThat(path.getStats().getPercentComplete(), equalTo(0D));
+    }
+
     @Test
     void shouldAddFutureActions() throws BestQuestNotFoundException {
       Quest questWithXpLampReward = new Quest.Builder().withId(0).withTitle("questWithXpLampReward")
@@ -135,4 +388,260 @@ class PathFinderTest {
       assertThrows(BestQuestNotFoundException.class, () -> pathFinder.find(player));
     }
   }
+
+  @Nested
+  class FindWithSuffixCache {
+
+    final PathFinderOptions options = new PathFinderOptions.Builder().withSuffixCache(true)
+        .build();
+
+    @Test
+    void shouldCacheRemainingQuestsFromEachState() throws BestQuestNotFoundException {
+      PathSuffixCache suffixCache = new PathSuffixCache(10);
+      PathFinder cachingPathFinder = new PathFinder(suffixCache);
+
+      Path path = cachingPathFinder.find(BeamSearchTest.createPlayer(), options);
+
+      assertThat(path.getQuests(), contains(BeamSearchTest.attackQuest,
+          BeamSearchTest.defenceQuest));
+      assertThat(suffixCache.size(), equalTo(2));
+      assertThat(cachingPathFinder.find(BeamSearchTest.createPlayer(), options).getQuests(),
+          equalTo(path.getQuests()));
+      assertThat(suffixCache.size(), equalTo(2));
+    }
+
+    @Test
+    void shouldFindSamePathAsWithoutCacheForDifferentXpAtSameLevels()
+        throws BestQuestNotFoundException {
+      Quest rewardQuest = new Quest.Builder(0).withTitle("rewardQuest").withRewards(
+          new QuestRewards.Builder().withXp(new MapBuilder<Skill, Double>().put(Skill.ATTACK, 10d)
+              .put(Skill.MAGIC, 5000d).build()).build()).build();
+      Quest attackQuest = new Quest.Builder(1).withTitle("attackQuest").withRequirements(
+          new QuestRequirements.Builder().withSkills(Collections
+              .singleton(new SkillRequirement.Builder(Skill.ATTACK, 20).build())).build())
+          .withRewards(new QuestRewards.Builder()
+              .withXp(new MapBuilder<Skill, Double>().put(Skill.MAGIC, 10000d).build()).build())
+          .build();
+      Quest magicQuest = new Quest.Builder(2).withTitle("magicQuest").withRewards(
+          new QuestRewards.Builder()
+              .withXp(new MapBuilder<Skill, Double>().put(Skill.MAGIC, 2000d).build()).build())
+          .build();
+      Set<Quest> quests = new HashSet<>(Arrays.asList(rewardQuest, attackQuest, magicQuest));
+      Player nearLevel = new Player.Builder().withQuests(quests).withSkillXps(
+          new MapBuilder<Skill, Double>().put(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(20) - 5)
+              .build()).build();
+      Player atLevel = new Player.Builder().withQuests(quests).withSkillXps(
+          new MapBuilder<Skill, Double>().put(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(19))
+              .build()).build();
+      PathFinder cachingPathFinder = new PathFinder(new PathSuffixCache(10));
+      Path uncached = pathFinder.find(atLevel.copy());
+
+      cachingPathFinder.find(nearLevel, options);
+
+      assertThat(cachingPathFinder.find(atLevel, options).getQuests(),
+          equalTo(uncached.getQuests()));
+      assertThat(uncached.getQuests(), contains(rewardQuest, magicQuest, attackQuest));
+    }
+
+    @Test
+    void shouldFollowCachedQuests() throws BestQuestNotFoundException {
+      PathSuffixCache suffixCache = mock(PathSuffixCache.class);
+      PathFinder cachingPathFinder = new PathFinder(suffixCache);
+
+      when(suffixCache.get(anyLong()))
+          .thenReturn(Arrays.asList(BeamSearchTest.defenceQuest, BeamSearchTest.attackQuest));
+
+      Path path = cachingPathFinder.find(BeamSearchTest.createPlayer(), options);
+
+      assertThat(path.getQuests(), contains(BeamSearchTest.defenceQuest,
+          BeamSearchTest.attackQuest));
+      verify(suffixCache, never()).put(anyLong(), any());
+    }
+
+    @Test
+    void shouldNotUseCacheByDefault() throws BestQuestNotFoundException {
+      PathSuffixCache suffixCache = new PathSuffixCache(10);
+
+      new PathFinder(suffixCache).find(BeamSearchTest.createPlayer());
+
+      assertThat(suffixCache.size(), equalTo(0));
+    }
+  }
+
+  @Nested
+  class FindWithApproximateScores {
+
+    final Quest requiredQuest = new Quest.Builder(0).withTitle("requiredQuest").withRequirements(
+        new QuestRequirements.Builder().withSkills(
+            Collections.singleton(new SkillRequirement.Builder(Skill.ATTACK, 30).build())).build())
+        .build();
+    final Quest unlockedQuest = new Quest.Builder(1).withTitle("unlockedQuest").withRequirements(
+        new QuestRequirements.Builder()
+            .withQuests(Collections.singleton(new QuestRequirement.Builder(requiredQuest).build()))
+            .withSkills(
+                Collections.singleton(new SkillRequirement.Builder(Skill.MAGIC, 20).build()))
+            .build()).build();
+    final Quest defenceQuest = new Quest.Builder(2).withTitle("defenceQuest").withRequirements(
+        new QuestRequirements.Builder().withSkills(
+            Collections.singleton(new SkillRequirement.Builder(Skill.DEFENCE, 40).build())).build())
+        .build();
+
+    Player createPlayer() {
+      Player player = new Player.Builder().withQuests(
+          new HashSet<>(Arrays.asList(requiredQuest, unlockedQuest, defenceQuest))).build();
+
+      player.setQuestStatus(requiredQuest, QuestStatus.COMPLETED);
+
+      return player;
+    }
+
+    @Test
+    void shouldIncludeRequirementsOfCompletedQuestRequirements()
+        throws BestQuestNotFoundException {
+      PathFinderOptions options = new PathFinderOptions.Builder().withApproximateScores(true)
+          .build();
+
+      assertThat(pathFinder.find(createPlayer()).getQuests(),
+          contains(unlockedQuest, defenceQuest));
+      assertThat(pathFinder.find(createPlayer(), options).getQuests(),
+          contains(defenceQuest, unlockedQuest));
+    }
+
+    @Test
+    void shouldNotStoreApproximateScoresOnPlayer() throws BestQuestNotFoundException {
+      Player player = createPlayer();
+      PathFinderOptions options = new PathFinderOptions.Builder().withApproximateScores(true)
+          .build();
+
+      Path path = pathFinder.find(player, options);
+
+      assertThat(path.getQuests(), contains(defenceQuest, unlockedQuest));
+      assertThat(player.getIncompleteQuests(), empty());
+      assertThat(player.isApproximateScores(), equalTo(false));
+    }
+
+    @Test
+    void shouldCompareApproximateScoresToExactScores() throws BestQuestNotFoundException {
+      Player player = createPlayer();
+
+      ScoringReport report = pathFinder
+          .createScoringReport(player, new PathFinderOptions.Builder().build());
+
+      assertThat(report.getQuests(), equalTo(2));
+      assertThat(report.getMatchingQuests(), equalTo(0));
+      assertThat(report.getFirstDifference(), equalTo(0));
+      assertThat(report.getExactTrainXp(), equalTo(report.getApproximateTrainXp()));
+      assertThat(player.getIncompleteQuests(), hasSize(2));
+      assertThat(player.isApproximateScores(), equalTo(false));
+    }
+  }
+
+  @Nested
+  class FindWithCancellation {
+
+    @Test
+    void shouldThrowExceptionWhenCancelled() {
+      CancellationToken token = new CancellationToken();
+      PathFinderOptions options = new PathFinderOptions.Builder().withCancellationToken(token)
+          .build();
+      Player player = BeamSearchTest.createPlayer();
+
+      token.cancel();
+
+      assertThrows(PathCancelledException.class, () -> pathFinder.find(player, options));
+      assertThrows(PathCancelledException.class,
+          () -> pathFinder.findAlternatives(player, options, 3));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCancelledWhileScoring() {
+      CancellationToken token = new CancellationToken() {
+        int checks = 0;
+
+        @Override
+        public boolean isCancelled() {
+          return ++checks > 1;
+        }
+      };
+      PathFinderOptions options = new PathFinderOptions.Builder().withCancellationToken(token)
+          .build();
+      Player player = BeamSearchTest.createPlayer();
+
+      assertThrows(PathCancelledException.class, () -> pathFinder.find(player, options));
+      assertThat(player.getIncompleteQuests(), hasSize(2));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCancelledDuringBeamSearch() {
+      CancellationToken token = new CancellationToken();
+      PathFinderOptions options = new PathFinderOptions.Builder().withBeamWidth(2)
+          .withCancellationToken(token).build();
+
+      token.cancel();
+
+      assertThrows(PathCancelledException.class,
+          () -> pathFinder.find(BeamSearchTest.createPlayer(), options));
+    }
+  }
+
+  @Nested
+  class FindAlternatives {
+
+    @Test
+    void shouldFindOptimalPathFirst() throws BestQuestNotFoundException {
+      List<Path> paths = pathFinder
+          .findAlternatives(BeamSearchTest.createPlayer(), new PathFinderOptions.Builder().build(),
+              3);
+
+      assertThat(paths, hasSize(2));
+      assertThat(paths.get(0).getQuests(),
+          contains(BeamSearchTest.attackQuest, BeamSearchTest.defenceQuest));
+      assertThat(paths.get(1).getQuests(),
+          contains(BeamSearchTest.defenceQuest, BeamSearchTest.attackQuest));
+    }
+
+    @Test
+    void shouldLimitNumberOfPaths() throws BestQuestNotFoundException {
+      List<Path> paths = pathFinder
+          .findAlternatives(BeamSearchTest.createPlayer(), new PathFinderOptions.Builder().build(),
+              1);
+
+      assertThat(paths, hasSize(1));
+      assertThat(paths.get(0).getQuests(),
+          contains(BeamSearchTest.attackQuest, BeamSearchTest.defenceQuest));
+    }
+
+    @Test
+    void shouldBreakTiesByQuestId() throws BestQuestNotFoundException {
+      Quest second = new Quest.Builder(1).withTitle("second").build();
+      Quest first = new Quest.Builder(0).withTitle("first").build();
+      Player player = new Player.Builder()
+          .withQuests(new LinkedHashSet<>(Arrays.asList(second, first))).build();
+
+      List<Path> paths = pathFinder
+          .findAlternatives(player, new PathFinderOptions.Builder().build(), 2);
+
+      assertThat(paths, hasSize(2));
+      assertThat(paths.get(0).getQuests(), contains(first, second));
+      assertThat(paths.get(1).getQuests(), contains(second, first));
+    }
+
+    @Test
+    void shouldNotModifyPlayer() throws BestQuestNotFoundException {
+      Player player = BeamSearchTest.createPlayer();
+
+      pathFinder.findAlternatives(player, new PathFinderOptions.Builder().build(), 3);
+
+      assertThat(player.getIncompleteQuests(), hasSize(2));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCountIsLessThanOne() {
+      Player player = BeamSearchTest.createPlayer();
+      PathFinderOptions options = new PathFinderOptions.Builder().build();
+
+      assertThrows(IllegalArgumentException.class,
+          () -> pathFinder.findAlternatives(player, options, 0));
+    }
+  }
 }
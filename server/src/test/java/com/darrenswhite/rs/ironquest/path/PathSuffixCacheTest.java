@@ -0,0 +1,56 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PathSuffixCacheTest {
+
+  static final List<Quest> firstQuests = Collections.singletonList(new Quest.Builder(0).build());
+  static final List<Quest> secondQuests = Collections.singletonList(new Quest.Builder(1).build());
+
+  @Nested
+  class Put {
+
+    @Test
+    void shouldCacheQuestsForKey() {
+      PathSuffixCache cache = new PathSuffixCache(2);
+
+      cache.put(1, firstQuests);
+
+      assertThat(cache.get(1), equalTo(firstQuests));
+      assertThat(cache.get(2), nullValue());
+    }
+
+    @Test
+    void shouldKeepExistingQuestsForKey() {
+      PathSuffixCache cache = new PathSuffixCache(2);
+
+      cache.put(1, firstQuests);
+      cache.put(1, secondQuests);
+
+      assertThat(cache.get(1), equalTo(firstQuests));
+      assertThat(cache.size(), equalTo(1));
+    }
+
+    @Test
+    void shouldEvictOldestEntryWhenFull() {
+      PathSuffixCache cache = new PathSuffixCache(2);
+
+      cache.put(1, firstQuests);
+      cache.put(2, secondQuests);
+      cache.put(3, firstQuests);
+
+      assertThat(cache.size(), equalTo(2));
+      assertThat(cache.get(1), nullValue());
+      assertThat(cache.get(2), equalTo(secondQuests));
+      assertThat(cache.get(3), equalTo(firstQuests));
+    }
+  }
+}
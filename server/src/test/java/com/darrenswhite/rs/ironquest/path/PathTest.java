@@ -1,7 +1,9 @@
 package com.darrenswhite.rs.ironquest.path;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 
 import com.darrenswhite.rs.ironquest.action.Action;
 import com.darrenswhite.rs.ironquest.action.LampAction;
@@ -44,6 +46,62 @@ class PathTest {
 
       assertThat(dto.getActions().size(), equalTo(actions.size()));
       assertThat(dto.getStats().getPercentComplete(), equalTo(stats.getPercentComplete()));
+      assertThat(dto.getStats().isDegraded(), equalTo(false));
+      assertThat(dto.getPlayer(), nullValue());
+    }
+
+    @Test
+    void shouldCreateWithPlayer() {
+      Player player = new Player.Builder().withName("player").build();
+      Path path = new Path(new LinkedList<>(), new PathStats(0), player);
+
+      PathDTO dto = path.createDTO();
+
+      assertThat(dto.getPlayer(), equalTo(player.createDTO()));
+    }
+
+    @Test
+    void shouldCreateFromActionLog() {
+      Quest quest = new Quest.Builder().withTitle("quest").build();
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+      ActionLog log = new ActionLog(player, true);
+
+      log.add(log.process(new QuestAction(player, quest, false), player));
+
+      Path path = new Path(log, new PathStats(0), player);
+
+      PathDTO dto = path.createDTO();
+
+      assertThat(dto.getActions().size(), equalTo(1));
+      assertThat(dto.getActions().get(0).getPlayer(), equalTo(player.createDTO()));
+    }
+  }
+
+  @Nested
+  class GetQuests {
+
+    @Test
+    void shouldReturnQuestsFromActions() {
+      Quest quest = new Quest.Builder().build();
+      Player player = new Player.Builder().build();
+      List<Action> actions = Arrays
+          .asList(new TrainAction(player, Skill.ATTACK, 0, 100), new QuestAction(player, quest));
+      Path path = new Path(actions, new PathStats(0));
+
+      assertThat(path.getQuests(), contains(quest));
+    }
+
+    @Test
+    void shouldReturnQuestsFromActionLog() {
+      Quest quest = new Quest.Builder().withTitle("quest").build();
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+      ActionLog log = new ActionLog(player, false);
+
+      log.add(log.process(new QuestAction(player, quest, false), player));
+
+      Path path = new Path(log, new PathStats(0), player);
+
+      assertThat(path.getQuests(), contains(quest));
     }
   }
 
@@ -52,7 +110,7 @@ class PathTest {
 
     @Test
     void shouldVerifyEqualsAndHashCode() {
-      EqualsVerifier.forClass(Path.class)
+      EqualsVerifier.forClass(Path.class).withIgnoredFields("log")
           .withPrefabValues(Quest.class, new Quest.Builder(0).build(), new Quest.Builder(1).build())
           .verify();
     }
@@ -0,0 +1,154 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.QuestNotFoundException;
+import com.darrenswhite.rs.ironquest.player.QuestStatus;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestTargetsTest {
+
+  static final Quest firstQuest = new Quest.Builder(0).withTitle("firstQuest").build();
+  static final Quest secondQuest = new Quest.Builder(1).withTitle("secondQuest")
+      .withRequirements(new QuestRequirements.Builder().withQuests(
+          Collections.singleton(new QuestRequirement.Builder(firstQuest).build())).build())
+      .build();
+  static final Quest questPointQuest = new Quest.Builder(2).withTitle("questPointQuest")
+      .withRewards(new QuestRewards.Builder().withQuestPoints(1).build()).build();
+  static final Quest targetQuest = new Quest.Builder(3).withTitle("targetQuest").withRequirements(
+      new QuestRequirements.Builder().withQuests(
+          Collections.singleton(new QuestRequirement.Builder(secondQuest).build()))
+          .withQuestPoints(new QuestPointsRequirement.Builder(1).build()).build()).build();
+
+  static Player createPlayer() {
+    return new Player.Builder().withQuests(
+        new HashSet<>(Arrays.asList(firstQuest, secondQuest, questPointQuest, targetQuest)))
+        .build();
+  }
+
+  @Nested
+  class GetQuests {
+
+    @Test
+    void shouldReturnTargetsAndQuestRequirements() {
+      QuestTargets targets = new QuestTargets(createPlayer(), Collections.singleton(3));
+
+      assertThat(targets.getQuests(), containsInAnyOrder(firstQuest, secondQuest, targetQuest));
+    }
+
+    @Test
+    void shouldReturnNullWithoutTargets() {
+      QuestTargets targets = new QuestTargets(createPlayer(), Collections.emptySet());
+
+      assertThat(targets.getQuests(), nullValue());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenTargetNotFound() {
+      Player player = createPlayer();
+
+      assertThrows(QuestNotFoundException.class,
+          () -> new QuestTargets(player, Collections.singleton(4)));
+    }
+  }
+
+  @Nested
+  class GetFingerprint {
+
+    @Test
+    void shouldDependOnRequiredQuests() {
+      Player player = createPlayer();
+
+      assertThat(new QuestTargets(player, Collections.singleton(1)).getFingerprint(),
+          equalTo(new QuestTargets(player, Collections.singleton(1)).getFingerprint()));
+      assertThat(new QuestTargets(player, Collections.singleton(1)).getFingerprint(),
+          not(equalTo(new QuestTargets(player, Collections.singleton(3)).getFingerprint())));
+    }
+
+    @Test
+    void shouldReturnZeroWithoutTargets() {
+      QuestTargets targets = new QuestTargets(createPlayer(), Collections.emptySet());
+
+      assertThat(targets.getFingerprint(), equalTo(0L));
+    }
+  }
+
+  @Nested
+  class IsCompleted {
+
+    @Test
+    void shouldReturnTrueWhenRequiredQuestsAreCompleted() {
+      Player player = createPlayer();
+      QuestTargets targets = new QuestTargets(player, Collections.singleton(1));
+
+      assertThat(targets.isCompleted(player), equalTo(false));
+
+      player.setQuestStatus(firstQuest, QuestStatus.COMPLETED);
+      player.setQuestStatus(secondQuest, QuestStatus.COMPLETED);
+
+      assertThat(targets.isCompleted(player), equalTo(true));
+    }
+
+    @Test
+    void shouldRequireAllQuestsWithoutTargets() {
+      Player player = createPlayer();
+      QuestTargets targets = new QuestTargets(player, Collections.emptySet());
+
+      player.setQuestStatus(firstQuest, QuestStatus.COMPLETED);
+      player.setQuestStatus(secondQuest, QuestStatus.COMPLETED);
+
+      assertThat(targets.isCompleted(player), equalTo(false));
+    }
+  }
+
+  @Nested
+  class GetAvailableQuests {
+
+    @Test
+    void shouldReturnAvailableRequiredQuests() {
+      Player player = createPlayer();
+      QuestTargets targets = new QuestTargets(player, Collections.singleton(3));
+
+      assertThat(targets.getAvailableQuests(player), contains(firstQuest));
+    }
+
+    @Test
+    void shouldReturnAllAvailableQuestsWhenRequiredQuestsCanNotBeCompleted() {
+      Player player = createPlayer();
+      QuestTargets targets = new QuestTargets(player, Collections.singleton(3));
+
+      player.setQuestStatus(firstQuest, QuestStatus.COMPLETED);
+      player.setQuestStatus(secondQuest, QuestStatus.COMPLETED);
+
+      assertThat(targets.getAvailableQuests(player),
+          containsInAnyOrder(questPointQuest, targetQuest));
+    }
+
+    @Test
+    void shouldReturnNoQuestsWhenCompleted() {
+      Player player = createPlayer();
+      QuestTargets targets = new QuestTargets(player, Collections.singleton(0));
+
+      player.setQuestStatus(firstQuest, QuestStatus.COMPLETED);
+
+      assertThat(targets.getAvailableQuests(player), empty());
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.Arrays;
+import java.util.Collections;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ScoringReportTest {
+
+  static final Quest firstQuest = new Quest.Builder(0).build();
+  static final Quest secondQuest = new Quest.Builder(1).build();
+  static final Quest thirdQuest = new Quest.Builder(2).build();
+
+  @Nested
+  class Builder {
+
+    @Test
+    void shouldCountMatchingQuests() {
+      ScoringReport report = new ScoringReport.Builder()
+          .withExactQuests(Arrays.asList(firstQuest, secondQuest, thirdQuest))
+          .withApproximateQuests(Arrays.asList(firstQuest, thirdQuest, secondQuest)).build();
+
+      assertThat(report.getQuests(), equalTo(3));
+      assertThat(report.getMatchingQuests(), equalTo(1));
+      assertThat(report.getFirstDifference(), equalTo(1));
+    }
+
+    @Test
+    void shouldReturnNoDifferenceForSameQuests() {
+      ScoringReport report = new ScoringReport.Builder()
+          .withExactQuests(Arrays.asList(firstQuest, secondQuest))
+          .withApproximateQuests(Arrays.asList(firstQuest, secondQuest)).withExactTrainXp(100)
+          .withApproximateTrainXp(200).withExactMillis(3).withApproximateMillis(4).build();
+
+      assertThat(report.getMatchingQuests(), equalTo(2));
+      assertThat(report.getFirstDifference(), equalTo(-1));
+      assertThat(report.getExactTrainXp(), equalTo(100d));
+      assertThat(report.getApproximateTrainXp(), equalTo(200d));
+      assertThat(report.getExactMillis(), equalTo(3L));
+      assertThat(report.getApproximateMillis(), equalTo(4L));
+    }
+
+    @Test
+    void shouldReturnDifferenceAfterShorterPath() {
+      ScoringReport report = new ScoringReport.Builder()
+          .withExactQuests(Collections.singletonList(firstQuest))
+          .withApproximateQuests(Arrays.asList(firstQuest, secondQuest)).build();
+
+      assertThat(report.getMatchingQuests(), equalTo(1));
+      assertThat(report.getFirstDifference(), equalTo(1));
+    }
+  }
+
+  @Nested
+  class Equals {
+
+    @Test
+    void shouldVerifyEqualsAndHashCode() {
+      EqualsVerifier.forClass(ScoringReport.class).verify();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ApproximateSkillRequirementsTest {
+
+  static final Quest questA = new Quest.Builder(0).withRequirements(
+      new QuestRequirements.Builder().withSkills(
+          Collections.singleton(new SkillRequirement.Builder(Skill.ATTACK, 30).build())).build())
+      .build();
+  static final Quest questB = new Quest.Builder(1).withRequirements(
+      new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(questA).build()))
+          .withSkills(Collections.singleton(new SkillRequirement.Builder(Skill.MAGIC, 20).build()))
+          .build()).build();
+  static final Quest questC = new Quest.Builder(2).withRequirements(
+      new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(questB).build()))
+          .withSkills(Collections.singleton(
+              new SkillRequirement.Builder(Skill.ATTACK, 60).withIronman(true).build())).build())
+      .build();
+  static final List<Quest> quests = Arrays.asList(questA, questB, questC);
+
+  static Player createPlayer(boolean ironman) {
+    return new Player.Builder().withQuests(new HashSet<>(quests)).withIronman(ironman).build();
+  }
+
+  static ApproximateSkillRequirements createRequirements(Player player) {
+    return new ApproximateSkillRequirements(new QuestCatalog(quests), quests, player);
+  }
+
+  @Nested
+  class GetTotalRemainingSkillRequirements {
+
+    @Test
+    void shouldIncludeRequirementsOfQuestRequirements() {
+      Player player = createPlayer(false);
+      ApproximateSkillRequirements requirements = createRequirements(player);
+
+      assertThat(requirements.getTotalRemainingSkillRequirements(questA, player), equalTo(30));
+      assertThat(requirements.getTotalRemainingSkillRequirements(questB, player), equalTo(50));
+      assertThat(requirements.getTotalRemainingSkillRequirements(questC, player), equalTo(50));
+    }
+
+    @Test
+    void shouldExcludeLevelsThePlayerHas() {
+      Player player = createPlayer(false);
+      ApproximateSkillRequirements requirements = createRequirements(player);
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(30));
+
+      assertThat(requirements.getTotalRemainingSkillRequirements(questB, player), equalTo(20));
+    }
+
+    @Test
+    void shouldIncludeCompletedQuestRequirements() {
+      Player player = createPlayer(false);
+      ApproximateSkillRequirements requirements = createRequirements(player);
+
+      player.setQuestStatus(questA, QuestStatus.COMPLETED);
+
+      assertThat(requirements.getTotalRemainingSkillRequirements(questB, player), equalTo(50));
+      assertThat(questB.getTotalRemainingSkillRequirements(player, true), equalTo(20));
+    }
+
+    @Test
+    void shouldOnlyIncludeRequirementsWhichApplyToPlayer() {
+      Player player = createPlayer(true);
+
+      assertThat(createRequirements(player).getTotalRemainingSkillRequirements(questC, player),
+          equalTo(80));
+    }
+
+    @Test
+    void shouldUseExactRequirementsForUnknownQuest() {
+      Player player = createPlayer(false);
+      ApproximateSkillRequirements requirements = new ApproximateSkillRequirements(
+          new QuestCatalog(quests), Collections.singleton(questA), player);
+
+      player.setQuestStatus(questA, QuestStatus.COMPLETED);
+
+      assertThat(requirements.getTotalRemainingSkillRequirements(questC, player), equalTo(20));
+    }
+  }
+}
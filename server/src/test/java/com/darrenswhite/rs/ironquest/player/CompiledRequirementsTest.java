@@ -0,0 +1,107 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.CombatRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CompiledRequirementsTest {
+
+  static Quest createQuestWithCombatRequirement(int id, CombatRequirement combatRequirement) {
+    return new Quest.Builder(id).withRequirements(
+        new QuestRequirements.Builder().withCombat(combatRequirement).build()).build();
+  }
+
+  static Quest createQuestWithQuestPointsRequirement(int id,
+      QuestPointsRequirement questPointsRequirement) {
+    return new Quest.Builder(id).withRequirements(
+        new QuestRequirements.Builder().withQuestPoints(questPointsRequirement).build()).build();
+  }
+
+  @Nested
+  class MeetsCombatRequirement {
+
+    @Test
+    void shouldMeetRequirementWhenCombatLevelIncreases() {
+      Quest quest = createQuestWithCombatRequirement(0, new CombatRequirement.Builder(50).build());
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+      CompiledRequirements requirements = new CompiledRequirements(
+          new QuestCatalog(Collections.singleton(quest)), Collections.singleton(quest), player);
+
+      assertThat(requirements.meetsCombatRequirement(quest, player), equalTo(false));
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(99));
+      player.addSkillXP(Skill.STRENGTH, Skill.STRENGTH.getXpAtLevel(99));
+
+      assertThat(requirements.meetsCombatRequirement(quest, player), equalTo(true));
+    }
+
+    @Test
+    void shouldOnlyCompileRequirementsWhichApplyToPlayer() {
+      Quest quest = createQuestWithCombatRequirement(0,
+          new CombatRequirement.Builder(50).withIronman(true).build());
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+      Player ironman = new Player.Builder().withQuests(Collections.singleton(quest))
+          .withIronman(true).build();
+      QuestCatalog catalog = new QuestCatalog(Collections.singleton(quest));
+
+      assertThat(new CompiledRequirements(catalog, Collections.singleton(quest), player)
+          .meetsCombatRequirement(quest, player), equalTo(true));
+      assertThat(new CompiledRequirements(catalog, Collections.singleton(quest), ironman)
+          .meetsCombatRequirement(quest, ironman), equalTo(false));
+    }
+
+    @Test
+    void shouldTestQuestWhichIsNotCompiled() {
+      Quest quest = createQuestWithCombatRequirement(0, new CombatRequirement.Builder(50).build());
+      Player player = new Player.Builder().build();
+      CompiledRequirements requirements = new CompiledRequirements(
+          new QuestCatalog(Collections.singleton(quest)), Collections.emptySet(), player);
+
+      assertThat(requirements.meetsCombatRequirement(quest, player), equalTo(false));
+    }
+  }
+
+  @Nested
+  class MeetsQuestPointRequirement {
+
+    @Test
+    void shouldMeetRequirementWhenQuestPointsIncrease() {
+      Quest reward = new Quest.Builder(0)
+          .withRewards(new QuestRewards.Builder().withQuestPoints(2).build()).build();
+      Quest quest = createQuestWithQuestPointsRequirement(1,
+          new QuestPointsRequirement.Builder(2).build());
+      Player player = new Player.Builder().withQuests(new HashSet<>(Arrays.asList(reward, quest)))
+          .build();
+      CompiledRequirements requirements = new CompiledRequirements(
+          new QuestCatalog(player.getQuests()), player.getQuests(), player);
+
+      assertThat(requirements.meetsQuestPointRequirement(quest, player), equalTo(false));
+
+      player.setQuestStatus(reward, QuestStatus.COMPLETED);
+
+      assertThat(requirements.meetsQuestPointRequirement(quest, player), equalTo(true));
+    }
+
+    @Test
+    void shouldTestQuestWhichIsNotCompiled() {
+      Quest quest = createQuestWithQuestPointsRequirement(0,
+          new QuestPointsRequirement.Builder(2).build());
+      Player player = new Player.Builder().build();
+      CompiledRequirements requirements = new CompiledRequirements(
+          new QuestCatalog(Collections.emptySet()), Collections.emptySet(), player);
+
+      assertThat(requirements.meetsQuestPointRequirement(quest, player), equalTo(false));
+    }
+  }
+}
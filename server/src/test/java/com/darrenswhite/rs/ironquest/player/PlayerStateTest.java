@@ -0,0 +1,364 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import com.darrenswhite.rs.ironquest.util.MapBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PlayerStateTest {
+
+  static PlayerState createState(Set<Quest> quests) {
+    return new PlayerState(new QuestCatalog(quests), quests, Skill.INITIAL_XPS,
+        new Player.Builder().build());
+  }
+
+  @Nested
+  class Constructor {
+
+    @Test
+    void shouldSetDefaultPriorityAndStatus() {
+      PlayerState state = createState(Collections.singleton(new Quest.Builder(0).build()));
+
+      assertThat(state.getPriority(0), equalTo(QuestPriority.NORMAL));
+      assertThat(state.getStatus(0), equalTo(QuestStatus.NOT_STARTED));
+    }
+
+    @Test
+    void shouldSetXpAndLevels() {
+      PlayerState state = new PlayerState(new QuestCatalog(Collections.emptySet()),
+          Collections.emptySet(), new MapBuilder<Skill, Double>()
+          .put(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(50)).build(), new Player.Builder().build());
+
+      assertThat(state.getXp(Skill.ATTACK), equalTo(Skill.ATTACK.getXpAtLevel(50)));
+      assertThat(state.getLevel(Skill.ATTACK), equalTo(50));
+      assertThat(state.getXp(Skill.MAGIC), equalTo(0d));
+      assertThat(state.getLevel(Skill.MAGIC), equalTo(1));
+    }
+  }
+
+  @Nested
+  class SetXp {
+
+    @Test
+    void shouldUpdateLevel() {
+      PlayerState state = createState(Collections.emptySet());
+
+      state.setXp(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(70));
+
+      assertThat(state.getLevel(Skill.MAGIC), equalTo(70));
+      assertThat(state.getLevels().get(Skill.MAGIC), equalTo(70));
+      assertThat(state.getXps().get(Skill.MAGIC), equalTo(Skill.MAGIC.getXpAtLevel(70)));
+    }
+  }
+
+  @Nested
+  class SetStatus {
+
+    @Test
+    void shouldUnlockDependentsWhenCompleted() {
+      Quest required = new Quest.Builder(0).build();
+      Quest dependent = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(required).build()))
+          .build()).build();
+      PlayerState state = createState(new HashSet<>(Arrays.asList(required, dependent)));
+
+      assertThat(state.isUnlocked(1), equalTo(false));
+
+      state.setStatus(0, QuestStatus.COMPLETED);
+
+      assertThat(state.isCompleted(0), equalTo(true));
+      assertThat(state.isUnlocked(1), equalTo(true));
+
+      state.setStatus(0, QuestStatus.IN_PROGRESS);
+
+      assertThat(state.isCompleted(0), equalTo(false));
+      assertThat(state.getStatus(0), equalTo(QuestStatus.IN_PROGRESS));
+      assertThat(state.isUnlocked(1), equalTo(false));
+    }
+  }
+
+  @Nested
+  class GetEpoch {
+
+    @Test
+    void shouldAdvanceWhenLevelChanges() {
+      PlayerState state = createState(Collections.emptySet());
+      long epoch = state.getEpoch();
+
+      state.setXp(Skill.MAGIC, 1);
+
+      assertThat(state.getEpoch(), equalTo(epoch));
+
+      state.setXp(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(2));
+
+      assertThat(state.getEpoch(), not(equalTo(epoch)));
+    }
+
+    @Test
+    void shouldAdvanceWhenCompletionChanges() {
+      PlayerState state = createState(Collections.singleton(new Quest.Builder(0).build()));
+      long epoch = state.getEpoch();
+
+      state.setStatus(0, QuestStatus.IN_PROGRESS);
+      state.setPriority(0, QuestPriority.HIGH);
+
+      assertThat(state.getEpoch(), equalTo(epoch));
+
+      state.setStatus(0, QuestStatus.COMPLETED);
+
+      assertThat(state.getEpoch(), not(equalTo(epoch)));
+
+      epoch = state.getEpoch();
+      state.setStatus(0, QuestStatus.NOT_STARTED);
+
+      assertThat(state.getEpoch(), not(equalTo(epoch)));
+    }
+  }
+
+  @Nested
+  class GetFingerprint {
+
+    @Test
+    void shouldNotDependOnOrderOfChanges() {
+      Set<Quest> quests = new HashSet<>(
+          Arrays.asList(new Quest.Builder(0).build(), new Quest.Builder(1).build()));
+      PlayerState first = createState(quests);
+      PlayerState second = createState(quests);
+
+      first.setStatus(0, QuestStatus.COMPLETED);
+      first.setXp(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(70));
+      first.setPriority(1, QuestPriority.HIGH);
+      second.setPriority(1, QuestPriority.HIGH);
+      second.setXp(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(70));
+      second.setStatus(0, QuestStatus.COMPLETED);
+
+      assertThat(first.getFingerprint(), equalTo(second.getFingerprint()));
+    }
+
+    @Test
+    void shouldRestoreFingerprintWhenChangesAreReverted() {
+      PlayerState state = createState(Collections.singleton(new Quest.Builder(0).build()));
+      long fingerprint = state.getFingerprint();
+
+      state.setStatus(0, QuestStatus.COMPLETED);
+      state.setPriority(0, QuestPriority.LOW);
+
+      assertThat(state.getFingerprint(), not(equalTo(fingerprint)));
+
+      state.setStatus(0, QuestStatus.NOT_STARTED);
+      state.setPriority(0, QuestPriority.NORMAL);
+
+      assertThat(state.getFingerprint(), equalTo(fingerprint));
+    }
+
+    @Test
+    void shouldOnlyChangeWhenLevelChanges() {
+      PlayerState state = createState(Collections.emptySet());
+      long fingerprint = state.getFingerprint();
+
+      state.setXp(Skill.MAGIC, 1);
+
+      assertThat(state.getFingerprint(), equalTo(fingerprint));
+
+      state.setXp(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(2));
+
+      assertThat(state.getFingerprint(), not(equalTo(fingerprint)));
+    }
+
+    @Test
+    void shouldBeSharedByCopies() {
+      PlayerState state = createState(Collections.singleton(new Quest.Builder(0).build()));
+      PlayerState copy = state.copy();
+
+      assertThat(copy.getFingerprint(), equalTo(state.getFingerprint()));
+
+      copy.setStatus(0, QuestStatus.COMPLETED);
+
+      assertThat(copy.getFingerprint(), not(equalTo(state.getFingerprint())));
+    }
+  }
+
+  @Nested
+  class GetTotalLevel {
+
+    @Test
+    void shouldUpdateWhenLevelChanges() {
+      PlayerState state = createState(Collections.emptySet());
+      int totalLevel = state.getLevels().values().stream().mapToInt(Integer::intValue).sum();
+
+      assertThat(state.getTotalLevel(), equalTo(totalLevel));
+
+      state.setXp(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(70));
+
+      assertThat(state.getTotalLevel(), equalTo(totalLevel + 69));
+
+      state.setXp(Skill.MAGIC, 0);
+
+      assertThat(state.getTotalLevel(), equalTo(totalLevel));
+    }
+  }
+
+  @Nested
+  class GetCombatLevel {
+
+    @Test
+    void shouldUpdateWhenCombatSkillLevelChanges() {
+      PlayerState state = createState(Collections.emptySet());
+
+      assertThat(state.getCombatLevel(), closeTo(3.4, 1e-9));
+
+      state.setXp(Skill.RANGED, Skill.RANGED.getXpAtLevel(99));
+
+      assertThat(state.getCombatLevel(), closeTo(67.1, 1e-9));
+
+      state.setXp(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(99));
+      state.setXp(Skill.STRENGTH, Skill.STRENGTH.getXpAtLevel(99));
+      state.setXp(Skill.PRAYER, Skill.PRAYER.getXpAtLevel(99));
+
+      assertThat(state.getCombatLevel(), closeTo(79.35, 1e-9));
+    }
+
+    @Test
+    void shouldBeCopied() {
+      PlayerState state = createState(Collections.emptySet());
+
+      state.setXp(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(99));
+
+      PlayerState copy = state.copy();
+
+      state.setXp(Skill.MAGIC, 0);
+
+      assertThat(copy.getCombatLevel(), closeTo(67.1, 1e-9));
+      assertThat(state.getCombatLevel(), closeTo(3.4, 1e-9));
+    }
+  }
+
+  @Nested
+  class GetQuestPoints {
+
+    @Test
+    void shouldUpdateWhenCompletionChanges() {
+      Quest quest = new Quest.Builder(0)
+          .withRewards(new QuestRewards.Builder().withQuestPoints(2).build()).build();
+      PlayerState state = createState(Collections.singleton(quest));
+
+      assertThat(state.getQuestPoints(), equalTo(0));
+
+      state.setStatus(0, QuestStatus.COMPLETED);
+      state.setStatus(0, QuestStatus.COMPLETED);
+
+      assertThat(state.getQuestPoints(), equalTo(2));
+      assertThat(state.copy().getQuestPoints(), equalTo(2));
+
+      state.setStatus(0, QuestStatus.IN_PROGRESS);
+
+      assertThat(state.getQuestPoints(), equalTo(0));
+    }
+  }
+
+  @Nested
+  class GetCompletedQuests {
+
+    @Test
+    void shouldReturnCompletedQuestsAcrossWords() {
+      Set<Quest> quests = IntStream.range(0, 150)
+          .mapToObj(id -> new Quest.Builder(id).withRewards(
+              new QuestRewards.Builder().withQuestPoints(1).build()).build())
+          .collect(Collectors.toSet());
+      PlayerState state = createState(quests);
+
+      assertThat(state.getCompletedQuests(), empty());
+
+      state.setStatus(3, QuestStatus.COMPLETED);
+      state.setStatus(64, QuestStatus.COMPLETED);
+      state.setStatus(149, QuestStatus.COMPLETED);
+
+      assertThat(state.getCompletedQuests(), containsInAnyOrder(new Quest.Builder(3).build(),
+          new Quest.Builder(64).build(), new Quest.Builder(149).build()));
+      assertThat(state.getIncompleteQuests().size(), equalTo(147));
+      assertThat(state.getQuestPoints(), equalTo(3));
+    }
+  }
+
+  @Nested
+  class Copy {
+
+    @Test
+    void shouldNotShareMutableState() {
+      PlayerState original = createState(Collections.singleton(new Quest.Builder(0).build()));
+      PlayerState copy = original.copy();
+
+      original.setXp(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(20));
+      original.setStatus(0, QuestStatus.COMPLETED);
+      original.setPriority(0, QuestPriority.MAXIMUM);
+
+      assertThat(copy.getLevel(Skill.ATTACK), equalTo(1));
+      assertThat(copy.isCompleted(0), equalTo(false));
+      assertThat(copy.getPriority(0), equalTo(QuestPriority.NORMAL));
+    }
+  }
+
+  @Nested
+  class Snapshot {
+
+    @Test
+    void shouldNotChangeWhenStateChanges() {
+      PlayerState original = createState(Collections.singleton(new Quest.Builder(0).build()));
+      PlayerState snapshot = original.snapshot();
+
+      original.setXp(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(20));
+      original.setStatus(0, QuestStatus.COMPLETED);
+      original.setPriority(0, QuestPriority.MAXIMUM);
+
+      assertThat(snapshot.getLevel(Skill.ATTACK), equalTo(1));
+      assertThat(snapshot.isCompleted(0), equalTo(false));
+      assertThat(snapshot.getPriority(0), equalTo(QuestPriority.NORMAL));
+      assertThat(original.snapshot().getLevel(Skill.ATTACK), equalTo(20));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenModified() {
+      PlayerState snapshot = createState(Collections.singleton(new Quest.Builder(0).build()))
+          .snapshot();
+
+      assertThrows(UnsupportedOperationException.class, () -> snapshot.setXp(Skill.ATTACK, 1));
+      assertThrows(UnsupportedOperationException.class,
+          () -> snapshot.setStatus(0, QuestStatus.COMPLETED));
+      assertThrows(UnsupportedOperationException.class,
+          () -> snapshot.setPriority(0, QuestPriority.HIGH));
+      assertThrows(UnsupportedOperationException.class, () -> snapshot.getPreviousLampSkills(0));
+    }
+  }
+
+  @Nested
+  class Equals {
+
+    @Test
+    void shouldVerifyEqualsAndHashCode() {
+      EqualsVerifier.forClass(PlayerState.class)
+          .withPrefabValues(Quest.class, new Quest.Builder(0).build(), new Quest.Builder(1).build())
+          .withOnlyTheseFields("catalog", "members", "xps").suppress(Warning.NONFINAL_FIELDS)
+          .verify();
+    }
+  }
+}
@@ -1,24 +1,33 @@
 package com.darrenswhite.rs.ironquest.player;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.LampAction;
 import com.darrenswhite.rs.ironquest.quest.Quest;
 import com.darrenswhite.rs.ironquest.quest.Quest.Builder;
 import com.darrenswhite.rs.ironquest.quest.requirement.CombatRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
 import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
 import com.darrenswhite.rs.ironquest.quest.reward.LampType;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
 import com.darrenswhite.rs.ironquest.util.MapBuilder;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -77,6 +86,68 @@ public class PlayerTest {
     }
   }
 
+  @Nested
+  class Snapshot {
+
+    @Test
+    void shouldReturnSnapshotWhichIsEqualButNotSameInstance() {
+      Player original = new Player.Builder().withName("username")
+          .withQuests(Collections.singleton(new Quest.Builder(0).build())).build();
+
+      Player snapshot = original.snapshot();
+
+      assertThat(snapshot, equalTo(original));
+      assertThat(snapshot, not(sameInstance(original)));
+    }
+
+    @Test
+    void shouldNotChangeWhenPlayerChanges() {
+      Quest quest = new Builder(0).withRequirements(new QuestRequirements.Builder().withSkills(
+          Collections.singleton(new SkillRequirement.Builder(Skill.MAGIC, 10).build())).build())
+          .build();
+      Player original = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+      Player snapshot = original.snapshot();
+
+      original.addSkillXP(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(10));
+      original.setQuestStatus(quest, QuestStatus.COMPLETED);
+      original.setQuestPriority(quest, QuestPriority.MAXIMUM);
+
+      assertThat(snapshot.getLevel(Skill.MAGIC), equalTo(1));
+      assertThat(snapshot.meetsSkillRequirements(quest), equalTo(false));
+      assertThat(snapshot.getQuestStatus(quest), equalTo(QuestStatus.NOT_STARTED));
+      assertThat(snapshot.getQuestPriority(quest), equalTo(QuestPriority.NORMAL));
+      assertThat(original.meetsSkillRequirements(quest), equalTo(true));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenModified() {
+      Quest quest = new Builder(0).build();
+      Player snapshot = new Player.Builder().withQuests(Collections.singleton(quest)).build()
+          .snapshot();
+
+      assertThrows(UnsupportedOperationException.class,
+          () -> snapshot.addSkillXP(Skill.MAGIC, 100));
+      assertThrows(UnsupportedOperationException.class,
+          () -> snapshot.setQuestStatus(quest, QuestStatus.COMPLETED));
+      assertThrows(UnsupportedOperationException.class,
+          () -> snapshot.setQuestPriority(quest, QuestPriority.HIGH));
+    }
+
+    @Test
+    void shouldCopySnapshotToModifiablePlayer() {
+      Quest quest = new Builder(0).build();
+      Player snapshot = new Player.Builder().withQuests(Collections.singleton(quest)).build()
+          .snapshot();
+
+      Player copy = snapshot.copy();
+
+      copy.setQuestStatus(quest, QuestStatus.COMPLETED);
+
+      assertThat(copy.isQuestCompleted(quest), equalTo(true));
+      assertThat(snapshot.isQuestCompleted(quest), equalTo(false));
+    }
+  }
+
   @Nested
   class CompleteQuest {
 
@@ -130,6 +201,180 @@ public class PlayerTest {
       assertThrows(MissingQuestRequirementsException.class,
           () -> player.completeQuest(questWithQuestRequirement));
     }
+
+    @Test
+    void shouldUseGivenLampSkills() {
+      LampReward lampReward = new LampReward.Builder().withXp(100).withType(LampType.XP).build();
+      Quest questWithLampReward = new Quest.Builder(0)
+          .withRewards(new QuestRewards.Builder().withLamps(Collections.singleton(lampReward))
+              .build()).build();
+      Player player = new Player.Builder()
+          .withQuests(Collections.singleton(questWithLampReward)).build();
+
+      List<Action> actions = player.completeQuest(questWithLampReward, false,
+          Collections.singletonMap(lampReward, Collections.singleton(Skill.AGILITY)));
+
+      assertThat(((LampAction) actions.get(1)).getSkills(),
+          equalTo(Collections.singleton(Skill.AGILITY)));
+    }
+
+    @Test
+    void shouldUseBestLampSkillsWhenGivenSkillsAreUnavailable() {
+      LampReward lampReward = new LampReward.Builder().withXp(100).withType(LampType.XP)
+          .withRequirements(new MapBuilder<Set<Skill>, Integer>()
+              .put(Collections.singleton(Skill.ATTACK), 1)
+              .put(Collections.singleton(Skill.AGILITY), 50).build()).build();
+      Quest questWithLampReward = new Quest.Builder(0)
+          .withRewards(new QuestRewards.Builder().withLamps(Collections.singleton(lampReward))
+              .build()).build();
+      Player player = new Player.Builder()
+          .withQuests(Collections.singleton(questWithLampReward)).build();
+
+      List<Action> actions = player.completeQuest(questWithLampReward, false,
+          Collections.singletonMap(lampReward, Collections.singleton(Skill.AGILITY)));
+
+      assertThat(((LampAction) actions.get(1)).getSkills(),
+          equalTo(Collections.singleton(Skill.ATTACK)));
+    }
+  }
+
+  @Nested
+  class GetRequiredQuests {
+
+    @Test
+    void shouldOnlyIncludeQuestRequirementsWhichApply() {
+      Quest first = new Quest.Builder(0).build();
+      Quest second = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(first).withIronman(true)
+              .build())).build()).build();
+      Quest third = new Quest.Builder(2).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(second).build())).build())
+          .build();
+      Set<Quest> quests = new HashSet<>(Arrays.asList(first, second, third));
+
+      Player player = new Player.Builder().withQuests(quests).build();
+      Player ironman = new Player.Builder().withIronman(true).withQuests(quests).build();
+
+      assertThat(player.getRequiredQuests(third), containsInAnyOrder(second));
+      assertThat(ironman.getRequiredQuests(third), containsInAnyOrder(first, second));
+    }
+
+    @Test
+    void shouldFindQuestRequirementsNotInCatalog() {
+      Quest missingQuest = new Quest.Builder(0).build();
+      Quest quest = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(missingQuest).build()))
+          .build()).build();
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+
+      assertThat(player.getRequiredQuests(quest), containsInAnyOrder(missingQuest));
+    }
+  }
+
+  @Nested
+  class IsQuestUnlocked {
+
+    @Test
+    void shouldUnlockQuestWhenQuestRequirementsCompleted() {
+      Quest requiredQuest = new Quest.Builder(0).build();
+      Quest questWithQuestRequirement = new Quest.Builder(1).withRequirements(
+          new QuestRequirements.Builder().withQuests(
+              Collections.singleton(new QuestRequirement.Builder(requiredQuest).build())).build())
+          .build();
+      Player player = new Player.Builder()
+          .withQuests(new HashSet<>(Arrays.asList(requiredQuest, questWithQuestRequirement)))
+          .build();
+
+      assertThat(player.isQuestUnlocked(requiredQuest), equalTo(true));
+      assertThat(player.isQuestUnlocked(questWithQuestRequirement), equalTo(false));
+
+      player.setQuestStatus(requiredQuest, QuestStatus.COMPLETED);
+
+      assertThat(player.isQuestUnlocked(questWithQuestRequirement), equalTo(true));
+
+      player.setQuestStatus(requiredQuest, QuestStatus.IN_PROGRESS);
+
+      assertThat(player.isQuestUnlocked(questWithQuestRequirement), equalTo(false));
+    }
+
+    @Test
+    void shouldIgnoreIronmanQuestRequirementsForNonIronman() {
+      Quest requiredQuest = new Quest.Builder(0).build();
+      Quest questWithIronmanQuestRequirement = new Quest.Builder(1).withRequirements(
+          new QuestRequirements.Builder().withQuests(Collections.singleton(
+              new QuestRequirement.Builder(requiredQuest).withIronman(true).build())).build())
+          .build();
+      Set<Quest> quests = new HashSet<>(
+          Arrays.asList(requiredQuest, questWithIronmanQuestRequirement));
+
+      Player player = new Player.Builder().withQuests(quests).build();
+      Player ironman = new Player.Builder().withIronman(true).withQuests(quests).build();
+
+      assertThat(player.isQuestUnlocked(questWithIronmanQuestRequirement), equalTo(true));
+      assertThat(ironman.isQuestUnlocked(questWithIronmanQuestRequirement), equalTo(false));
+    }
+
+    @Test
+    void shouldNotUnlockQuestWhenQuestRequirementIsMissing() {
+      Quest missingQuest = new Quest.Builder(0).build();
+      Quest questWithQuestRequirement = new Quest.Builder(1).withRequirements(
+          new QuestRequirements.Builder().withQuests(
+              Collections.singleton(new QuestRequirement.Builder(missingQuest).build())).build())
+          .build();
+      Player player = new Player.Builder()
+          .withQuests(Collections.singleton(questWithQuestRequirement)).build();
+
+      assertThat(player.isQuestUnlocked(questWithQuestRequirement), equalTo(false));
+    }
+
+    @Test
+    void shouldTestQuestRequirementsForUnknownQuest() {
+      Quest unknownQuest = new Quest.Builder(0).build();
+      Player player = new Player.Builder().build();
+
+      assertThat(player.isQuestUnlocked(unknownQuest), equalTo(true));
+    }
+
+    @Test
+    void shouldCopyUnlockedQuests() {
+      Quest requiredQuest = new Quest.Builder(0).build();
+      Quest questWithQuestRequirement = new Quest.Builder(1).withRequirements(
+          new QuestRequirements.Builder().withQuests(
+              Collections.singleton(new QuestRequirement.Builder(requiredQuest).build())).build())
+          .build();
+      Player original = new Player.Builder()
+          .withQuests(new HashSet<>(Arrays.asList(requiredQuest, questWithQuestRequirement)))
+          .build();
+
+      original.setQuestStatus(requiredQuest, QuestStatus.COMPLETED);
+
+      Player copy = original.copy();
+
+      assertThat(copy.isQuestUnlocked(questWithQuestRequirement), equalTo(true));
+    }
+  }
+
+  @Nested
+  class GetAvailableQuests {
+
+    @Test
+    void shouldReturnIncompleteQuestsWithQuestRequirementsCompleted() {
+      Quest completedQuest = new Quest.Builder(0).build();
+      Quest availableQuest = new Quest.Builder(1).withRequirements(
+          new QuestRequirements.Builder().withQuests(
+              Collections.singleton(new QuestRequirement.Builder(completedQuest).build())).build())
+          .build();
+      Quest lockedQuest = new Quest.Builder(2).withRequirements(
+          new QuestRequirements.Builder().withQuests(
+              Collections.singleton(new QuestRequirement.Builder(availableQuest).build())).build())
+          .build();
+      Player player = new Player.Builder().withQuests(
+          new HashSet<>(Arrays.asList(completedQuest, availableQuest, lockedQuest))).build();
+
+      player.setQuestStatus(completedQuest, QuestStatus.COMPLETED);
+
+      assertThat(player.getAvailableQuests(), equalTo(Collections.singleton(availableQuest)));
+    }
   }
 
   @Nested
@@ -147,6 +392,18 @@ public class PlayerTest {
     }
   }
 
+  @Nested
+  class GetQuestPriority {
+
+    @Test
+    void shouldThrowExceptionForUnknownQuest() {
+      Player player = new Player.Builder()
+          .withQuests(Collections.singleton(new Quest.Builder(0).build())).build();
+
+      assertThrows(QuestNotFoundException.class, () -> player.getQuestPriority(1));
+    }
+  }
+
   @Nested
   class Equals {
 
@@ -154,7 +411,275 @@ public class PlayerTest {
     void shouldVerifyEqualsAndHashCode() {
       EqualsVerifier.forClass(Player.class)
           .withPrefabValues(Quest.class, new Quest.Builder(0).build(), new Quest.Builder(1).build())
-          .verify();
+          .withIgnoredFields("skillThresholds", "scores", "requirementMaxima",
+              "approximateRequirements", "cancelled", "compiledRequirements",
+              "remainingRequirements", "requirementMemo").verify();
+    }
+  }
+
+  @Nested
+  class GetFingerprint {
+
+    @Test
+    void shouldBeEqualForPlayersInSameState() {
+      Quest first = new Quest.Builder(0).build();
+      Quest second = new Quest.Builder(1).build();
+      Player player = new Player.Builder().withQuests(new HashSet<>(Arrays.asList(first, second)))
+          .build();
+      Player copy = player.copy();
+
+      player.setQuestStatus(first, QuestStatus.COMPLETED);
+      player.setQuestStatus(second, QuestStatus.COMPLETED);
+      player.addSkillXP(Skill.ATTACK, 1000);
+      copy.addSkillXP(Skill.ATTACK, 1000);
+      copy.setQuestStatus(second, QuestStatus.COMPLETED);
+      copy.setQuestStatus(first, QuestStatus.COMPLETED);
+
+      assertThat(player.getFingerprint(), equalTo(copy.getFingerprint()));
+    }
+
+    @Test
+    void shouldIncludeParameters() {
+      long fingerprint = new Player.Builder().build().getFingerprint();
+
+      assertThat(new Player.Builder().withIronman(true).build().getFingerprint(),
+          not(equalTo(fingerprint)));
+      assertThat(new Player.Builder().withRecommended(true).build().getFingerprint(),
+          not(equalTo(fingerprint)));
+      assertThat(new Player.Builder().withLampSkills(Collections.singleton(Skill.HERBLORE)).build()
+          .getFingerprint(), not(equalTo(fingerprint)));
+    }
+
+    @Test
+    void shouldIncludeApproximateScores() {
+      Player player = new Player.Builder().build();
+      long fingerprint = player.getFingerprint();
+
+      player.setApproximateScores(true);
+
+      assertThat(player.getFingerprint(), not(equalTo(fingerprint)));
+    }
+
+    @Test
+    void shouldIncludeOrderOfLampSkills() {
+      Player player = new Player.Builder().withLampSkills(
+          new LinkedHashSet<>(Arrays.asList(Skill.HERBLORE, Skill.PRAYER))).build();
+      Player reversed = new Player.Builder().withLampSkills(
+          new LinkedHashSet<>(Arrays.asList(Skill.PRAYER, Skill.HERBLORE))).build();
+
+      assertThat(player.getFingerprint(), not(equalTo(reversed.getFingerprint())));
+    }
+  }
+
+  @Nested
+  class SetApproximateScores {
+
+    final Quest requiredQuest = new Quest.Builder(0).withRequirements(
+        new QuestRequirements.Builder().withSkills(
+            Collections.singleton(new SkillRequirement.Builder(Skill.ATTACK, 30).build())).build())
+        .build();
+    final Quest quest = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+        .withQuests(Collections.singleton(new QuestRequirement.Builder(requiredQuest).build()))
+        .withSkills(Collections.singleton(new SkillRequirement.Builder(Skill.MAGIC, 20).build()))
+        .build()).build();
+
+    @Test
+    void shouldIncludeRequirementsOfCompletedQuestRequirements() {
+      Player player = new Player.Builder()
+          .withQuests(new HashSet<>(Arrays.asList(requiredQuest, quest))).build();
+
+      player.setQuestStatus(requiredQuest, QuestStatus.COMPLETED);
+
+      assertThat(player.calculateTotalRemainingSkillRequirements(quest), equalTo(20));
+
+      player.setApproximateScores(true);
+
+      assertThat(player.isApproximateScores(), equalTo(true));
+      assertThat(player.calculateTotalRemainingSkillRequirements(quest), equalTo(50));
+
+      player.setApproximateScores(false);
+
+      assertThat(player.isApproximateScores(), equalTo(false));
+      assertThat(player.calculateTotalRemainingSkillRequirements(quest), equalTo(20));
+    }
+
+    @Test
+    void shouldCopyApproximateScores() {
+      Player player = new Player.Builder().build();
+
+      player.setApproximateScores(true);
+
+      assertThat(player.copy().isApproximateScores(), equalTo(true));
+      assertThat(player.snapshot().isApproximateScores(), equalTo(true));
+    }
+  }
+
+  @Nested
+  class MeetsAllRequirements {
+
+    @Test
+    void shouldMeetAllRequirements() {
+      Quest requiredQuest = new Quest.Builder(0)
+          .withRewards(new QuestRewards.Builder().withQuestPoints(1).build()).build();
+      Quest quest = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+          .withCombat(new CombatRequirement.Builder(50).build())
+          .withQuestPoints(new QuestPointsRequirement.Builder(1).build())
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(requiredQuest).build()))
+          .withSkills(Collections.singleton(new SkillRequirement.Builder(Skill.MAGIC, 10).build()))
+          .build()).build();
+      Player player = new Player.Builder()
+          .withQuests(new HashSet<>(Arrays.asList(requiredQuest, quest))).build();
+
+      assertThat(player.meetsAllRequirements(quest), equalTo(false));
+
+      player.setQuestStatus(requiredQuest, QuestStatus.COMPLETED);
+
+      assertThat(player.meetsQuestPointRequirement(quest), equalTo(true));
+      assertThat(player.meetsAllRequirements(quest), equalTo(false));
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(99));
+      player.addSkillXP(Skill.STRENGTH, Skill.STRENGTH.getXpAtLevel(99));
+
+      assertThat(player.meetsCombatRequirement(quest), equalTo(true));
+      assertThat(player.meetsAllRequirements(quest), equalTo(false));
+
+      player.addSkillXP(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(10));
+
+      assertThat(player.meetsAllRequirements(quest), equalTo(true));
+      assertThat(player.meetsAllRequirements(quest), equalTo(quest.meetsAllRequirements(player)));
+    }
+  }
+
+  @Nested
+  class MeetsRequirement {
+
+    final SkillRequirement requirement = new SkillRequirement.Builder(Skill.ATTACK, 20).build();
+    final Quest requiredQuest = new Quest.Builder(0).build();
+    final QuestRequirement questRequirement = new QuestRequirement.Builder(requiredQuest).build();
+    final Quest quest = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+        .withQuests(Collections.singleton(questRequirement))
+        .withSkills(Collections.singleton(requirement)).build()).build();
+
+    @Test
+    void shouldTestAgainWhenLevelChanges() {
+      Player player = new Player.Builder()
+          .withQuests(new HashSet<>(Arrays.asList(requiredQuest, quest))).build();
+
+      assertThat(player.meetsRequirement(requirement), equalTo(false));
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(20));
+
+      assertThat(player.meetsRequirement(requirement), equalTo(true));
+    }
+
+    @Test
+    void shouldTestAgainWhenQuestCompleted() {
+      Player player = new Player.Builder()
+          .withQuests(new HashSet<>(Arrays.asList(requiredQuest, quest))).build();
+
+      assertThat(player.meetsRequirement(questRequirement), equalTo(false));
+
+      player.setQuestStatus(requiredQuest, QuestStatus.COMPLETED);
+
+      assertThat(player.meetsRequirement(questRequirement), equalTo(true));
+
+      player.setQuestStatus(requiredQuest, QuestStatus.IN_PROGRESS);
+
+      assertThat(player.meetsRequirement(questRequirement), equalTo(false));
+    }
+
+    @Test
+    void shouldNotShareResultsWithCopy() {
+      Player player = new Player.Builder()
+          .withQuests(new HashSet<>(Arrays.asList(requiredQuest, quest))).build();
+
+      assertThat(player.meetsRequirement(requirement), equalTo(false));
+
+      Player copy = player.copy();
+
+      copy.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(20));
+
+      assertThat(copy.meetsRequirement(requirement), equalTo(true));
+      assertThat(player.meetsRequirement(requirement), equalTo(false));
+    }
+
+    @Test
+    void shouldTestRequirementNotInCatalog() {
+      Player player = new Player.Builder().withQuests(Collections.singleton(requiredQuest))
+          .build();
+
+      assertThat(player.meetsRequirement(requirement), equalTo(false));
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(20));
+
+      assertThat(player.meetsRequirement(requirement), equalTo(true));
+    }
+  }
+
+  @Nested
+  class SetCancelled {
+
+    @Test
+    void shouldStopScoringQuestsWhenCancelled() {
+      Quest quest = new Quest.Builder(0).build();
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+
+      assertThat(player.getBestQuest(player.getQuests()), equalTo(quest));
+
+      player.setCancelled(() -> true);
+
+      assertThat(player.getBestQuest(player.getQuests()), nullValue());
+      assertThat(player.getBestQuest(player.getQuests(), true), nullValue());
+      assertThat(player.getNearestQuest(player.getQuests()), nullValue());
+      assertThat(player.copy().getBestQuest(player.getQuests()), nullValue());
+    }
+  }
+
+  @Nested
+  class GetNearestQuest {
+
+    final Quest attackQuest = new Quest.Builder(0).withRequirements(
+        new QuestRequirements.Builder().withSkills(
+            Collections.singleton(new SkillRequirement.Builder(Skill.ATTACK, 20).build()))
+            .build()).build();
+    final Quest defenceQuest = new Quest.Builder(1).withRequirements(
+        new QuestRequirements.Builder().withSkills(
+            Collections.singleton(new SkillRequirement.Builder(Skill.DEFENCE, 10).build()))
+            .build()).build();
+    final Quest quest = new Quest.Builder(2).build();
+
+    @Test
+    void shouldReturnQuestWithLowestRemainingSkillRequirements() {
+      List<Quest> quests = Arrays.asList(attackQuest, defenceQuest);
+      Player player = new Player.Builder().withQuests(new HashSet<>(quests)).build();
+
+      assertThat(player.getNearestQuest(quests), equalTo(defenceQuest));
+    }
+
+    @Test
+    void shouldPreferQuestsMeetingSkillRequirements() {
+      List<Quest> quests = Arrays.asList(attackQuest, defenceQuest, quest);
+      Player player = new Player.Builder().withQuests(new HashSet<>(quests)).build();
+
+      player.setQuestPriority(attackQuest, QuestPriority.MAXIMUM);
+
+      assertThat(player.getNearestQuest(quests), equalTo(quest));
+    }
+
+    @Test
+    void shouldPreferHighestPriority() {
+      List<Quest> quests = Arrays.asList(attackQuest, defenceQuest);
+      Player player = new Player.Builder().withQuests(new HashSet<>(quests)).build();
+
+      player.setQuestPriority(attackQuest, QuestPriority.HIGH);
+
+      assertThat(player.getNearestQuest(quests), equalTo(attackQuest));
+    }
+
+    @Test
+    void shouldReturnNullWithoutQuests() {
+      assertThat(new Player.Builder().build().getNearestQuest(Collections.emptySet()),
+          nullValue());
     }
   }
 
@@ -186,5 +711,74 @@ public class PlayerTest {
           .of(new Quest.Builder(0).build(), QuestPriority.HIGH, new Quest.Builder(1).build(),
               QuestPriority.MAXIMUM), 1));
     }
+
+    @ParameterizedTest
+    @MethodSource("shouldReturnHighestPriorityQuest")
+    void shouldReturnHighestPriorityQuestInParallel(Map<Quest, QuestPriority> quests,
+        int expectedId) {
+      Player player = new Player.Builder().withQuests(quests.keySet()).build();
+
+      quests.forEach(player::setQuestPriority);
+
+      Quest bestQuest = player.getBestQuest(quests.keySet(), true);
+
+      assertThat(bestQuest, notNullValue());
+      assertThat(bestQuest.getId(), equalTo(expectedId));
+    }
+
+    @Test
+    void shouldBreakTiesByLowestIdInParallel() {
+      List<Quest> quests = Arrays
+          .asList(new Quest.Builder(2).build(), new Quest.Builder(0).build(),
+              new Quest.Builder(1).build());
+      Player player = new Player.Builder().withQuests(new HashSet<>(quests)).build();
+
+      assertThat(player.getBestQuest(quests, true).getId(), equalTo(0));
+      assertThat(player.getBestQuest(quests, false).getId(), equalTo(1));
+    }
+
+    @Test
+    void shouldReturnBestQuestsInOrder() {
+      List<Quest> quests = Arrays
+          .asList(new Quest.Builder(2).build(), new Quest.Builder(0).build(),
+              new Quest.Builder(1).build());
+      Player player = new Player.Builder().withQuests(new HashSet<>(quests)).build();
+
+      player.setQuestPriority(2, QuestPriority.HIGH);
+
+      assertThat(player.getBestQuests(quests, 2), contains(quests.get(0), quests.get(1)));
+    }
+
+    @Test
+    void shouldReturnAlternativeQuestsWithSamePriority() {
+      List<Quest> quests = Arrays
+          .asList(new Quest.Builder(2).build(), new Quest.Builder(0).build(),
+              new Quest.Builder(1).build());
+      Player player = new Player.Builder().withQuests(new HashSet<>(quests)).build();
+
+      player.setQuestPriority(2, QuestPriority.HIGH);
+
+      assertThat(player.getAlternativeQuests(quests, quests.get(1)),
+          equalTo(Collections.singletonMap(quests.get(2), 0d)));
+      assertThat(player.getAlternativeQuests(quests, quests.get(0)),
+          equalTo(Collections.emptyMap()));
+    }
+
+    @Test
+    void shouldReturnNoAlternativeQuestsWhenBestQuestCanNotBeStarted() {
+      List<Quest> quests = Arrays
+          .asList(new Quest.Builder(0).build(), new Quest.Builder(1).build());
+      Player player = new Player.Builder().withQuests(new HashSet<>(quests)).build();
+
+      assertThat(player.getAlternativeQuests(quests.subList(0, 1), quests.get(1)),
+          equalTo(Collections.emptyMap()));
+    }
+
+    @Test
+    void shouldReturnNullWithoutQuestsInParallel() {
+      Player player = new Player.Builder().build();
+
+      assertThat(player.getBestQuest(Collections.emptySet(), true), nullValue());
+    }
   }
 }
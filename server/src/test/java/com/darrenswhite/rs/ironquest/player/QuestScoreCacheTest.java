@@ -0,0 +1,263 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import com.darrenswhite.rs.ironquest.quest.reward.LampType;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import com.darrenswhite.rs.ironquest.util.MapBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestScoreCacheTest {
+
+  static final Quest requiredQuest = new Quest.Builder(0).withRequirements(
+      new QuestRequirements.Builder().withSkills(
+          Collections.singleton(new SkillRequirement.Builder(Skill.MAGIC, 20).build())).build())
+      .build();
+  static final Quest quest = new Quest.Builder(1).withRequirements(
+      new QuestRequirements.Builder().withSkills(
+          Collections.singleton(new SkillRequirement.Builder(Skill.ATTACK, 10).build()))
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(requiredQuest).build()))
+          .build()).build();
+  static final Quest lampQuest = new Quest.Builder(2).withRewards(new QuestRewards.Builder()
+      .withLamps(Collections.singleton(new LampReward.Builder().withType(LampType.XP).withXp(100)
+          .withRequirements(new MapBuilder<Set<Skill>, Integer>()
+              .put(Collections.singleton(Skill.PRAYER), 1).build()).build())).build()).build();
+  static final List<Quest> quests = Arrays.asList(requiredQuest, quest, lampQuest);
+
+  static Player createPlayer() {
+    return new Player.Builder().withQuests(new HashSet<>(quests)).build();
+  }
+
+  static QuestScoreCache createCache() {
+    return new QuestScoreCache(new QuestCatalog(quests), quests);
+  }
+
+  static ToDoubleFunction<Quest> countingCalculator(AtomicInteger calls) {
+    return q -> calls.incrementAndGet();
+  }
+
+  @Nested
+  class GetTotalRemainingSkillRequirements {
+
+    @Test
+    void shouldIncludeQuestRequirements() {
+      assertThat(createCache().getTotalRemainingSkillRequirements(quest, createPlayer()),
+          equalTo(30));
+    }
+
+    @Test
+    void shouldOnlyRecalculateWhenSkillLevelChanges() {
+      Player player = createPlayer();
+      QuestScoreCache cache = createCache();
+
+      cache.getTotalRemainingSkillRequirements(quest, player);
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(10));
+
+      assertThat(cache.getTotalRemainingSkillRequirements(quest, player), equalTo(30));
+
+      cache.update(Skill.ATTACK, 10, 10);
+
+      assertThat(cache.getTotalRemainingSkillRequirements(quest, player), equalTo(30));
+
+      cache.update(Skill.ATTACK, 1, 10);
+
+      assertThat(cache.getTotalRemainingSkillRequirements(quest, player), equalTo(20));
+    }
+
+    @Test
+    void shouldRecalculateWhenRequiredSkillLevelChanges() {
+      Player player = createPlayer();
+      QuestScoreCache cache = createCache();
+
+      cache.getTotalRemainingSkillRequirements(quest, player);
+      player.addSkillXP(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(20));
+      cache.update(Skill.MAGIC, 1, 20);
+
+      assertThat(cache.getTotalRemainingSkillRequirements(quest, player), equalTo(10));
+    }
+
+    @Test
+    void shouldRecalculateWhenRequiredQuestIsCompleted() {
+      Player player = createPlayer();
+      QuestScoreCache cache = createCache();
+
+      cache.getTotalRemainingSkillRequirements(quest, player);
+      player.setQuestStatus(requiredQuest, QuestStatus.COMPLETED);
+
+      assertThat(cache.getTotalRemainingSkillRequirements(quest, player), equalTo(30));
+
+      cache.update(0);
+
+      assertThat(cache.getTotalRemainingSkillRequirements(quest, player), equalTo(10));
+    }
+
+    @Test
+    void shouldCalculateQuestsNotInCatalog() {
+      Quest unknown = new Quest.Builder(3).withRequirements(new QuestRequirements.Builder()
+          .withSkills(Collections.singleton(new SkillRequirement.Builder(Skill.MAGIC, 5).build()))
+          .build()).build();
+
+      assertThat(createCache().getTotalRemainingSkillRequirements(unknown, createPlayer()),
+          equalTo(5));
+    }
+  }
+
+  @Nested
+  class GetTotalQuestRewards {
+
+    @Test
+    void shouldOnlyRecalculateWhenLampSkillChanges() {
+      AtomicInteger calls = new AtomicInteger();
+      QuestScoreCache cache = createCache();
+
+      cache.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+      cache.update(Skill.ATTACK, 1, 2);
+      cache.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+
+      assertThat(calls.get(), equalTo(1));
+
+      cache.update(Skill.PRAYER, 1, 1);
+
+      assertThat(cache.getTotalQuestRewards(lampQuest, countingCalculator(calls)), equalTo(2d));
+    }
+
+    @Test
+    void shouldRecalculateWhenQuestRequiringLampSkillIsCompleted() {
+      AtomicInteger calls = new AtomicInteger();
+      Quest prayerQuest = new Quest.Builder(3).withRequirements(new QuestRequirements.Builder()
+          .withSkills(Collections.singleton(new SkillRequirement.Builder(Skill.PRAYER, 5).build()))
+          .build()).build();
+      List<Quest> allQuests = Arrays.asList(lampQuest, prayerQuest, requiredQuest);
+      QuestScoreCache cache = new QuestScoreCache(new QuestCatalog(allQuests), allQuests);
+
+      cache.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+      cache.update(0);
+      cache.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+
+      assertThat(calls.get(), equalTo(1));
+
+      cache.update(2);
+
+      assertThat(cache.getTotalQuestRewards(lampQuest, countingCalculator(calls)), equalTo(2d));
+    }
+
+    @Test
+    void shouldCalculateQuestsNotInCatalog() {
+      AtomicInteger calls = new AtomicInteger();
+      QuestScoreCache cache = createCache();
+      Quest unknown = new Quest.Builder(3).build();
+
+      cache.getTotalQuestRewards(unknown, countingCalculator(calls));
+      cache.getTotalQuestRewards(unknown, countingCalculator(calls));
+
+      assertThat(calls.get(), equalTo(2));
+    }
+  }
+
+  @Nested
+  class Peek {
+
+    @Test
+    void shouldNotCacheValues() {
+      AtomicInteger calls = new AtomicInteger();
+      QuestScoreCache cache = createCache();
+      Player player = createPlayer();
+
+      cache.peekTotalQuestRewards(lampQuest, countingCalculator(calls));
+      cache.peekTotalQuestRewards(lampQuest, countingCalculator(calls));
+
+      assertThat(calls.get(), equalTo(2));
+      assertThat(cache.peekTotalRemainingSkillRequirements(quest, player), equalTo(30));
+    }
+
+    @Test
+    void shouldReturnStoredValues() {
+      AtomicInteger calls = new AtomicInteger();
+      QuestScoreCache cache = createCache();
+
+      cache.store(lampQuest, 5, 10);
+
+      assertThat(cache.peekTotalQuestRewards(lampQuest, countingCalculator(calls)), equalTo(10d));
+      assertThat(cache.peekTotalRemainingSkillRequirements(lampQuest, createPlayer()), equalTo(5));
+      assertThat(cache.getTotalQuestRewards(lampQuest, countingCalculator(calls)), equalTo(10d));
+      assertThat(calls.get(), equalTo(0));
+    }
+
+    @Test
+    void shouldNotStoreMissingRewards() {
+      AtomicInteger calls = new AtomicInteger();
+      QuestScoreCache cache = createCache();
+
+      cache.store(lampQuest, 5, Double.NaN);
+      cache.store(new Quest.Builder(3).build(), 5, 10);
+
+      assertThat(cache.getTotalQuestRewards(lampQuest, countingCalculator(calls)), equalTo(1d));
+    }
+  }
+
+  @Nested
+  class Reset {
+
+    @Test
+    void shouldRecalculateAll() {
+      AtomicInteger calls = new AtomicInteger();
+      QuestScoreCache cache = createCache();
+
+      cache.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+      cache.reset();
+      cache.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+
+      assertThat(calls.get(), equalTo(2));
+    }
+  }
+
+  @Nested
+  class Copy {
+
+    @Test
+    void shouldNotInvalidateCopy() {
+      AtomicInteger calls = new AtomicInteger();
+      QuestScoreCache original = createCache();
+
+      original.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+
+      QuestScoreCache copy = original.copy();
+
+      original.update(Skill.PRAYER, 1, 2);
+      copy.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+
+      assertThat(calls.get(), equalTo(1));
+
+      original.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+
+      assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldNotShareNewValues() {
+      AtomicInteger calls = new AtomicInteger();
+      QuestScoreCache original = createCache();
+      QuestScoreCache copy = original.copy();
+
+      copy.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+      original.getTotalQuestRewards(lampQuest, countingCalculator(calls));
+
+      assertThat(calls.get(), equalTo(2));
+    }
+  }
+}
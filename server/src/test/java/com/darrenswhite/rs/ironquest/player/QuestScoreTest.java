@@ -0,0 +1,104 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestScoreTest {
+
+  static QuestScore createScore(int id, boolean meetsSkillRequirements, QuestPriority priority,
+      int requirements, double rewards) {
+    return new QuestScore(new Quest.Builder(id).build(), meetsSkillRequirements, priority,
+        requirements, rewards);
+  }
+
+  @Nested
+  class CompareTo {
+
+    @Test
+    void shouldPreferQuestsMeetingSkillRequirements() {
+      QuestScore meets = createScore(1, true, QuestPriority.MINIMUM, 50, 0);
+      QuestScore unmet = createScore(0, false, QuestPriority.MAXIMUM, 1, Double.NaN);
+
+      assertThat(meets.compareTo(unmet), lessThan(0));
+      assertThat(unmet.compareTo(meets), greaterThan(0));
+    }
+
+    @Test
+    void shouldPreferHighestPriority() {
+      QuestScore high = createScore(1, true, QuestPriority.HIGH, 10, 0);
+      QuestScore normal = createScore(0, true, QuestPriority.NORMAL, 0, 1000);
+
+      assertThat(high.compareTo(normal), lessThan(0));
+    }
+
+    @Test
+    void shouldPreferHighestCalculatedPriority() {
+      QuestScore rewarding = createScore(1, true, QuestPriority.NORMAL, 10, 2000);
+      QuestScore easy = createScore(0, true, QuestPriority.NORMAL, 0, 0);
+
+      assertThat(rewarding.getCalculatedPriority(), equalTo(10d));
+      assertThat(rewarding.compareTo(easy), lessThan(0));
+    }
+
+    @Test
+    void shouldPreferLowestRequirementsWhenSkillRequirementsUnmet() {
+      QuestScore nearest = createScore(1, false, QuestPriority.MINIMUM, 10, Double.NaN);
+      QuestScore furthest = createScore(0, false, QuestPriority.MAXIMUM, 20, Double.NaN);
+
+      assertThat(nearest.compareTo(furthest), lessThan(0));
+    }
+
+    @Test
+    void shouldPreferLowestIdWhenEqual() {
+      QuestScore first = createScore(0, true, QuestPriority.NORMAL, 10, 100);
+      QuestScore second = createScore(1, true, QuestPriority.NORMAL, 10, 100);
+
+      assertThat(first.compareTo(second), lessThan(0));
+      assertThat(second.compareTo(first), greaterThan(0));
+      assertThat(first.compareTo(first), equalTo(0));
+    }
+  }
+
+  @Nested
+  class GetDifference {
+
+    @Test
+    void shouldReturnDifferenceInCalculatedPriority() {
+      QuestScore rewarding = createScore(1, true, QuestPriority.NORMAL, 10, 2000);
+      QuestScore easy = createScore(0, true, QuestPriority.NORMAL, 0, 0);
+
+      assertThat(rewarding.getDifference(easy), equalTo(10d));
+      assertThat(easy.getDifference(rewarding), equalTo(10d));
+    }
+
+    @Test
+    void shouldReturnDifferenceInRequirementsWhenSkillRequirementsUnmet() {
+      QuestScore nearest = createScore(1, false, QuestPriority.MINIMUM, 10, Double.NaN);
+      QuestScore furthest = createScore(0, false, QuestPriority.MAXIMUM, 25, Double.NaN);
+
+      assertThat(nearest.getDifference(furthest), equalTo(15d));
+    }
+
+    @Test
+    void shouldReturnNaNForDifferentPriorities() {
+      QuestScore high = createScore(1, true, QuestPriority.HIGH, 10, 0);
+      QuestScore normal = createScore(0, true, QuestPriority.NORMAL, 10, 0);
+
+      assertThat(high.getDifference(normal), equalTo(Double.NaN));
+    }
+
+    @Test
+    void shouldReturnNaNWhenOnlyOneMeetsSkillRequirements() {
+      QuestScore meets = createScore(1, true, QuestPriority.NORMAL, 0, 0);
+      QuestScore unmet = createScore(0, false, QuestPriority.NORMAL, 0, Double.NaN);
+
+      assertThat(meets.getDifference(unmet), equalTo(Double.NaN));
+    }
+  }
+}
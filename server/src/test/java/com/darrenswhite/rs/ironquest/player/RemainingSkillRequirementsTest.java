@@ -0,0 +1,111 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RemainingSkillRequirementsTest {
+
+  static final Quest questA = new Quest.Builder(0).withRequirements(
+      new QuestRequirements.Builder().withSkills(
+          Collections.singleton(new SkillRequirement.Builder(Skill.ATTACK, 30).build())).build())
+      .build();
+  static final Quest questB = new Quest.Builder(1).withRequirements(
+      new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(questA).build()))
+          .withSkills(Collections.singleton(new SkillRequirement.Builder(Skill.MAGIC, 20).build()))
+          .build()).build();
+  static final Quest questC = new Quest.Builder(2).withRequirements(
+      new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(questB).build()))
+          .withSkills(Collections.singleton(
+              new SkillRequirement.Builder(Skill.ATTACK, 60).withIronman(true).build())).build())
+      .build();
+  static final Quest questD = new Quest.Builder(3).withRequirements(
+      new QuestRequirements.Builder().withQuests(Collections.singleton(
+          new QuestRequirement.Builder(questB).withIronman(true).build())).build()).build();
+  static final Quest questE = new Quest.Builder(4).withRequirements(
+      new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(questA).build()))
+          .withSkills(new LinkedHashSet<>(Arrays.asList(
+              new SkillRequirement.Builder(Skill.ATTACK, 40).build(),
+              new SkillRequirement.Builder(Skill.ATTACK, 50).withIronman(true).build()))).build())
+      .build();
+  static final List<Quest> quests = Arrays.asList(questA, questB, questC, questD, questE);
+
+  static Player createPlayer(boolean ironman) {
+    return new Player.Builder().withQuests(new HashSet<>(quests)).withIronman(ironman).build();
+  }
+
+  @Nested
+  class GetTotalRemainingSkillRequirements {
+
+    @Test
+    void shouldIncludeRequirementsOfIncompleteQuestRequirements() {
+      Player player = createPlayer(false);
+
+      assertThat(player.calculateTotalRemainingSkillRequirements(questA), equalTo(30));
+      assertThat(player.calculateTotalRemainingSkillRequirements(questB), equalTo(50));
+      assertThat(player.calculateTotalRemainingSkillRequirements(questC), equalTo(50));
+    }
+
+    @Test
+    void shouldExcludeCompletedQuestRequirements() {
+      Player player = createPlayer(false);
+
+      player.setQuestStatus(questA, QuestStatus.COMPLETED);
+
+      assertThat(player.calculateTotalRemainingSkillRequirements(questB), equalTo(20));
+      assertThat(player.calculateTotalRemainingSkillRequirements(questC), equalTo(20));
+    }
+
+    @Test
+    void shouldExcludeLevelsThePlayerHas() {
+      Player player = createPlayer(false);
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(30));
+
+      assertThat(player.calculateTotalRemainingSkillRequirements(questB), equalTo(20));
+    }
+
+    @Test
+    void shouldOnlyIncludeRequirementsWhichApplyToPlayer() {
+      assertThat(createPlayer(true).calculateTotalRemainingSkillRequirements(questC),
+          equalTo(80));
+    }
+
+    @Test
+    void shouldFollowQuestRequirementsWhichDoNotApplyToPlayer() {
+      Player player = createPlayer(false);
+
+      assertThat(player.calculateTotalRemainingSkillRequirements(questD), equalTo(30));
+      assertThat(questD.getTotalRemainingSkillRequirements(player, true), equalTo(30));
+    }
+
+    @Test
+    void shouldCountEachRequirementForTheSameSkill() {
+      Player player = createPlayer(true);
+
+      assertThat(player.calculateTotalRemainingSkillRequirements(questE), equalTo(90));
+      assertThat(questE.getTotalRemainingSkillRequirements(player, true), equalTo(90));
+    }
+
+    @Test
+    void shouldCalculateQuestWhichIsNotCompiled() {
+      Player player = new Player.Builder().withQuests(Collections.singleton(questA)).build();
+
+      assertThat(player.calculateTotalRemainingSkillRequirements(questB), equalTo(50));
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.darrenswhite.rs.ironquest.quest.requirement.Requirement;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RequirementMemoTest {
+
+  @Nested
+  class TestRequirement {
+
+    @Test
+    void shouldReuseResult() {
+      Player player = new Player.Builder().build();
+      Requirement requirement = mock(Requirement.class);
+      RequirementMemo memo = new RequirementMemo(1, 1);
+
+      when(requirement.test(player)).thenReturn(true, false);
+
+      assertThat(memo.test(requirement, 0, player), equalTo(true));
+      assertThat(memo.test(requirement, 0, player), equalTo(true));
+      verify(requirement, times(1)).test(player);
+    }
+
+    @Test
+    void shouldReuseUnmetResult() {
+      Player player = new Player.Builder().build();
+      Requirement requirement = mock(Requirement.class);
+      RequirementMemo memo = new RequirementMemo(1, 1);
+
+      when(requirement.test(player)).thenReturn(false, true);
+
+      assertThat(memo.test(requirement, 0, player), equalTo(false));
+      assertThat(memo.test(requirement, 0, player), equalTo(false));
+      verify(requirement, times(1)).test(player);
+    }
+
+    @Test
+    void shouldStoreResultsById() {
+      Player player = new Player.Builder().build();
+      Requirement first = mock(Requirement.class);
+      Requirement second = mock(Requirement.class);
+      Requirement third = mock(Requirement.class);
+      RequirementMemo memo = new RequirementMemo(64, 1);
+
+      when(first.test(player)).thenReturn(true);
+      when(second.test(player)).thenReturn(false);
+      when(third.test(player)).thenReturn(true);
+
+      assertThat(memo.test(first, 0, player), equalTo(true));
+      assertThat(memo.test(second, 31, player), equalTo(false));
+      assertThat(memo.test(third, 32, player), equalTo(true));
+      assertThat(memo.test(first, 0, player), equalTo(true));
+      assertThat(memo.test(second, 31, player), equalTo(false));
+      assertThat(memo.test(third, 32, player), equalTo(true));
+    }
+  }
+
+  @Nested
+  class GetEpoch {
+
+    @Test
+    void shouldReturnEpoch() {
+      assertThat(new RequirementMemo(1, 5).getEpoch(), equalTo(5L));
+    }
+  }
+}
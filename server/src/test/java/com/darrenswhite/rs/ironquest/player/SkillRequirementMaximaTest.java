@@ -0,0 +1,112 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalog;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class SkillRequirementMaximaTest {
+
+  static Quest createQuest(int id, SkillRequirement... skillRequirements) {
+    return new Quest.Builder(id).withRequirements(new QuestRequirements.Builder()
+        .withSkills(new HashSet<>(Arrays.asList(skillRequirements))).build()).build();
+  }
+
+  static final Quest questA = createQuest(0, new SkillRequirement.Builder(Skill.ATTACK, 30).build(),
+      new SkillRequirement.Builder(Skill.MAGIC, 10).build());
+  static final Quest questB = createQuest(1, new SkillRequirement.Builder(Skill.ATTACK, 20).build());
+  static final Quest questC = createQuest(2, new SkillRequirement.Builder(Skill.ATTACK, 30).build(),
+      new SkillRequirement.Builder(Skill.MAGIC, 50).withIronman(true).build());
+  static final List<Quest> quests = Arrays.asList(questA, questB, questC);
+
+  static SkillRequirementMaxima createMaxima(boolean ironman) {
+    Player player = new Player.Builder().withQuests(new HashSet<>(quests)).withIronman(ironman)
+        .build();
+
+    return new SkillRequirementMaxima(new QuestCatalog(quests), quests, player);
+  }
+
+  @Nested
+  class GetMaxLevel {
+
+    @Test
+    void shouldReturnHighestRequirement() {
+      SkillRequirementMaxima maxima = createMaxima(false);
+
+      assertThat(maxima.getMaxLevel(Skill.ATTACK), equalTo(30));
+      assertThat(maxima.getMaxLevel(Skill.DEFENCE), equalTo(0));
+    }
+
+    @Test
+    void shouldOnlyIncludeRequirementsWhichApplyToPlayer() {
+      assertThat(createMaxima(false).getMaxLevel(Skill.MAGIC), equalTo(10));
+      assertThat(createMaxima(true).getMaxLevel(Skill.MAGIC), equalTo(50));
+    }
+  }
+
+  @Nested
+  class Update {
+
+    @Test
+    void shouldKeepMaximumWhileRequiredByAnotherQuest() {
+      SkillRequirementMaxima maxima = createMaxima(false);
+
+      maxima.update(0, true);
+
+      assertThat(maxima.getMaxLevel(Skill.ATTACK), equalTo(30));
+      assertThat(maxima.getMaxLevel(Skill.MAGIC), equalTo(0));
+    }
+
+    @Test
+    void shouldFindNextHighestRequirement() {
+      SkillRequirementMaxima maxima = createMaxima(false);
+
+      maxima.update(0, true);
+      maxima.update(2, true);
+
+      assertThat(maxima.getMaxLevel(Skill.ATTACK), equalTo(20));
+
+      maxima.update(1, true);
+
+      assertThat(maxima.getMaxLevel(Skill.ATTACK), equalTo(0));
+    }
+
+    @Test
+    void shouldAddRequirementsForIncompleteQuest() {
+      SkillRequirementMaxima maxima = createMaxima(false);
+
+      maxima.update(0, true);
+      maxima.update(0, false);
+
+      assertThat(maxima.getMaxLevel(Skill.MAGIC), equalTo(10));
+    }
+  }
+
+  @Nested
+  class Copy {
+
+    @Test
+    void shouldNotShareUpdates() {
+      SkillRequirementMaxima original = createMaxima(false);
+      SkillRequirementMaxima copy = original.copy();
+
+      original.update(0, true);
+
+      assertThat(original.getMaxLevel(Skill.MAGIC), equalTo(0));
+      assertThat(copy.getMaxLevel(Skill.MAGIC), equalTo(10));
+
+      copy.update(1, true);
+
+      assertThat(original.getMaxLevel(Skill.MAGIC), equalTo(0));
+      assertThat(copy.getMaxLevel(Skill.MAGIC), equalTo(10));
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
+import com.darrenswhite.rs.ironquest.quest.reward.LampType;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import com.darrenswhite.rs.ironquest.util.MapBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class SkillThresholdIndexTest {
+
+  static Quest createQuestWithSkillRequirements(SkillRequirement... skillRequirements) {
+    return new Quest.Builder(0).withRequirements(new QuestRequirements.Builder()
+        .withSkills(new LinkedHashSet<>(Arrays.asList(skillRequirements))).build()).build();
+  }
+
+  static Quest createQuestWithLampReward(LampReward lampReward) {
+    return new Quest.Builder(0).withRewards(
+        new QuestRewards.Builder().withLamps(Collections.singleton(lampReward)).build()).build();
+  }
+
+  @Nested
+  class MeetsSkillRequirements {
+
+    @Test
+    void shouldMeetRequirementsWhenLevelsIncrease() {
+      Quest quest = createQuestWithSkillRequirements(
+          new SkillRequirement.Builder(Skill.ATTACK, 10).build(),
+          new SkillRequirement.Builder(Skill.AGILITY, 20).build());
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+
+      assertThat(player.meetsSkillRequirements(quest), equalTo(false));
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(10));
+
+      assertThat(player.meetsSkillRequirements(quest), equalTo(false));
+
+      player.addSkillXP(Skill.AGILITY, Skill.AGILITY.getXpAtLevel(50));
+
+      assertThat(player.meetsSkillRequirements(quest), equalTo(true));
+    }
+
+    @Test
+    void shouldNotMeetRequirementsWhenLevelsDecrease() {
+      Quest quest = createQuestWithSkillRequirements(
+          new SkillRequirement.Builder(Skill.ATTACK, 10).build());
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).withSkillXps(
+          new MapBuilder<Skill, Double>().put(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(10))
+              .build()).build();
+
+      assertThat(player.meetsSkillRequirements(quest), equalTo(true));
+
+      player.addSkillXP(Skill.ATTACK, -1);
+
+      assertThat(player.meetsSkillRequirements(quest), equalTo(false));
+    }
+
+    @Test
+    void shouldIgnoreRecommendedRequirementsForNonRecommended() {
+      Quest quest = createQuestWithSkillRequirements(
+          new SkillRequirement.Builder(Skill.ATTACK, 10).withRecommended(true).build());
+      Player player = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+      Player recommended = new Player.Builder().withRecommended(true)
+          .withQuests(Collections.singleton(quest)).build();
+
+      assertThat(player.meetsSkillRequirements(quest), equalTo(true));
+      assertThat(recommended.meetsSkillRequirements(quest), equalTo(false));
+    }
+
+    @Test
+    void shouldTestRequirementsForUnknownQuest() {
+      Quest quest = createQuestWithSkillRequirements(
+          new SkillRequirement.Builder(Skill.ATTACK, 10).build());
+      Player player = new Player.Builder().build();
+
+      assertThat(player.meetsSkillRequirements(quest), equalTo(false));
+    }
+
+    @Test
+    void shouldCopyUnmetThresholds() {
+      Quest quest = createQuestWithSkillRequirements(
+          new SkillRequirement.Builder(Skill.ATTACK, 10).build());
+      Player original = new Player.Builder().withQuests(Collections.singleton(quest)).build();
+
+      Player copy = original.copy();
+
+      original.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(10));
+
+      assertThat(original.meetsSkillRequirements(quest), equalTo(true));
+      assertThat(copy.meetsSkillRequirements(quest), equalTo(false));
+    }
+  }
+
+  @Nested
+  class MeetsLampRequirements {
+
+    @Test
+    void shouldMeetRequirementsWhenAnyChoiceIsMet() {
+      LampReward lampReward = new LampReward.Builder().withType(LampType.XP).withRequirements(
+          new MapBuilder<Set<Skill>, Integer>()
+              .put(new HashSet<>(Arrays.asList(Skill.ATTACK, Skill.STRENGTH)), 30)
+              .put(Collections.singleton(Skill.MAGIC), 40).build()).build();
+      Player player = new Player.Builder()
+          .withQuests(Collections.singleton(createQuestWithLampReward(lampReward))).build();
+
+      assertThat(player.meetsLampRequirements(lampReward), equalTo(false));
+
+      player.addSkillXP(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(30));
+
+      assertThat(player.meetsLampRequirements(lampReward), equalTo(false));
+
+      player.addSkillXP(Skill.MAGIC, Skill.MAGIC.getXpAtLevel(40));
+
+      assertThat(player.meetsLampRequirements(lampReward), equalTo(true));
+    }
+
+    @Test
+    void shouldRequireCraftingDivinationAndSmithingForInvention() {
+      LampReward lampReward = new LampReward.Builder().withType(LampType.XP).withRequirements(
+          new MapBuilder<Set<Skill>, Integer>().put(Collections.singleton(Skill.INVENTION), 1)
+              .build()).build();
+      Player player = new Player.Builder()
+          .withQuests(Collections.singleton(createQuestWithLampReward(lampReward))).build();
+
+      player.addSkillXP(Skill.CRAFTING, Skill.CRAFTING.getXpAtLevel(80));
+      player.addSkillXP(Skill.DIVINATION, Skill.DIVINATION.getXpAtLevel(80));
+
+      assertThat(player.meetsLampRequirements(lampReward), equalTo(false));
+
+      player.addSkillXP(Skill.SMITHING, Skill.SMITHING.getXpAtLevel(80));
+
+      assertThat(player.meetsLampRequirements(lampReward), equalTo(true));
+    }
+
+    @Test
+    void shouldMeetRequirementsWhenNoRequirements() {
+      LampReward lampReward = new LampReward.Builder().withType(LampType.XP)
+          .withRequirements(Collections.emptyMap()).build();
+      Player player = new Player.Builder()
+          .withQuests(Collections.singleton(createQuestWithLampReward(lampReward))).build();
+
+      assertThat(player.meetsLampRequirements(lampReward), equalTo(true));
+    }
+
+    @Test
+    void shouldTestRequirementsForUnknownLamp() {
+      LampReward lampReward = new LampReward.Builder().withType(LampType.XP).withRequirements(
+          new MapBuilder<Set<Skill>, Integer>().put(Collections.singleton(Skill.MAGIC), 40)
+              .build()).build();
+      Player player = new Player.Builder().build();
+
+      assertThat(player.meetsLampRequirements(lampReward), equalTo(false));
+    }
+  }
+}
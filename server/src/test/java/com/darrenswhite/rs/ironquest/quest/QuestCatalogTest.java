@@ -0,0 +1,237 @@
+package com.darrenswhite.rs.ironquest.quest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestCatalogTest {
+
+  static Quest createQuest(int id, Quest... required) {
+    return new Quest.Builder(id).withRequirements(new QuestRequirements.Builder().withQuests(
+        Arrays.stream(required).map(quest -> new QuestRequirement.Builder(quest).build())
+            .collect(Collectors.toSet())).build()).build();
+  }
+
+  static BitSet createBitSet(int... indices) {
+    BitSet bits = new BitSet();
+
+    Arrays.stream(indices).forEach(bits::set);
+
+    return bits;
+  }
+
+  @Nested
+  class IndexOf {
+
+    @Test
+    void shouldIndexQuestsInOrderOfId() {
+      Quest first = new Quest.Builder(-1).build();
+      Quest second = new Quest.Builder(3).build();
+      Quest third = new Quest.Builder(7).build();
+      QuestCatalog catalog = new QuestCatalog(new HashSet<>(Arrays.asList(third, first, second)));
+
+      assertThat(catalog.size(), equalTo(3));
+      assertThat(catalog.indexOf(first), equalTo(0));
+      assertThat(catalog.indexOf(second), equalTo(1));
+      assertThat(catalog.indexOf(third), equalTo(2));
+      assertThat(catalog.getQuest(1), equalTo(second));
+    }
+
+    @Test
+    void shouldReturnMinusOneForUnknownQuest() {
+      QuestCatalog catalog = new QuestCatalog(
+          new HashSet<>(Arrays.asList(new Quest.Builder(2).build(), new Quest.Builder(5).build())));
+
+      assertThat(catalog.indexOf(1), equalTo(-1));
+      assertThat(catalog.indexOf(3), equalTo(-1));
+      assertThat(catalog.indexOf(6), equalTo(-1));
+      assertThat(new QuestCatalog(Collections.emptySet()).indexOf(0), equalTo(-1));
+    }
+  }
+
+  @Nested
+  class ContainsAll {
+
+    @Test
+    void shouldTestAllQuestsAreIndexed() {
+      Quest quest = new Quest.Builder(0).build();
+      QuestCatalog catalog = new QuestCatalog(Collections.singleton(quest));
+
+      assertThat(catalog.containsAll(Collections.singleton(quest)), equalTo(true));
+      assertThat(catalog.containsAll(Arrays.asList(quest, new Quest.Builder(1).build())),
+          equalTo(false));
+    }
+  }
+
+  @Nested
+  class GetQuestRequirements {
+
+    @Test
+    void shouldIncludeQuestRequirementsRecursively() {
+      Quest first = createQuest(0);
+      Quest left = createQuest(1, first);
+      Quest right = createQuest(2, first);
+      Quest last = createQuest(3, left, right);
+      QuestCatalog catalog = new QuestCatalog(Arrays.asList(last, right, left, first));
+
+      assertThat(catalog.getQuestRequirements(first), equalTo(new BitSet()));
+      assertThat(catalog.getQuestRequirements(left), equalTo(createBitSet(0)));
+      assertThat(catalog.getQuestRequirements(last), equalTo(createBitSet(0, 1, 2)));
+    }
+
+    @Test
+    void shouldFollowQuestRequirementsNotInCatalog() {
+      Quest first = createQuest(0);
+      Quest second = createQuest(1, first);
+      Quest third = createQuest(2, second);
+      QuestCatalog catalog = new QuestCatalog(Arrays.asList(first, third));
+
+      assertThat(catalog.getQuestRequirements(third), equalTo(createBitSet(0)));
+      assertThat(catalog.getQuestRequirements(second), equalTo(new BitSet()));
+    }
+
+    @Test
+    void shouldNotModifyQuestRequirements() {
+      Quest first = createQuest(0);
+      Quest second = createQuest(1, first);
+      QuestCatalog catalog = new QuestCatalog(Arrays.asList(first, second));
+
+      catalog.getQuestRequirements(second).set(1);
+
+      assertThat(catalog.getQuestRequirements(second), equalTo(createBitSet(0)));
+    }
+
+    @Test
+    void shouldOnlyIncludeQuestRequirementsWhichApply() {
+      Quest first = createQuest(0);
+      Quest second = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(first).withIronman(true)
+              .build())).build()).build();
+      Quest third = new Quest.Builder(2).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(new QuestRequirement.Builder(second)
+              .withRecommended(true).build())).build()).build();
+      QuestCatalog catalog = new QuestCatalog(Arrays.asList(first, second, third));
+
+      assertThat(catalog.getQuestRequirements(third, false, false), equalTo(new BitSet()));
+      assertThat(catalog.getQuestRequirements(third, true, false), equalTo(createBitSet(0)));
+      assertThat(catalog.getQuestRequirements(third, false, true), equalTo(createBitSet(1)));
+      assertThat(catalog.getQuestRequirements(third, true, true), equalTo(createBitSet(0, 1)));
+      assertThat(catalog.getQuestRequirements(third, true, true),
+          equalTo(catalog.getQuestRequirements(third)));
+    }
+
+    @Test
+    void shouldNotReturnApplicableQuestRequirementsNotInCatalog() {
+      Quest first = createQuest(0);
+      Quest second = createQuest(1, first);
+      Quest third = createQuest(2, second);
+      QuestCatalog catalog = new QuestCatalog(Arrays.asList(first, third));
+
+      assertThat(catalog.getQuestRequirements(first, false, false), equalTo(new BitSet()));
+      assertThat(catalog.getQuestRequirements(second, false, false), nullValue());
+      assertThat(catalog.getQuestRequirements(third, false, false), nullValue());
+    }
+  }
+
+  @Nested
+  class AddQuestRequirements {
+
+    @Test
+    void shouldAddQuestRequirementsToBitSet() {
+      Quest first = createQuest(0);
+      Quest second = createQuest(1, first);
+      Quest third = createQuest(2, second);
+      Quest fourth = createQuest(3);
+      QuestCatalog catalog = new QuestCatalog(Arrays.asList(first, second, third, fourth));
+      BitSet indices = createBitSet(3);
+
+      catalog.addQuestRequirements(third, indices);
+
+      assertThat(indices, equalTo(createBitSet(0, 1, 3)));
+    }
+
+    @Test
+    void shouldNotModifyQuestRequirements() {
+      Quest first = createQuest(0);
+      Quest second = createQuest(1, first);
+      Quest third = createQuest(2);
+      QuestCatalog catalog = new QuestCatalog(Arrays.asList(first, second, third));
+      BitSet indices = new BitSet();
+
+      catalog.addQuestRequirements(second, indices);
+      indices.set(2);
+
+      assertThat(catalog.getQuestRequirements(second), equalTo(createBitSet(0)));
+    }
+
+    @Test
+    void shouldNotAddQuestNotInCatalog() {
+      Quest first = createQuest(0);
+      Quest second = createQuest(1, first);
+      QuestCatalog catalog = new QuestCatalog(Collections.singleton(first));
+      BitSet indices = new BitSet();
+
+      catalog.addQuestRequirements(second, indices);
+
+      assertThat(indices, equalTo(new BitSet()));
+    }
+  }
+
+  @Nested
+  class GetRequirementId {
+
+    @Test
+    void shouldShareIdsOfEqualRequirements() {
+      Quest first = new Quest.Builder(0).withRequirements(new QuestRequirements.Builder()
+          .withQuestPoints(new QuestPointsRequirement.Builder(10).build())
+          .withSkills(Collections.singleton(new SkillRequirement.Builder(Skill.ATTACK, 20).build()))
+          .build()).build();
+      Quest second = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+          .withSkills(new HashSet<>(Arrays.asList(new SkillRequirement.Builder(Skill.ATTACK, 20)
+              .build(), new SkillRequirement.Builder(Skill.MAGIC, 30).build()))).build()).build();
+      QuestCatalog catalog = new QuestCatalog(new HashSet<>(Arrays.asList(first, second)));
+
+      assertThat(catalog.getRequirementCount(), equalTo(3));
+      assertThat(catalog.getRequirementId(new QuestPointsRequirement.Builder(10).build()),
+          equalTo(0));
+      assertThat(catalog.getRequirementId(new SkillRequirement.Builder(Skill.ATTACK, 20).build()),
+          equalTo(1));
+      assertThat(catalog.getRequirementId(new SkillRequirement.Builder(Skill.MAGIC, 30).build()),
+          equalTo(2));
+    }
+
+    @Test
+    void shouldReturnMinusOneForUnknownRequirement() {
+      QuestCatalog catalog = new QuestCatalog(Collections.singleton(new Quest.Builder(0).build()));
+
+      assertThat(catalog.getRequirementCount(), equalTo(0));
+      assertThat(catalog.getRequirementId(new SkillRequirement.Builder(Skill.ATTACK, 20).build()),
+          equalTo(-1));
+    }
+  }
+
+  @Nested
+  class Equals {
+
+    @Test
+    void shouldVerifyEqualsAndHashCode() {
+      EqualsVerifier.forClass(QuestCatalog.class)
+          .withPrefabValues(Quest.class, new Quest.Builder(0).build(), new Quest.Builder(1).build())
+          .withOnlyTheseFields("quests").verify();
+    }
+  }
+}
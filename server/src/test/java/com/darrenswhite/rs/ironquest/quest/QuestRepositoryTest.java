@@ -2,6 +2,7 @@ package com.darrenswhite.rs.ironquest.quest;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 
@@ -211,4 +212,16 @@ class QuestRepositoryTest {
       assertThat(quests, containsInAnyOrder(new QuestMatcher(questB), new QuestMatcher(questC)));
     }
   }
+
+  @Nested
+  class GetCatalog {
+
+    @Test
+    void shouldIndexAllQuests() {
+      QuestCatalog catalog = questRepository.getCatalog();
+
+      assertThat(catalog.size(), equalTo(questRepository.getQuests().size()));
+      assertThat(catalog.containsAll(questRepository.getQuests()), equalTo(true));
+    }
+  }
 }
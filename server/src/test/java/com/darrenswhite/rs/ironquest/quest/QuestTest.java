@@ -1,11 +1,43 @@
 package com.darrenswhite.rs.ironquest.quest;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 public class QuestTest {
 
+  @Nested
+  class GetQuestRequirements {
+
+    @Test
+    void shouldIncludeQuestRequirementsRecursively() {
+      Quest first = new Quest.Builder(0).build();
+      QuestRequirement firstRequirement = new QuestRequirement.Builder(first).build();
+      Quest left = new Quest.Builder(1).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(firstRequirement)).build()).build();
+      Quest right = new Quest.Builder(2).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Collections.singleton(firstRequirement)).build()).build();
+      QuestRequirement leftRequirement = new QuestRequirement.Builder(left).build();
+      QuestRequirement rightRequirement = new QuestRequirement.Builder(right).build();
+      Quest last = new Quest.Builder(3).withRequirements(new QuestRequirements.Builder()
+          .withQuests(new HashSet<>(Arrays.asList(leftRequirement, rightRequirement))).build())
+          .build();
+
+      assertThat(last.getQuestRequirements(false),
+          containsInAnyOrder(leftRequirement, rightRequirement));
+      assertThat(last.getQuestRequirements(true),
+          containsInAnyOrder(firstRequirement, leftRequirement, rightRequirement));
+    }
+  }
+
   @Nested
   class Equals {
 
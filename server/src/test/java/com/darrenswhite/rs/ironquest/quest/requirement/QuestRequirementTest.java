@@ -51,6 +51,29 @@ class QuestRequirementTest {
     }
   }
 
+  @Nested
+  class AppliesTo {
+
+    @Test
+    void shouldApplyIronmanAndRecommendedRequirementsToMatchingPlayers() {
+      Quest quest = new Quest.Builder().build();
+      QuestRequirement requirement = new QuestRequirement.Builder(quest).build();
+      QuestRequirement ironmanRequirement = new QuestRequirement.Builder(quest).withIronman(true)
+          .build();
+      QuestRequirement recommendedRequirement = new QuestRequirement.Builder(quest)
+          .withRecommended(true).build();
+      Player player = new Player.Builder().build();
+      Player ironmanAndRecommendedPlayer = new Player.Builder().withIronman(true)
+          .withRecommended(true).build();
+
+      assertThat(requirement.appliesTo(player), equalTo(true));
+      assertThat(ironmanRequirement.appliesTo(player), equalTo(false));
+      assertThat(recommendedRequirement.appliesTo(player), equalTo(false));
+      assertThat(ironmanRequirement.appliesTo(ironmanAndRecommendedPlayer), equalTo(true));
+      assertThat(recommendedRequirement.appliesTo(ironmanAndRecommendedPlayer), equalTo(true));
+    }
+  }
+
   @Nested
   class Equals {
 
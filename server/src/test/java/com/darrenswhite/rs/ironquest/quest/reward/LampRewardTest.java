@@ -171,6 +171,27 @@ class LampRewardTest {
     }
   }
 
+  @Nested
+  class GetXpForLevel {
+
+    @Test
+    void shouldReturnSameXpForXpLamp() {
+      LampReward lampReward = new LampReward.Builder().withType(LampType.XP).withXp(100)
+          .withMultiplier(1.5).build();
+
+      assertThat(lampReward.getXpForLevel(1), equalTo(150D));
+      assertThat(lampReward.getXpForLevel(99), equalTo(150D));
+    }
+
+    @Test
+    void shouldReturnXpForLevelForDynamicLamp() {
+      LampReward lampReward = new LampReward.Builder().withType(LampType.SMALL_XP).build();
+
+      assertThat(lampReward.getXpForLevel(1), equalTo(62D));
+      assertThat(lampReward.getXpForLevel(120), equalTo(8602D));
+    }
+  }
+
   @Nested
   @TestInstance(TestInstance.Lifecycle.PER_CLASS)
   class MeetsRequirements {